@@ -0,0 +1,132 @@
+package gitgud.pfm.GUI.data;
+
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.benchmarks.BenchmarkData;
+import gitgud.pfm.services.TransactionService;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ChartAggregationBenchmark - The chart totals behind DashboardController and ReportsController
+ *
+ * Lives in GUI.data because SpendingAggregates.of() and TransactionColumns.Builder are
+ * package-private. The columns* benchmarks are the same totals over TransactionColumns
+ * (-Dpfm.columnar=true). dailyLoop is the per-transaction loop the charts ran before
+ * SpendingAggregates, kept as a baseline. The *Report benchmarks build the one-pass
+ * SpendingReport behind ReportsController; columnsReport runs on the common fork-join pool,
+ * so compare it with -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=1
+ * to see how it scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ChartAggregationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+    private SpendingAggregates aggregates;
+    private TransactionColumns columns;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkData.open(rows);
+        transactions = new TransactionService().readAll();
+        aggregates = SpendingAggregates.of(transactions);
+        columns = buildColumns();
+        YearMonth currentMonth = YearMonth.from(BenchmarkData.END_DATE);
+        from = currentMonth.minusMonths(1).atDay(1);
+        to = currentMonth.atEndOfMonth();
+    }
+
+    @Benchmark
+    public SpendingAggregates buildAggregates() {
+        return SpendingAggregates.of(transactions);
+    }
+
+    @Benchmark
+    public Map<LocalDate, Double> dailyTotals() {
+        return aggregates.totalsByDay(from, to, false);
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryTotals() {
+        return aggregates.totalsByCategory(null, null, false, null);
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> monthlyTotals() {
+        return aggregates.totalsByMonth(BenchmarkData.END_DATE.withDayOfYear(1), BenchmarkData.END_DATE, false);
+    }
+
+    @Benchmark
+    public TransactionColumns buildColumns() {
+        // The snapshot is newest first (undated last); the builder takes rows oldest first
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        for (int i = transactions.size() - 1; i >= 0; i--) {
+            builder.add(transactions.get(i));
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public Map<LocalDate, Double> columnsDailyTotals() {
+        return columns.totalsByDay(from, to, false);
+    }
+
+    @Benchmark
+    public Map<String, Double> columnsCategoryTotals() {
+        return columns.totalsByCategory(null, null, false, null);
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> columnsMonthlyTotals() {
+        return columns.totalsByMonth(BenchmarkData.END_DATE.withDayOfYear(1), BenchmarkData.END_DATE, false);
+    }
+
+    @Benchmark
+    public SpendingReport aggregatesReport() {
+        return aggregates.report();
+    }
+
+    @Benchmark
+    public SpendingReport columnsReport() {
+        return columns.report();
+    }
+
+    @Benchmark
+    public Map<LocalDate, Double> dailyLoop() {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        Map<LocalDate, Double> totals = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            long day = transaction.getCreateEpochDay();
+            if (transaction.getIncome() == 0 && day >= fromDay && day <= toDay) {
+                totals.merge(LocalDate.ofEpochDay(day), transaction.getAmount(), Double::sum);
+            }
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,195 @@
+package gitgud.pfm.benchmarks;
+
+import gitgud.pfm.Models.Budget;
+import gitgud.pfm.Models.Goal;
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.Wallet;
+import gitgud.pfm.services.BalanceEngine;
+import gitgud.pfm.services.BudgetService;
+import gitgud.pfm.services.Database;
+import gitgud.pfm.services.GoalService;
+import gitgud.pfm.services.TransactionService;
+import gitgud.pfm.services.WalletService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * BenchmarkData - Generated SQLite databases the benchmarks run against
+ *
+ * open(rows) points the app's Database at pfm-<rows>.db in target/bench-data (override with
+ * -Dpfm.bench.dataDir) and fills it on first use: 3 wallets, the default categories, 2 goals,
+ * a monthly budget over 3 expense categories and `rows` transactions spread over the two years
+ * up to END_DATE. The generator is seeded, so every run and every release measures the same
+ * data. A marker file is written once generation finishes; a database without one is rebuilt.
+ *
+ * Database is a singleton, so one JVM can only open one data set. JMH runs every benchmark and
+ * row count in its own forked JVM, so keep @Fork at 1 or more.
+ */
+public final class BenchmarkData {
+    /**
+     * Last day of generated data; the "current month" of the chart benchmarks
+     */
+    public static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+    /**
+     * Matches one merchant out of MERCHANTS, i.e. about 1 in 12 transactions
+     */
+    public static final String SEARCH_TERM = "coffee";
+
+    private static final long SEED = 20251231L;
+    private static final int DAYS = 730;
+    private static final String[] MERCHANTS = {
+        "Coffee Corner", "Green Grocer", "City Transit", "Power & Light", "Corner Pharmacy",
+        "Streamflix", "Book Nook", "Fuel Stop", "Burger Barn", "Hair Studio", "Sports Hub", "Air Travel"
+    };
+    private static final String[] EXPENSE_CATEGORIES = {"1", "2", "3", "4", "5", "6", "7", "8", "9"};
+    private static final String[] INCOME_CATEGORIES = {"10", "11"};
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final int rows;
+    private final String budgetId;
+    private final List<Wallet> wallets;
+
+    private BenchmarkData(int rows, String budgetId, List<Wallet> wallets) {
+        this.rows = rows;
+        this.budgetId = budgetId;
+        this.wallets = wallets;
+    }
+
+    /**
+     * Open (and on first use generate) the database with the given number of transactions
+     */
+    public static BenchmarkData open(int rows) throws IOException {
+        Path dir = Path.of(System.getProperty("pfm.bench.dataDir", "target/bench-data"));
+        Files.createDirectories(dir);
+        Path db = dir.resolve("pfm-" + rows + ".db");
+        Path ready = dir.resolve("pfm-" + rows + ".ready");
+
+        boolean generate = !Files.exists(ready);
+        if (generate) {
+            for (String suffix : new String[]{"", "-wal", "-shm"}) {
+                Files.deleteIfExists(Path.of(db + suffix));
+            }
+        }
+        System.setProperty("pfm.db.path", db.toString());
+        Database.getInstance();
+
+        if (generate) {
+            long started = System.nanoTime();
+            generate(rows);
+            Files.writeString(ready, "rows=" + rows + "\n");
+            System.out.printf("Generated %s in %.1fs%n", db, (System.nanoTime() - started) / 1_000_000_000.0);
+        }
+
+        List<Budget> budgets = new BudgetService().readAll();
+        String budgetId = budgets.isEmpty() ? null : budgets.get(0).getId();
+        return new BenchmarkData(rows, budgetId, new WalletService().readAll());
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * The generated monthly budget
+     */
+    public String getBudgetId() {
+        return budgetId;
+    }
+
+    public List<Wallet> getWallets() {
+        return wallets;
+    }
+
+    private static void generate(int rows) {
+        WalletService walletService = new WalletService();
+        List<Wallet> wallets = List.of(
+            new Wallet("#3b82f6", 2500.0, "Checking"),
+            new Wallet("#10b981", 10000.0, "Savings"),
+            new Wallet("#f59e0b", 200.0, "Cash"));
+        for (Wallet wallet : wallets) {
+            walletService.create(wallet);
+        }
+
+        GoalService goalService = new GoalService();
+        List<Goal> goals = List.of(
+            new Goal("Vacation", 5000.0, 0.0, "2026-06-30", 1, "2024-01-01 00:00:00"),
+            new Goal("Emergency Fund", 20000.0, 0.0, "2027-12-31", 2, "2024-01-01 00:00:00"));
+        for (Goal goal : goals) {
+            goalService.create(goal);
+        }
+
+        BudgetService budgetService = new BudgetService();
+        Budget budget = new Budget("Monthly Essentials", 3000.0, 0.0,
+            END_DATE.withDayOfMonth(1).toString(), END_DATE.toString(), Budget.PeriodType.MONTHLY, null);
+        budgetService.create(budget);
+        budgetService.setCategoriesForBudget(budget.getId(), List.of("1", "2", "5"));
+
+        new TransactionService().createAll(new Generator(rows, wallets, goals), 5000, null);
+
+        BalanceEngine balanceEngine = new BalanceEngine();
+        for (Wallet wallet : wallets) {
+            try {
+                balanceEngine.syncStoredBalance(wallet.getId());
+            } catch (SQLException e) {
+                System.err.println("Error syncing generated wallet balance: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Seeded stream of transactions: about 15% income, 1% of expenses linked to a goal
+     */
+    private static final class Generator implements Iterator<Transaction> {
+        private final Random random = new Random(SEED);
+        private final int rows;
+        private final List<Wallet> wallets;
+        private final List<Goal> goals;
+        private int generated;
+
+        private Generator(int rows, List<Wallet> wallets, List<Goal> goals) {
+            this.rows = rows;
+            this.wallets = wallets;
+            this.goals = goals;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return generated < rows;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            generated++;
+            LocalDateTime time = END_DATE.minusDays(random.nextInt(DAYS)).atStartOfDay()
+                .plusSeconds(random.nextInt(24 * 60 * 60));
+            String walletId = wallets.get(random.nextInt(wallets.size())).getId();
+
+            if (random.nextInt(100) < 15) {
+                double amount = Math.round((500 + random.nextDouble() * 2500) * 100) / 100.0;
+                String categoryId = INCOME_CATEGORIES[random.nextInt(INCOME_CATEGORIES.length)];
+                return new Transaction(categoryId, amount, "Payroll #" + generated, 1.0, walletId, time.format(TIME_FORMAT));
+            }
+
+            double amount = Math.round((1 + random.nextDouble() * 199) * 100) / 100.0;
+            String categoryId = EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)];
+            String name = MERCHANTS[random.nextInt(MERCHANTS.length)] + " #" + generated;
+            Transaction transaction = new Transaction(categoryId, amount, name, 0.0, walletId, time.format(TIME_FORMAT));
+            if (random.nextInt(100) == 0) {
+                transaction.setGoalId(goals.get(random.nextInt(goals.size())).getId());
+            }
+            return transaction;
+        }
+    }
+}
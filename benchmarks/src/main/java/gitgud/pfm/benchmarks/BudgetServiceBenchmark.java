@@ -0,0 +1,47 @@
+package gitgud.pfm.benchmarks;
+
+import gitgud.pfm.Models.BudgetCategory;
+import gitgud.pfm.services.BudgetService;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BudgetServiceBenchmark - Per-category spending of the generated monthly budget
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BudgetServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private BudgetService budgetService;
+    private String budgetId;
+
+    @Setup
+    public void setUp() throws IOException {
+        budgetId = BenchmarkData.open(rows).getBudgetId();
+        budgetService = new BudgetService();
+    }
+
+    @Benchmark
+    public List<BudgetCategory> spendingBreakdown() {
+        return budgetService.getSpendingBreakdown(budgetId);
+    }
+}
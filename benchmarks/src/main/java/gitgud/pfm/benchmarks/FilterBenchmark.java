@@ -0,0 +1,77 @@
+package gitgud.pfm.benchmarks;
+
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.TransactionCriteria;
+import gitgud.pfm.services.AccountDataLoader;
+import gitgud.pfm.services.Filter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FilterBenchmark - Filter.filterTransactions in SQL and in memory, and Filter.searchTransactions
+ * through the full-text index (first page, as the Transactions view shows it) and in memory
+ *
+ * The criteria match the Transactions view's common case: expenses in two categories over a
+ * three-month range above a minimum amount.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FilterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private Filter filter;
+    private TransactionCriteria criteria;
+    private AccountDataLoader.DataHolder accountData;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkData.open(rows);
+        filter = new Filter();
+        criteria = TransactionCriteria.builder()
+            .income(0.0)
+            .categoryId(List.of("1", "2"))
+            .minAmount(20.0)
+            .dateFrom(BenchmarkData.END_DATE.minusMonths(3).plusDays(1).toString())
+            .dateTo(BenchmarkData.END_DATE.toString())
+            .build();
+        accountData = AccountDataLoader.loadAccountData();
+    }
+
+    @Benchmark
+    public List<Transaction> filterInDatabase() {
+        return filter.filterTransactions(criteria);
+    }
+
+    @Benchmark
+    public List<Transaction> filterInMemory() {
+        return filter.filterTransactions(criteria, accountData);
+    }
+
+    @Benchmark
+    public List<Transaction> searchIndex() {
+        return filter.searchTransactions(BenchmarkData.SEARCH_TERM, 20);
+    }
+
+    @Benchmark
+    public List<Transaction> searchInMemory() {
+        return filter.searchTransactions(BenchmarkData.SEARCH_TERM, accountData);
+    }
+}
@@ -0,0 +1,54 @@
+package gitgud.pfm.benchmarks;
+
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.TransactionCriteria;
+import gitgud.pfm.services.TransactionService;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TransactionServiceBenchmark - Full table load vs the first keyset page the Transactions view shows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TransactionServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private TransactionService transactionService;
+    private TransactionCriteria allTransactions;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkData.open(rows);
+        transactionService = new TransactionService();
+        allTransactions = TransactionCriteria.builder().build();
+    }
+
+    @Benchmark
+    public List<Transaction> readAll() {
+        return transactionService.readAll();
+    }
+
+    @Benchmark
+    public List<Transaction> firstPage() {
+        return transactionService.findPageAfter(allTransactions, null, 50);
+    }
+}
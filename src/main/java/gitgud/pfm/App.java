@@ -11,6 +11,9 @@ import javafx.stage.Screen;
 import javafx.geometry.Rectangle2D;
 import gitgud.pfm.Controllers.DashboardController;
 import gitgud.pfm.Controllers.SidebarController;
+import gitgud.pfm.GUI.ViewCache;
+import gitgud.pfm.GUI.data.DataKind;
+import gitgud.pfm.GUI.data.DataStore;
 
 import java.io.IOException;
 
@@ -20,12 +23,17 @@ import java.io.IOException;
  */
 public class App extends Application {
 
+    // Views kept loaded between sidebar clicks; the least recently shown is dropped beyond this
+    private static final int MAX_CACHED_VIEWS = 4;
+
     private BorderPane root;
     private SidebarController sidebarController;
+    private ViewCache viewCache;
 
     @Override
     public void start(Stage primaryStage) {
         root = new BorderPane();
+        viewCache = new ViewCache("/gitgud/pfm/", MAX_CACHED_VIEWS, DataStore.getInstance());
         
         // Set up navigation callbacks for DashboardController
         DashboardController.setOnNavigateToGoals(this::showGoals);
@@ -82,75 +90,43 @@ public class App extends Application {
         primaryStage.show();
     }
     
-    private Node loadFXML(String fxmlFile) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gitgud/pfm/" + fxmlFile));
-            return loader.load();
-        } catch (IOException e) {
-            System.err.println("Failed to load FXML: " + fxmlFile + " - " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
-    }
-    
-    public void showDashboard() {
-        Node view = loadFXML("dashboard.fxml");
+    /**
+     * Show a cached view in the center, reloading its data only if something it shows changed
+     */
+    private void showView(String fxmlFile, String sidebarItem, DataKind... dependsOn) {
+        Node view = viewCache.show(fxmlFile, dependsOn);
         if (view != null) {
             root.setCenter(view);
         }
         if (sidebarController != null) {
-            sidebarController.setActiveItem("Dashboard");
+            sidebarController.setActiveItem(sidebarItem);
         }
     }
     
+    // Dashboard and Budget follow DataStore change events themselves, so they
+    // declare no dependencies here and are never refreshed again on re-show
+    public void showDashboard() {
+        showView("dashboard.fxml", "Dashboard");
+    }
+    
     public void showTransactions() {
-        Node view = loadFXML("transactions.fxml");
-        if (view != null) {
-            root.setCenter(view);
-        }
-        if (sidebarController != null) {
-            sidebarController.setActiveItem("Transactions");
-        }
+        showView("transactions.fxml", "Transactions", DataKind.TRANSACTIONS, DataKind.WALLETS);
     }
     
     public void showReports() {
-        Node view = loadFXML("reports.fxml");
-        if (view != null) {
-            root.setCenter(view);
-        }
-        if (sidebarController != null) {
-            sidebarController.setActiveItem("Reports");
-        }
+        showView("reports.fxml", "Reports", DataKind.TRANSACTIONS);
     }
     
     public void showGoals() {
-        Node view = loadFXML("goals.fxml");
-        if (view != null) {
-            root.setCenter(view);
-        }
-        if (sidebarController != null) {
-            sidebarController.setActiveItem("Goals");
-        }
+        showView("goals.fxml", "Goals", DataKind.GOALS);
     }
     
     public void showAccounts() {
-        Node view = loadFXML("accounts.fxml");
-        if (view != null) {
-            root.setCenter(view);
-        }
-        if (sidebarController != null) {
-            sidebarController.setActiveItem("Accounts");
-        }
+        showView("accounts.fxml", "Accounts", DataKind.WALLETS, DataKind.TRANSACTIONS);
     }
     
     public void showBudget() {
-        Node view = loadFXML("budget.fxml");
-        if (view != null) {
-            root.setCenter(view);
-        }
-        if (sidebarController != null) {
-            sidebarController.setActiveItem("Budget");
-        }
+        showView("budget.fxml", "Budget");
     }
 
     public static void main(String[] args) {
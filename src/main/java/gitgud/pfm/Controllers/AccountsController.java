@@ -1,7 +1,11 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.Skeleton;
+import gitgud.pfm.GUI.data.BackgroundLoader;
 import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.interfaces.RefreshableView;
 import gitgud.pfm.Models.Wallet;
+import gitgud.pfm.utils.Money;
 import javafx.animation.*;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -12,10 +16,11 @@ import javafx.scene.layout.*;
 import javafx.util.Duration;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
-public class AccountsController implements Initializable {
+public class AccountsController implements Initializable, RefreshableView {
 
     @FXML private ScrollPane rootPane;
     @FXML private VBox mainContent;
@@ -27,6 +32,8 @@ public class AccountsController implements Initializable {
     @FXML private VBox accountsList;
 
     private DataStore dataStore;
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private List<Wallet> wallets = new ArrayList<>();
     
     // Predefined color options
     private static final String[] COLOR_OPTIONS = {
@@ -57,12 +64,25 @@ public class AccountsController implements Initializable {
         styleAddAccountButton();
         addAccountButton.setOnAction(e -> showAddAccountDialog());
         
-        loadAccounts();
-        updateSummary();
+        // Wallets are read off the FX thread; placeholders stand in until they arrive
+        loader.attachTo(rootPane);
+        accountsList.getChildren().setAll(Skeleton.rows(3, 90));
+        reloadAccounts();
         
         // Animate summary cards on load
         animateSummaryCards();
     }
+
+    /**
+     * Fetch wallets in the background, then redraw the list and the summary
+     */
+    private void reloadAccounts() {
+        loader.load("wallets", dataStore::getWallets, loaded -> {
+            wallets = loaded;
+            loadAccounts();
+            updateSummary();
+        });
+    }
     
     private void styleAddAccountButton() {
         if (addAccountButton == null) return;
@@ -216,20 +236,18 @@ public class AccountsController implements Initializable {
     }
 
     private void updateSummary() {
-        List<Wallet> wallets = dataStore.getWallets();
-
         // Calculate total assets (positive balances = money you have)
-        double totalAssets = wallets.stream()
-            .mapToDouble(Wallet::getBalance)
+        double totalAssets = Money.toMajor(wallets.stream()
+            .mapToLong(Wallet::getBalanceMinor)
             .filter(balance -> balance > 0)
-            .sum();
+            .sum());
 
         // Calculate total liabilities (negative balances = money you owe)
-        double totalLiabilities = wallets.stream()
-            .mapToDouble(Wallet::getBalance)
+        double totalLiabilities = Money.toMajor(wallets.stream()
+            .mapToLong(Wallet::getBalanceMinor)
             .filter(balance -> balance < 0)
             .map(Math::abs)
-            .sum();
+            .sum());
 
         // Net worth = assets - liabilities
         double netWorth = totalAssets - totalLiabilities;
@@ -241,7 +259,6 @@ public class AccountsController implements Initializable {
 
     private void loadAccounts() {
         accountsList.getChildren().clear();
-        List<Wallet> wallets = dataStore.getWallets();
         
         int index = 0;
         for (Wallet wallet : wallets) {
@@ -437,7 +454,8 @@ public class AccountsController implements Initializable {
         String currentColor = wallet.getColor() != null ? wallet.getColor() : "#3b82f6";
         HBox colorPicker = createColorPicker(currentColor);
 
-        TextField balanceField = new TextField(String.valueOf(wallet.getBalance()));
+        String currentBalance = String.valueOf(wallet.getBalance());
+        TextField balanceField = new TextField(currentBalance);
         balanceField.setPromptText("0.00");
 
         grid.add(new Label("Account Name:"), 0, 0);
@@ -458,10 +476,9 @@ public class AccountsController implements Initializable {
         dialog.setResultConverter(dialogButton -> {
             if (dialogButton == saveButtonType) {
                 try {
-                    double balance = Double.parseDouble(balanceField.getText());
+                    Double.parseDouble(balanceField.getText());
                     wallet.setName(nameField.getText());
                     wallet.setColor(getSelectedColor(colorPicker, currentColor));
-                    wallet.setBalance(balance);
                     return wallet;
                 } catch (NumberFormatException e) {
                     Alert alert = new Alert(Alert.AlertType.ERROR);
@@ -477,7 +494,6 @@ public class AccountsController implements Initializable {
                 confirm.showAndWait().ifPresent(response -> {
                     if (response == ButtonType.OK) {
                         dataStore.deleteWallet(wallet.getId());
-                        dataStore.notifyWalletRefresh();
                         refresh();
                     }
                 });
@@ -487,8 +503,12 @@ public class AccountsController implements Initializable {
         });
 
         dialog.showAndWait().ifPresent(updatedWallet -> {
-            dataStore.updateWallet(updatedWallet);
-            dataStore.notifyWalletRefresh();
+            // Only a balance the user actually edited is set by hand
+            String balanceText = balanceField.getText();
+            Long newBalance = balanceText.equals(currentBalance)
+                ? null
+                : Money.ofMajor(Double.parseDouble(balanceText));
+            dataStore.updateWallet(updatedWallet, newBalance);
             refresh();
         });
     }
@@ -593,13 +613,17 @@ public class AccountsController implements Initializable {
 
         dialog.showAndWait().ifPresent(wallet -> {
             dataStore.addWallet(wallet);
-            dataStore.notifyWalletRefresh();
             refresh();
         });
     }
 
+    @Override
     public void refresh() {
-        loadAccounts();
-        updateSummary();
+        reloadAccounts();
+    }
+
+    @Override
+    public void dispose() {
+        loader.cancelAll();
     }
 }
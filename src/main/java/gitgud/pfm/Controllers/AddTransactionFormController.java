@@ -229,30 +229,18 @@ public class AddTransactionFormController implements Initializable {
             transaction.setGoalId(selectedGoal.getId());
         }
         
-        // Update wallet balance
-        Wallet wallet = dataStore.getWalletById(walletId);
-        if (wallet != null) {
-            double newBalance;
-            if (isGoalContribution) {
-                // Goal contribution - deduct from wallet
-                newBalance = wallet.getBalance() - amount;
-            } else {
-                newBalance = wallet.getBalance() + (selectedCategoryType == Category.Type.INCOME ? amount : -amount);
-            }
-            wallet.setBalance(newBalance);
-            dataStore.updateWallet(wallet);
-            dataStore.notifyWalletRefresh();
-        }
+        // The transaction and the wallet balance derived from it are saved as one database
+        // transaction (a single commit); a linked goal's balance is computed from its transactions
+        boolean saved = dataStore.runInTransaction(() -> dataStore.addTransaction(transaction));
         
-        // Update goal balance if this is a contribution
+        if (!saved) {
+            showAlert("Error", "Could not save the transaction. No changes were made.");
+            return;
+        }
         if (isGoalContribution && selectedGoal != null) {
             selectedGoal.setBalance(selectedGoal.getBalance() + amount);
-            dataStore.updateGoal(selectedGoal);
-            dataStore.notifyGoalRefresh();
         }
         
-        dataStore.addTransaction(transaction);
-        
         Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
         successAlert.setTitle("Success");
         successAlert.setHeaderText(null);
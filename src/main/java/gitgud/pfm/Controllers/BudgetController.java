@@ -1,11 +1,18 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.Skeleton;
+import gitgud.pfm.GUI.data.BackgroundLoader;
+import gitgud.pfm.GUI.data.DataChangeBus;
+import gitgud.pfm.GUI.data.DataKind;
 import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.interfaces.RefreshableView;
 import gitgud.pfm.Models.Budget;
+import gitgud.pfm.Models.BudgetCategory;
+import gitgud.pfm.Models.BudgetProgress;
 import gitgud.pfm.Models.Category;
-import gitgud.pfm.Models.Transaction;
 import gitgud.pfm.services.CategoryService;
 import gitgud.pfm.services.BudgetService;
+import gitgud.pfm.utils.Money;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -23,7 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
-public class BudgetController implements Initializable {
+public class BudgetController implements Initializable, RefreshableView {
 
     @FXML private ScrollPane rootPane;
     @FXML private Button addBudgetButton;
@@ -45,6 +52,20 @@ public class BudgetController implements Initializable {
     private BudgetService budgetService;
     private Map<String, String> categoryIdToNameMap;
     private Map<String, String> categoryNameToIdMap;
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private DataChangeBus.Subscription changeSubscription;
+
+    // Last loaded data, rendered by updateSummary / updateMonthlyOverview / loadBudgets
+    private List<Budget> budgets = new ArrayList<>();
+    private double totalExpenses;
+    private Map<String, BudgetProgress> progressById = new HashMap<>();
+
+    /**
+     * Everything the view needs, fetched together off the FX thread
+     */
+    private record BudgetData(List<Budget> budgets, double totalExpenses,
+                              Map<String, BudgetProgress> progressById) {
+    }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -60,8 +81,9 @@ public class BudgetController implements Initializable {
             categoryNameToIdMap.put(cat.getName(), cat.getId());
         }
         
-        // Register for budget refresh notifications
-        dataStore.addBudgetRefreshListener(this::refresh);
+        // Reload once per batch of budget or transaction changes (spending moves the progress bars)
+        changeSubscription = dataStore.addChangeListener(events -> reloadBudgets(),
+            DataKind.BUDGETS, DataKind.TRANSACTIONS);
         
         // Setup month selector
         if (monthSelector != null) {
@@ -87,9 +109,27 @@ public class BudgetController implements Initializable {
             addBudgetButton.setOnAction(e -> showAddBudgetDialog());
         }
         
-        updateSummary();
-        updateMonthlyOverview();
-        loadBudgets();
+        // Budget progress is computed off the FX thread; placeholders stand in until it arrives
+        loader.attachTo(rootPane);
+        budgetsList.getChildren().setAll(Skeleton.rows(3, 80));
+        reloadBudgets();
+    }
+
+    /**
+     * Fetch budgets and their progress in the background, then redraw the whole view
+     */
+    private void reloadBudgets() {
+        loader.load("budgets",
+            () -> new BudgetData(dataStore.getBudgets(), dataStore.getTotalExpenses(),
+                dataStore.computeBudgetProgress()),
+            data -> {
+                budgets = data.budgets();
+                totalExpenses = data.totalExpenses();
+                progressById = data.progressById();
+                updateSummary();
+                updateMonthlyOverview();
+                loadBudgets();
+            });
     }
 
     private void styleAddBudgetButton() {
@@ -132,10 +172,7 @@ public class BudgetController implements Initializable {
     }
 
     private void updateSummary() {
-        List<Budget> budgets = dataStore.getBudgets();
-        double totalExpenses = dataStore.getTotalExpenses();
-        
-        double totalBudget = budgets.stream().mapToDouble(Budget::getLimitAmount).sum();
+        double totalBudget = Money.toMajor(budgets.stream().mapToLong(Budget::getLimitAmountMinor).sum());
         double remaining = Math.max(0, totalBudget - totalExpenses);
         
         totalBudgetLabel.setText(String.format("$%.2f", totalBudget));
@@ -145,9 +182,6 @@ public class BudgetController implements Initializable {
     }
 
     private void updateMonthlyOverview() {
-        List<Budget> budgets = dataStore.getBudgets();
-        double totalExpenses = dataStore.getTotalExpenses();
-        
         // Find the monthly budget limit
         double monthlyLimit = 0;
         for (Budget budget : budgets) {
@@ -189,8 +223,7 @@ public class BudgetController implements Initializable {
     private void loadBudgets() {
         budgetsList.getChildren().clear();
         
-        List<Budget> budgets = dataStore.getBudgets();
-        double totalExpenses = dataStore.getTotalExpenses();
+        List<Budget> budgets = this.budgets;
         
         // Apply filter
         String filter = filterCombo != null ? filterCombo.getValue() : "All";
@@ -202,7 +235,7 @@ public class BudgetController implements Initializable {
         }
         
         for (Budget budget : budgets) {
-            HBox budgetItem = createBudgetItem(budget, totalExpenses);
+            HBox budgetItem = createBudgetItem(budget, totalExpenses, progressById.get(budget.getId()));
             budgetsList.getChildren().add(budgetItem);
         }
         
@@ -212,20 +245,17 @@ public class BudgetController implements Initializable {
         }
     }
 
-    private HBox createBudgetItem(Budget budget, double totalExpenses) {
+    private HBox createBudgetItem(Budget budget, double totalExpenses, BudgetProgress budgetProgress) {
         HBox item = new HBox(16);
         item.setAlignment(Pos.CENTER_LEFT);
         item.setPadding(new Insets(16));
         
-        // Calculate spending: check for multiple categories from junction table
-        List<Category> budgetCategories = budgetService.getCategoriesForBudget(budget.getId());
+        // Spending for the budget's tracked categories, precomputed for all budgets at once
+        List<BudgetCategory> budgetCategories = budgetProgress != null ? budgetProgress.getCategories() : List.of();
         double spent;
         
         if (!budgetCategories.isEmpty()) {
-            // Sum spending across all categories in this budget
-            spent = budgetCategories.stream()
-                .mapToDouble(cat -> calculateCategorySpending(cat.getId()))
-                .sum();
+            spent = budgetProgress.getSpentAmount();
         } else {
             // No specific categories - use total expenses
             spent = totalExpenses;
@@ -269,7 +299,7 @@ public class BudgetController implements Initializable {
         if (!budgetCategories.isEmpty()) {
             if (budgetCategories.size() == 1) {
                 // Show single category name
-                Label categoryLabel = new Label(budgetCategories.get(0).getName());
+                Label categoryLabel = new Label(budgetCategories.get(0).getCategoryName());
                 categoryLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #3b82f6; -fx-background-color: #eff6ff; " +
                                   "-fx-padding: 2 8; -fx-background-radius: 4;");
                 meta.getChildren().add(categoryLabel);
@@ -321,18 +351,6 @@ public class BudgetController implements Initializable {
         return item;
     }
 
-    /**
-     * Calculate total spending for a specific category
-     */
-    private double calculateCategorySpending(String categoryId) {
-        List<Transaction> transactions = dataStore.getTransactions();
-        return transactions.stream()
-            .filter(t -> t.getIncome() <= 0) // Only expenses (income = 0 means expense)
-            .filter(t -> categoryId.equals(t.getCategoryId()))
-            .mapToDouble(Transaction::getAmount)
-            .sum();
-    }
-
     private VBox createEmptyState() {
         VBox emptyState = new VBox(12);
         emptyState.setAlignment(Pos.CENTER);
@@ -516,7 +534,6 @@ public class BudgetController implements Initializable {
             // Add budget with selected categories
             List<String> categoryIds = selectedCategoryIds.isEmpty() ? null : new ArrayList<>(selectedCategoryIds);
             dataStore.addBudgetWithCategories(budget, categoryIds);
-            dataStore.notifyBudgetRefresh();
             refresh();
         });
     }
@@ -704,7 +721,6 @@ public class BudgetController implements Initializable {
                 confirm.showAndWait().ifPresent(response -> {
                     if (response == ButtonType.OK) {
                         dataStore.deleteBudget(budget.getId());
-                        dataStore.notifyBudgetRefresh();
                         refresh();
                     }
                 });
@@ -717,17 +733,19 @@ public class BudgetController implements Initializable {
             // Update budget with selected categories
             List<String> categoryIds = selectedCategoryIds.isEmpty() ? null : new ArrayList<>(selectedCategoryIds);
             dataStore.updateBudgetWithCategories(updatedBudget, categoryIds);
-            dataStore.notifyBudgetRefresh();
             refresh();
         });
     }
 
+    @Override
     public void refresh() {
-        javafx.application.Platform.runLater(() -> {
-            updateSummary();
-            updateMonthlyOverview();
-            loadBudgets();
-        });
+        javafx.application.Platform.runLater(this::reloadBudgets);
+    }
+
+    @Override
+    public void dispose() {
+        changeSubscription.unsubscribe();
+        loader.cancelAll();
     }
     
     private void styleCategoryButton(Button button, boolean isSelected) {
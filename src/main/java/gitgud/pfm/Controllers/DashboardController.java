@@ -1,6 +1,12 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.Skeleton;
+import gitgud.pfm.GUI.data.BackgroundLoader;
+import gitgud.pfm.GUI.data.DataChangeBus;
+import gitgud.pfm.GUI.data.DataChangeEvent;
+import gitgud.pfm.GUI.data.DataKind;
 import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.interfaces.RefreshableView;
 import gitgud.pfm.Models.Budget;
 import gitgud.pfm.Models.Goal;
 import gitgud.pfm.Models.Transaction;
@@ -17,11 +23,10 @@ import javafx.scene.layout.*;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class DashboardController implements Initializable {
+public class DashboardController implements Initializable, RefreshableView {
 
     @FXML private ScrollPane rootPane;
     @FXML private Label totalSpentLabel;
@@ -32,12 +37,18 @@ public class DashboardController implements Initializable {
     @FXML private VBox priorityGoalsList;
     @FXML private ComboBox<String> periodSelect;
     @FXML private LineChart<Number, Number> spendingChart;
-    @FXML private VBox transactionsList;
+    @FXML private ListView<Transaction> transactionsList;
     @FXML private Hyperlink viewAllTransactions;
     @FXML private Hyperlink viewAllGoals;
     @FXML private NumberAxis xAxis;
 
+    // Icon (44) + vertical padding (2 x 14) + bottom border (1)
+    private static final double RECENT_ROW_HEIGHT = 73;
+    private static final int RECENT_LIMIT = 10;
+
     private DataStore dataStore;
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private DataChangeBus.Subscription changeSubscription;
     private static Runnable onNavigateToGoals;
     private static Runnable onNavigateToTransactions;
 
@@ -53,11 +64,14 @@ public class DashboardController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         dataStore = DataStore.getInstance();
         
-        // Register for goal and budget refresh notifications
-        dataStore.addGoalRefreshListener(this::refreshPriorityGoals);
-        dataStore.addBudgetRefreshListener(this::refreshBudgetGoal);
-        // Also listen for wallet/transaction changes to update budget display
-        dataStore.addWalletRefreshListener(this::refreshBudgetGoal);
+        // Follow goal, budget and transaction changes; each batch only updates the cards it touches
+        changeSubscription = dataStore.addChangeListener(this::onDataChanged,
+            DataKind.TRANSACTIONS, DataKind.GOALS, DataKind.BUDGETS);
+        
+        // Each card loads off the FX thread and fills in independently; placeholders stand in until then
+        loader.attachTo(rootPane);
+        priorityGoalsList.getChildren().setAll(Skeleton.rows(2, 72));
+        transactionsList.setPlaceholder(Skeleton.rows(3, RECENT_ROW_HEIGHT - 8));
         
         updateBudgetGoal();
         loadPriorityGoals();
@@ -87,19 +101,61 @@ public class DashboardController implements Initializable {
         }
     }
     
-    private void refreshPriorityGoals() {
-        javafx.application.Platform.runLater(this::loadPriorityGoals);
+    /**
+     * Update only what a batch of changes touches. A burst of writes (e.g. a bulk import)
+     * arrives as one batch, so it costs one update per card rather than one per row.
+     */
+    private void onDataChanged(List<DataChangeEvent<?>> events) {
+        Set<DataKind> kinds = EnumSet.noneOf(DataKind.class);
+        for (DataChangeEvent<?> event : events) {
+            kinds.add(event.getKind());
+        }
+        if (kinds.contains(DataKind.GOALS)) {
+            loadPriorityGoals();
+        }
+        if (kinds.contains(DataKind.TRANSACTIONS) || kinds.contains(DataKind.BUDGETS)) {
+            updateBudgetGoal();
+        }
+        if (kinds.contains(DataKind.TRANSACTIONS)) {
+            // Aggregates are already patched by DataStore, so the chart only re-reads two months of totals
+            loadSpendingChart();
+            applyRecentChanges(events);
+        }
     }
     
-    private void refreshBudgetGoal() {
-        javafx.application.Platform.runLater(this::updateBudgetGoal);
+    /**
+     * Merge added transactions into the recent list; edits and deletes may pull in
+     * rows the list never had, so those re-read the top of the snapshot instead
+     */
+    private void applyRecentChanges(List<DataChangeEvent<?>> events) {
+        if (loader.isLoading("recent")) {
+            loadRecentTransactions();
+            return;
+        }
+        List<Transaction> recent = new ArrayList<>(transactionsList.getItems());
+        for (DataChangeEvent<?> event : events) {
+            if (event.getKind() != DataKind.TRANSACTIONS) {
+                continue;
+            }
+            Transaction added = event.getNewValue(Transaction.class);
+            if (event.getType() != DataChangeEvent.Type.ADDED || added == null) {
+                loadRecentTransactions();
+                return;
+            }
+            recent.add(added);
+        }
+        recent.sort(Comparator.comparingLong(Transaction::getCreateEpoch).reversed());
+        showRecentTransactions(recent.subList(0, Math.min(RECENT_LIMIT, recent.size())));
     }
 
     private void updateBudgetGoal() {
         // Get budget limit from monthly budget in database, default to 3000.0
-        double budgetLimit = getMonthlyBudgetLimit();
-        double totalSpent = dataStore.getTotalExpenses();
-        
+        loader.load("budget",
+            () -> new double[] {getMonthlyBudgetLimit(), dataStore.getTotalExpenses()},
+            values -> showBudgetGoal(values[0], values[1]));
+    }
+
+    private void showBudgetGoal(double budgetLimit, double totalSpent) {
         double percent = Math.min(100, (totalSpent / budgetLimit) * 100);
         double remaining = Math.max(0, budgetLimit - totalSpent);
         
@@ -129,13 +185,17 @@ public class DashboardController implements Initializable {
     }
 
     private void loadPriorityGoals() {
-        priorityGoalsList.getChildren().clear();
-        
         // Priority 1 is highest, so filter goals with priority <= 5 (top priorities)
-        List<Goal> priorityGoals = dataStore.getGoals().stream()
+        loader.load("goals",
+            () -> dataStore.getGoals().stream()
                 .filter(g -> g.getPriority() <= 5 && g.getBalance() < g.getTarget())
                 .sorted((a, b) -> Double.compare(a.getPriority(), b.getPriority())) // Sort by priority (1 first)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()),
+            this::showPriorityGoals);
+    }
+
+    private void showPriorityGoals(List<Goal> priorityGoals) {
+        priorityGoalsList.getChildren().clear();
 
         for (Goal goal : priorityGoals) {
             HBox goalItem = createPriorityGoalItem(goal);
@@ -278,7 +338,6 @@ public class DashboardController implements Initializable {
                 confirm.showAndWait().ifPresent(response -> {
                     if (response == ButtonType.OK) {
                         dataStore.deleteGoal(goal.getId());
-                        dataStore.notifyGoalRefresh();
                         refresh();
                     }
                 });
@@ -289,17 +348,11 @@ public class DashboardController implements Initializable {
 
         dialog.showAndWait().ifPresent(updatedGoal -> {
             dataStore.updateGoal(updatedGoal);
-            dataStore.notifyGoalRefresh();
             refresh();
         });
     }
 
     private void loadSpendingChart() {
-        spendingChart.getData().clear();
-        
-        // Get all transactions (expenses only) from all accounts
-        List<Transaction> allTransactions = dataStore.getTransactions();
-        
         // Get current month and last month
         YearMonth currentMonth = YearMonth.now();
         YearMonth lastMonth = currentMonth.minusMonths(1);
@@ -326,7 +379,18 @@ public class DashboardController implements Initializable {
             });
         }
         
-        // Create maps to store daily expenses
+        // Daily expense totals for both months, read from the spending totals
+        // (the first call builds them from the transactions, so fetch in the background)
+        loader.load("chart",
+            () -> dataStore.getSpendingTotals()
+                .totalsByDay(lastMonth.atDay(1), currentMonth.atEndOfMonth(), false),
+            dailyExpenses -> showSpendingChart(dailyExpenses, currentMonth, lastMonth));
+    }
+
+    private void showSpendingChart(Map<LocalDate, Double> dailyExpenses, YearMonth currentMonth, YearMonth lastMonth) {
+        int daysInCurrentMonth = currentMonth.lengthOfMonth();
+        int daysInLastMonth = lastMonth.lengthOfMonth();
+        
         Map<Integer, Double> thisMonthExpenses = new HashMap<>();
         Map<Integer, Double> lastMonthExpenses = new HashMap<>();
         
@@ -338,38 +402,12 @@ public class DashboardController implements Initializable {
             lastMonthExpenses.put(day, 0.0);
         }
         
-        // Parse transactions and aggregate by day
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        DateTimeFormatter dateOnlyFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        
-        for (Transaction tx : allTransactions) {
-            if (tx.getIncome() > 0) continue; // Skip income transactions
-            
-            try {
-                String createTime = tx.getCreateTime();
-                LocalDate txDate;
-                
-                // Try parsing with datetime format first, then date only
-                try {
-                    txDate = LocalDate.parse(createTime, formatter);
-                } catch (Exception e) {
-                    try {
-                        txDate = LocalDate.parse(createTime, dateOnlyFormatter);
-                    } catch (Exception e2) {
-                        continue; // Skip if date cannot be parsed
-                    }
-                }
-                
-                int dayOfMonth = txDate.getDayOfMonth();
-                YearMonth txMonth = YearMonth.from(txDate);
-                
-                if (txMonth.equals(currentMonth)) {
-                    thisMonthExpenses.merge(dayOfMonth, tx.getAmount(), Double::sum);
-                } else if (txMonth.equals(lastMonth)) {
-                    lastMonthExpenses.merge(dayOfMonth, tx.getAmount(), Double::sum);
-                }
-            } catch (Exception e) {
-                // Skip transactions with invalid dates
+        for (Map.Entry<LocalDate, Double> entry : dailyExpenses.entrySet()) {
+            LocalDate date = entry.getKey();
+            if (YearMonth.from(date).equals(currentMonth)) {
+                thisMonthExpenses.put(date.getDayOfMonth(), entry.getValue());
+            } else {
+                lastMonthExpenses.put(date.getDayOfMonth(), entry.getValue());
             }
         }
         
@@ -388,64 +426,93 @@ public class DashboardController implements Initializable {
             lastMonthSeries.getData().add(new XYChart.Data<>(day, lastMonthExpenses.get(day)));
         }
 
-        spendingChart.getData().add(thisMonthSeries);
-        spendingChart.getData().add(lastMonthSeries);
+        spendingChart.getData().setAll(List.of(thisMonthSeries, lastMonthSeries));
     }
 
     private void loadRecentTransactions() {
-        transactionsList.getChildren().clear();
-
-        List<Transaction> transactions = dataStore.getTransactions().stream()
-                .sorted((a, b) -> b.getCreateTime().compareTo(a.getCreateTime()))
-                .limit(10)
-                .collect(Collectors.toList());
-
-        for (Transaction tx : transactions) {
-            HBox txItem = createTransactionItem(tx);
-            transactionsList.getChildren().add(txItem);
+        if (transactionsList.getCellFactory() == null) {
+            transactionsList.setCellFactory(list -> new RecentTransactionCell());
+            // The dashboard scrolls as a whole, so size the list to its rows instead of scrolling it
+            transactionsList.setFixedCellSize(RECENT_ROW_HEIGHT);
         }
-    }
-
-    private HBox createTransactionItem(Transaction tx) {
-        HBox item = new HBox();
-        item.setAlignment(Pos.CENTER_LEFT);
-        item.setPadding(new Insets(14, 0, 14, 0));
-        item.setStyle("-fx-border-color: #f1f5f9; -fx-border-width: 0 0 1 0;");
-
-        StackPane icon = createTransactionIcon(tx.getCategoryId());
-
-        VBox details = new VBox(3);
-        HBox.setHgrow(details, Priority.ALWAYS);
-        HBox.setMargin(details, new Insets(0, 14, 0, 14));
-
-        Label titleLabel = new Label(tx.getName());
-        titleLabel.setStyle("-fx-font-size: 15px; -fx-font-weight: 500; -fx-text-fill: #1e293b;");
 
-        Label timeLabel = new Label(tx.getCreateTime());
-        timeLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
+        loader.load("recent",
+            () -> dataStore.getRecentTransactions(RECENT_LIMIT),
+            this::showRecentTransactions);
+    }
 
-        details.getChildren().addAll(titleLabel, timeLabel);
+    private void showRecentTransactions(List<Transaction> transactions) {
+        transactionsList.setPlaceholder(null);
+        transactionsList.getItems().setAll(transactions);
+        transactionsList.setPrefHeight(Math.max(1, transactions.size()) * RECENT_ROW_HEIGHT + 2);
+    }
 
-        String sign = tx.getIncome() > 0 ? "+" : "-";
-        String color = tx.getIncome() > 0 ? "#22c55e" : "#ef4444";
+    /**
+     * Recent transaction row; nodes are built once per cell and refilled in updateItem
+     */
+    private class RecentTransactionCell extends ListCell<Transaction> {
+        private final HBox item = new HBox();
+        private final StackPane iconHolder = new StackPane();
+        private final Label titleLabel = new Label();
+        private final Label timeLabel = new Label();
+        private final Label amount = new Label();
+        private String iconCategoryId;
+
+        RecentTransactionCell() {
+            item.setAlignment(Pos.CENTER_LEFT);
+            item.setPadding(new Insets(14, 0, 14, 0));
+            item.setStyle("-fx-border-color: #f1f5f9; -fx-border-width: 0 0 1 0;");
+
+            VBox details = new VBox(3);
+            HBox.setHgrow(details, Priority.ALWAYS);
+            HBox.setMargin(details, new Insets(0, 14, 0, 14));
+
+            titleLabel.setStyle("-fx-font-size: 15px; -fx-font-weight: 500; -fx-text-fill: #1e293b;");
+            timeLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
+            details.getChildren().addAll(titleLabel, timeLabel);
+
+            // Edit button with pencil icon
+            Button editBtn = new Button("✎");
+            editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; -fx-font-size: 16px; " +
+                    "-fx-text-fill: #64748b; -fx-padding: 4 8;");
+            editBtn.setOnMouseEntered(e -> editBtn.setStyle("-fx-background-color: #f1f5f9; -fx-cursor: hand; " +
+                    "-fx-font-size: 16px; -fx-text-fill: #3b82f6; -fx-padding: 4 8; -fx-background-radius: 6;"));
+            editBtn.setOnMouseExited(e -> editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; " +
+                    "-fx-font-size: 16px; -fx-text-fill: #64748b; -fx-padding: 4 8;"));
+            editBtn.setOnAction(e -> {
+                if (getItem() != null) {
+                    showEditTransactionDialog(getItem());
+                }
+            });
 
-        Label amount = new Label(sign + String.format("$%.2f", tx.getAmount()));
-        amount.setStyle("-fx-font-size: 16px; -fx-font-weight: 600; -fx-text-fill: " + color + ";");
+            HBox.setMargin(editBtn, new Insets(0, 0, 0, 12));
 
-        // Edit button with pencil icon
-        Button editBtn = new Button("✎");
-        editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; -fx-font-size: 16px; " +
-                "-fx-text-fill: #64748b; -fx-padding: 4 8;");
-        editBtn.setOnMouseEntered(e -> editBtn.setStyle("-fx-background-color: #f1f5f9; -fx-cursor: hand; " +
-                "-fx-font-size: 16px; -fx-text-fill: #3b82f6; -fx-padding: 4 8; -fx-background-radius: 6;"));
-        editBtn.setOnMouseExited(e -> editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; " +
-                "-fx-font-size: 16px; -fx-text-fill: #64748b; -fx-padding: 4 8;"));
-        editBtn.setOnAction(e -> showEditTransactionDialog(tx));
-
-        HBox.setMargin(editBtn, new Insets(0, 0, 0, 12));
+            item.getChildren().addAll(iconHolder, details, amount, editBtn);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        }
 
-        item.getChildren().addAll(icon, details, amount, editBtn);
-        return item;
+        @Override
+        protected void updateItem(Transaction tx, boolean empty) {
+            super.updateItem(tx, empty);
+            if (empty || tx == null) {
+                setGraphic(null);
+                return;
+            }
+            // The icon only depends on the category, so rebuild it only when that changes
+            String categoryId = tx.getCategoryId() != null ? tx.getCategoryId() : "";
+            if (!categoryId.equals(iconCategoryId) || iconHolder.getChildren().isEmpty()) {
+                iconHolder.getChildren().setAll(createTransactionIcon(tx.getCategoryId()));
+                iconCategoryId = categoryId;
+            }
+            titleLabel.setText(tx.getName());
+            timeLabel.setText(tx.getCreateTime());
+
+            String sign = tx.getIncome() > 0 ? "+" : "-";
+            String color = tx.getIncome() > 0 ? "#22c55e" : "#ef4444";
+            amount.setText(sign + String.format("$%.2f", tx.getAmount()));
+            amount.setStyle("-fx-font-size: 16px; -fx-font-weight: 600; -fx-text-fill: " + color + ";");
+            setGraphic(item);
+        }
     }
 
     private void showEditTransactionDialog(Transaction tx) {
@@ -496,11 +563,12 @@ public class DashboardController implements Initializable {
                 try {
                     double amount = Double.parseDouble(amountField.getText());
                     double income = typeBox.getValue().equals("Income") ? amount : 0;
-                    tx.setName(nameField.getText());
-                    tx.setAmount(amount);
-                    tx.setIncome(income);
-                    tx.setCategoryId(categoryBox.getValue());
-                    return tx;
+                    Transaction edited = new Transaction(tx);
+                    edited.setName(nameField.getText());
+                    edited.setAmount(amount);
+                    edited.setIncome(income);
+                    edited.setCategoryId(categoryBox.getValue());
+                    return edited;
                 } catch (NumberFormatException e) {
                     Alert alert = new Alert(Alert.AlertType.ERROR);
                     alert.setContentText("Invalid amount!");
@@ -594,10 +662,17 @@ public class DashboardController implements Initializable {
         return pane;
     }
 
+    @Override
     public void refresh() {
         updateBudgetGoal();
         loadPriorityGoals();
         loadSpendingChart();
         loadRecentTransactions();
     }
+
+    @Override
+    public void dispose() {
+        changeSubscription.unsubscribe();
+        loader.cancelAll();
+    }
 }
@@ -42,11 +42,6 @@ public class EditTransactionFormController implements Initializable {
     private Category.Type selectedCategoryType;
     private Map<String, String> walletIdMap = new HashMap<>();
     
-    // Store original values for balance adjustment
-    private String originalWalletId;
-    private double originalAmount;
-    private boolean originalWasIncome;
-    
     // Category definitions (same as AddTransactionCategoryController)
     private static final Map<String, CategoryInfo> ALL_CATEGORIES = new LinkedHashMap<>();
     private static final Map<String, String> CATEGORY_NAME_BY_ID = new HashMap<>();
@@ -130,11 +125,6 @@ public class EditTransactionFormController implements Initializable {
     public void setTransaction(Transaction tx) {
         this.transaction = tx;
         
-        // Store original values
-        this.originalWalletId = tx.getWalletId();
-        this.originalAmount = tx.getAmount();
-        this.originalWasIncome = tx.getIncome() > 0;
-        
         // Populate form fields
         descriptionField.setText(tx.getName());
         amountField.setText(String.valueOf(tx.getAmount()));
@@ -274,37 +264,27 @@ public class EditTransactionFormController implements Initializable {
         }
         
         boolean newIsIncome = selectedCategoryType == Category.Type.INCOME;
+        String newDescription = description;
         
-        // Revert old transaction from old wallet
-        if (originalWalletId != null) {
-            var oldWallet = dataStore.getWalletById(originalWalletId);
-            if (oldWallet != null) {
-                double revertAmount = originalWasIncome ? -originalAmount : originalAmount;
-                oldWallet.setBalance(oldWallet.getBalance() + revertAmount);
-                dataStore.updateWallet(oldWallet);
-            }
-        }
+        // The edit and the balances of the old and new wallet are saved as one database
+        // transaction (a single commit); DataStore derives both balances from the ledger
+        boolean saved = dataStore.runInTransaction(() -> {
+            // Update a copy; the shown transaction is DataStore's own row
+            Transaction edited = new Transaction(transaction);
+            edited.setName(newDescription);
+            edited.setAmount(newAmount);
+            edited.setIncome(newIsIncome ? 1.0 : 0.0);
+            edited.setCategoryId(selectedCategoryId);
+            edited.setWalletId(newWalletId);
+            
+            dataStore.updateTransaction(edited);
+        });
         
-        // Apply new transaction to new wallet
-        if (newWalletId != null) {
-            var newWallet = dataStore.getWalletById(newWalletId);
-            if (newWallet != null) {
-                double applyAmount = newIsIncome ? newAmount : -newAmount;
-                newWallet.setBalance(newWallet.getBalance() + applyAmount);
-                dataStore.updateWallet(newWallet);
-            }
+        if (!saved) {
+            showAlert("Error", "Could not save the changes. The transaction was left as it was.");
+            return;
         }
         
-        // Update transaction
-        transaction.setName(description);
-        transaction.setAmount(newAmount);
-        transaction.setIncome(newIsIncome ? 1.0 : 0.0);
-        transaction.setCategoryId(selectedCategoryId);
-        transaction.setWalletId(newWalletId);
-        
-        dataStore.updateTransaction(transaction);
-        dataStore.notifyWalletRefresh();
-        
         Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
         successAlert.setTitle("Success");
         successAlert.setHeaderText(null);
@@ -326,18 +306,13 @@ public class EditTransactionFormController implements Initializable {
         
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                // Revert transaction from wallet before deleting
-                if (originalWalletId != null) {
-                    var wallet = dataStore.getWalletById(originalWalletId);
-                    if (wallet != null) {
-                        double revertAmount = originalWasIncome ? -originalAmount : originalAmount;
-                        wallet.setBalance(wallet.getBalance() + revertAmount);
-                        dataStore.updateWallet(wallet);
-                    }
-                }
+                // Delete it and re-derive the wallet balance in one database transaction
+                boolean deleted = dataStore.runInTransaction(() -> dataStore.deleteTransaction(transaction.getId()));
                 
-                dataStore.deleteTransaction(transaction.getId());
-                dataStore.notifyWalletRefresh();
+                if (!deleted) {
+                    showAlert("Error", "Could not delete the transaction. No changes were made.");
+                    return;
+                }
                 
                 if (onSaveCallback != null) {
                     onSaveCallback.run();
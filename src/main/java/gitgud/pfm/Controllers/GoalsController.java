@@ -1,9 +1,13 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.Skeleton;
+import gitgud.pfm.GUI.data.BackgroundLoader;
 import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.interfaces.RefreshableView;
 import gitgud.pfm.Models.Goal;
 import gitgud.pfm.Models.Transaction;
 import gitgud.pfm.Models.Wallet;
+import gitgud.pfm.utils.Money;
 import javafx.animation.*;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -24,7 +28,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class GoalsController implements Initializable {
+public class GoalsController implements Initializable, RefreshableView {
 
     @FXML private ScrollPane rootPane;
     @FXML private VBox mainContent;
@@ -37,6 +41,8 @@ public class GoalsController implements Initializable {
     @FXML private VBox goalsList;
 
     private DataStore dataStore;
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private List<Goal> goals = new ArrayList<>();
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -52,8 +58,21 @@ public class GoalsController implements Initializable {
             styleSortComboBox();
         }
         
-        updateSummary();
-        loadGoals();
+        // Goals are read off the FX thread; placeholders stand in until they arrive
+        loader.attachTo(rootPane);
+        goalsList.getChildren().setAll(Skeleton.rows(3, 140));
+        reloadGoals();
+    }
+
+    /**
+     * Fetch goals in the background, then redraw the summary and the list
+     */
+    private void reloadGoals() {
+        loader.load("goals", dataStore::getGoals, loaded -> {
+            goals = loaded;
+            updateSummary();
+            loadGoals();
+        });
     }
 
     private void styleAddGoalButton() {
@@ -138,12 +157,11 @@ public class GoalsController implements Initializable {
     }
 
     private void updateSummary() {
-        List<Goal> goals = dataStore.getGoals();
         
         int total = goals.size();
         int completed = (int) goals.stream().filter(g -> g.getBalance() >= g.getTarget()).count();
         int active = total - completed;
-        double totalSaved = goals.stream().mapToDouble(Goal::getBalance).sum();
+        double totalSaved = Money.toMajor(goals.stream().mapToLong(Goal::getBalanceMinor).sum());
         
         totalGoalsLabel.setText(String.valueOf(total));
         activeGoalsLabel.setText(String.valueOf(active));
@@ -153,7 +171,7 @@ public class GoalsController implements Initializable {
 
     private void loadGoals() {
         goalsList.getChildren().clear();
-        List<Goal> goals = dataStore.getGoals();
+        List<Goal> goals = this.goals;
         
         // Apply sorting
         String sortBy = sortGoalsCombo != null ? sortGoalsCombo.getValue() : null;
@@ -945,16 +963,21 @@ public class GoalsController implements Initializable {
                     );
                     transaction.setGoalId(goal.getId());
                     
-                    // Update wallet balance
-                    if (wallet != null) {
-                        wallet.setBalance(wallet.getBalance() - amount);
-                        dataStore.updateWallet(wallet);
-                        dataStore.notifyWalletRefresh();
-                    }
+                    // Transaction and wallet balance are saved as one database transaction; both the
+                    // wallet and the goal balance are computed from the linked transaction
+                    boolean saved = dataStore.runInTransaction(() -> dataStore.addTransaction(transaction));
                     
-                    // Add transaction
-                    dataStore.addTransaction(transaction);
+                    if (!saved) {
+                        Alert alert = new Alert(Alert.AlertType.ERROR);
+                        alert.setTitle("Contribution Failed");
+                        alert.setHeaderText(null);
+                        alert.setContentText("Could not save the contribution. No changes were made.");
+                        styleAlert(alert);
+                        alert.show();
+                        return null;
+                    }
                     
+                    goal.setBalance(goal.getBalance() + amount);
                     return amount;
                 } catch (NumberFormatException e) {
                     Alert alert = new Alert(Alert.AlertType.ERROR);
@@ -970,9 +993,6 @@ public class GoalsController implements Initializable {
         });
 
         dialog.showAndWait().ifPresent(amount -> {
-            goal.setBalance(goal.getBalance() + amount);
-            dataStore.updateGoal(goal);
-            dataStore.notifyGoalRefresh();
             refresh();
             
             Alert success = new Alert(Alert.AlertType.INFORMATION);
@@ -1103,7 +1123,6 @@ public class GoalsController implements Initializable {
                 confirm.showAndWait().ifPresent(response -> {
                     if (response == ButtonType.OK) {
                         dataStore.deleteGoal(goal.getId());
-                        dataStore.notifyGoalRefresh();
                         refresh();
                     }
                 });
@@ -1114,7 +1133,6 @@ public class GoalsController implements Initializable {
 
         dialog.showAndWait().ifPresent(updatedGoal -> {
             dataStore.updateGoal(updatedGoal);
-            dataStore.notifyGoalRefresh();
             refresh();
         });
     }
@@ -1247,7 +1265,6 @@ public class GoalsController implements Initializable {
 
         dialog.showAndWait().ifPresent(goal -> {
             dataStore.addGoal(goal);
-            dataStore.notifyGoalRefresh();
             refresh();
             
             // Success notification
@@ -1349,8 +1366,13 @@ public class GoalsController implements Initializable {
         });
     }
 
+    @Override
     public void refresh() {
-        updateSummary();
-        loadGoals();
+        reloadGoals();
+    }
+
+    @Override
+    public void dispose() {
+        loader.cancelAll();
     }
 }
\ No newline at end of file
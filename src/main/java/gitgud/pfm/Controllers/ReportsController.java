@@ -1,7 +1,15 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.Skeleton;
+import gitgud.pfm.GUI.data.BackgroundLoader;
 import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.GUI.data.SpendingReport;
+import gitgud.pfm.interfaces.RefreshableView;
 import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.services.exporter.LedgerExporter;
+import gitgud.pfm.utils.Money;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
@@ -10,18 +18,19 @@ import javafx.scene.Scene;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
 
-public class ReportsController implements Initializable {
+public class ReportsController implements Initializable, RefreshableView {
 
     @FXML private StackPane rootPane;
     @FXML private VBox mainContent;
@@ -41,10 +50,12 @@ public class ReportsController implements Initializable {
     @FXML private VBox categoryBreakdownList;
 
     private DataStore dataStore;
+    private final BackgroundLoader loader = new BackgroundLoader();
     private boolean showingIncome = false;
     private boolean showPercentage = false;
     private LineChart<Number, Number> dailyChart;
     private PieChart expensePieChart;
+    private SpendingReport report;
     
     private static final Map<String, String> CATEGORY_NAMES = new LinkedHashMap<>();
     private static final Map<String, String> CATEGORY_ICONS = new LinkedHashMap<>();
@@ -91,7 +102,6 @@ public class ReportsController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         dataStore = DataStore.getInstance();
-        dataStore.addWalletRefreshListener(this::refresh);
         
         if (reportPeriodCombo != null) {
             reportPeriodCombo.setOnAction(e -> loadReportData());
@@ -101,10 +111,19 @@ public class ReportsController implements Initializable {
             exportButton.setOnAction(e -> exportReport());
         }
         
+        // The snapshot and aggregates load off the FX thread; placeholders stand in until then
+        loader.attachTo(rootPane);
+        categoryBreakdownList.getChildren().setAll(Skeleton.rows(5, 48));
         loadReportData();
     }
 
     private void loadReportData() {
+        // Every chart below reads the same report, built in one pass off the FX thread
+        loader.load("report", dataStore::getSpendingReport, this::renderReport);
+    }
+
+    private void renderReport(SpendingReport loaded) {
+        report = loaded;
         updateSummaryCards();
         loadIncomeExpenseChart();
         loadExpensePieChart();
@@ -113,8 +132,8 @@ public class ReportsController implements Initializable {
     }
 
     private void updateSummaryCards() {
-        double totalIncome = dataStore.getTotalIncome();
-        double totalExpenses = dataStore.getTotalExpenses();
+        double totalIncome = report.total(true);
+        double totalExpenses = report.total(false);
         double netSavings = totalIncome - totalExpenses;
         double savingsRate = totalIncome > 0 ? (netSavings / totalIncome) * 100 : 0;
 
@@ -206,7 +225,6 @@ public class ReportsController implements Initializable {
     private void updateDailyChart() {
         dailyChart.getData().clear();
         
-        List<Transaction> transactions = dataStore.getTransactions();
         YearMonth currentMonth = YearMonth.now();
         YearMonth lastMonth = currentMonth.minusMonths(1);
         int daysInCurrentMonth = currentMonth.lengthOfMonth();
@@ -225,37 +243,14 @@ public class ReportsController implements Initializable {
             lastMonthData.put(day, 0.0);
         }
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        DateTimeFormatter dateOnlyFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        
-        for (Transaction tx : transactions) {
-            boolean isIncome = tx.getIncome() > 0;
-            if (isIncome != showingIncome) continue;
-            
-            try {
-                String createTime = tx.getCreateTime();
-                LocalDate txDate;
-                
-                try {
-                    txDate = LocalDate.parse(createTime, formatter);
-                } catch (Exception e) {
-                    try {
-                        txDate = LocalDate.parse(createTime, dateOnlyFormatter);
-                    } catch (Exception e2) {
-                        continue;
-                    }
-                }
-                
-                int dayOfMonth = txDate.getDayOfMonth();
-                YearMonth txMonth = YearMonth.from(txDate);
-                
-                if (txMonth.equals(currentMonth)) {
-                    thisMonthData.merge(dayOfMonth, tx.getAmount(), Double::sum);
-                } else if (txMonth.equals(lastMonth)) {
-                    lastMonthData.merge(dayOfMonth, tx.getAmount(), Double::sum);
-                }
-            } catch (Exception e) {
-                // Skip
+        Map<LocalDate, Double> dailyTotals = report
+            .totalsByDay(lastMonth.atDay(1), currentMonth.atEndOfMonth(), showingIncome);
+        for (Map.Entry<LocalDate, Double> entry : dailyTotals.entrySet()) {
+            LocalDate txDate = entry.getKey();
+            if (YearMonth.from(txDate).equals(currentMonth)) {
+                thisMonthData.put(txDate.getDayOfMonth(), entry.getValue());
+            } else {
+                lastMonthData.put(txDate.getDayOfMonth(), entry.getValue());
             }
         }
         
@@ -332,16 +327,7 @@ public class ReportsController implements Initializable {
         // Income category IDs to exclude from spending breakdown
         java.util.Set<String> incomeCategories = java.util.Set.of("10", "11");
         
-        List<Transaction> transactions = dataStore.getTransactions();
-        // Use LinkedHashMap to preserve insertion order
-        Map<String, Double> categoryTotals = new LinkedHashMap<>();
-        transactions.stream()
-                .filter(tx -> tx.getIncome() <= 0)
-                .filter(tx -> !incomeCategories.contains(tx.getCategoryId()))
-                .forEach(tx -> {
-                    String catId = tx.getCategoryId() != null ? tx.getCategoryId() : "Other";
-                    categoryTotals.merge(catId, tx.getAmount(), Double::sum);
-                });
+        Map<String, Double> categoryTotals = expenseTotalsByCategory(incomeCategories);
         
         if (categoryTotals.isEmpty()) {
             return;
@@ -423,10 +409,22 @@ public class ReportsController implements Initializable {
         });
     }
 
+    /**
+     * All-time expense totals per category (largest first), from the report
+     */
+    private Map<String, Double> expenseTotalsByCategory(Set<String> excludedCategories) {
+        Map<String, Double> totals = report.totalsByCategory(false);
+        Map<String, Double> ordered = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .filter(e -> !excludedCategories.contains(e.getKey()))
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .forEach(e -> ordered.merge(e.getKey() != null ? e.getKey() : "Other", e.getValue(), Double::sum));
+        return ordered;
+    }
+
     private void loadMonthlyTrendsChart() {
         monthlyTrendsChart.getData().clear();
 
-        List<Transaction> transactions = dataStore.getTransactions();
         LocalDate now = LocalDate.now();
         int currentYear = now.getYear();
         Map<String, Double> monthlySpending = new LinkedHashMap<>();
@@ -436,34 +434,11 @@ public class ReportsController implements Initializable {
             monthlySpending.put(month, 0.0);
         }
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        DateTimeFormatter dateOnlyFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        
-        for (Transaction tx : transactions) {
-            if (tx.getIncome() > 0) continue;
-            
-            try {
-                String createTime = tx.getCreateTime();
-                LocalDate txDate;
-                
-                try {
-                    txDate = LocalDate.parse(createTime, formatter);
-                } catch (Exception e) {
-                    try {
-                        txDate = LocalDate.parse(createTime, dateOnlyFormatter);
-                    } catch (Exception e2) {
-                        continue;
-                    }
-                }
-                
-                if (txDate.getYear() == currentYear) {
-                    int monthIndex = txDate.getMonthValue() - 1;
-                    String monthLabel = monthLabels.get(monthIndex);
-                    monthlySpending.merge(monthLabel, tx.getAmount(), Double::sum);
-                }
-            } catch (Exception e) {
-                // Skip
-            }
+        Map<YearMonth, Double> monthlyTotals = report
+            .totalsByMonth(LocalDate.of(currentYear, 1, 1), LocalDate.of(currentYear, 12, 31), false);
+        for (Map.Entry<YearMonth, Double> entry : monthlyTotals.entrySet()) {
+            String monthLabel = monthLabels.get(entry.getKey().getMonthValue() - 1);
+            monthlySpending.put(monthLabel, entry.getValue());
         }
 
         NumberAxis yAxis = (NumberAxis) monthlyTrendsChart.getYAxis();
@@ -524,16 +499,7 @@ public class ReportsController implements Initializable {
         // Income category IDs to exclude from spending breakdown
         java.util.Set<String> incomeCategories = java.util.Set.of("10", "11");
 
-        List<Transaction> transactions = dataStore.getTransactions();
-        // Use LinkedHashMap to preserve insertion order
-        Map<String, Double> categoryTotals = new LinkedHashMap<>();
-        transactions.stream()
-                .filter(tx -> tx.getIncome() <= 0)
-                .filter(tx -> !incomeCategories.contains(tx.getCategoryId()))
-                .forEach(tx -> {
-                    String catId = tx.getCategoryId() != null ? tx.getCategoryId() : "Other";
-                    categoryTotals.merge(catId, tx.getAmount(), Double::sum);
-                });
+        Map<String, Double> categoryTotals = expenseTotalsByCategory(incomeCategories);
 
         if (categoryTotals.isEmpty()) {
             Label emptyLabel = new Label("No expense data available");
@@ -622,45 +588,27 @@ public class ReportsController implements Initializable {
         Label header = new Label(CATEGORY_ICONS.getOrDefault(categoryId, "📦") + " " + categoryName);
         header.setStyle("-fx-font-size: 20px; -fx-font-weight: 700; -fx-text-fill: #1e293b;");
         
-        VBox transactionsList = new VBox(8);
+        List<Transaction> categoryTransactions = dataStore.getTransactionsInCategory(categoryId);
         
-        List<Transaction> categoryTransactions = dataStore.getTransactions().stream()
-                .filter(tx -> categoryId.equals(tx.getCategoryId()))
-                .sorted((a, b) -> b.getCreateTime().compareTo(a.getCreateTime()))
-                .collect(Collectors.toList());
+        // Virtualized: only the visible rows get nodes, however busy the category is
+        ListView<Transaction> transactionsList = new ListView<>(FXCollections.observableArrayList(categoryTransactions));
+        transactionsList.setCellFactory(list -> new CategoryTransactionCell());
+        transactionsList.setPrefHeight(400);
+        transactionsList.setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 0;");
+        VBox.setVgrow(transactionsList, Priority.ALWAYS);
         
-        if (categoryTransactions.isEmpty()) {
-            Label emptyLabel = new Label("No transactions in this category");
-            emptyLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #64748b;");
-            transactionsList.getChildren().add(emptyLabel);
-        } else {
-            double totalAmount = 0;
+        Label emptyLabel = new Label("No transactions in this category");
+        emptyLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #64748b;");
+        transactionsList.setPlaceholder(emptyLabel);
+        
+        content.getChildren().addAll(header, transactionsList);
+        
+        if (!categoryTransactions.isEmpty()) {
+            long totalMinor = 0;
             for (Transaction tx : categoryTransactions) {
-                HBox txRow = new HBox(12);
-                txRow.setAlignment(Pos.CENTER_LEFT);
-                txRow.setPadding(new Insets(10));
-                txRow.setStyle("-fx-background-color: #f8fafc; -fx-background-radius: 8;");
-                
-                VBox details = new VBox(2);
-                HBox.setHgrow(details, Priority.ALWAYS);
-                
-                Label nameLabel = new Label(tx.getName());
-                nameLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 500; -fx-text-fill: #1e293b;");
-                
-                Label dateLabel = new Label(tx.getCreateTime());
-                dateLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #94a3b8;");
-                
-                details.getChildren().addAll(nameLabel, dateLabel);
-                
-                Label amountLabel = new Label(String.format("$%.2f", tx.getAmount()));
-                String amountColor = tx.getIncome() > 0 ? "#22c55e" : "#ef4444";
-                amountLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: " + amountColor + ";");
-                
-                txRow.getChildren().addAll(details, amountLabel);
-                transactionsList.getChildren().add(txRow);
-                
-                totalAmount += tx.getAmount();
+                totalMinor += tx.getAmountMinor();
             }
+            double totalAmount = Money.toMajor(totalMinor);
             
             HBox totalRow = new HBox();
             totalRow.setAlignment(Pos.CENTER_RIGHT);
@@ -671,14 +619,9 @@ public class ReportsController implements Initializable {
             totalLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: 700; -fx-text-fill: #1e293b;");
             totalRow.getChildren().add(totalLabel);
             
-            transactionsList.getChildren().add(totalRow);
+            content.getChildren().add(totalRow);
         }
         
-        ScrollPane scrollPane = new ScrollPane(transactionsList);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setPrefHeight(400);
-        scrollPane.setStyle("-fx-background-color: transparent; -fx-background: transparent;");
-        
         Button closeBtn = new Button("Close");
         closeBtn.setStyle("-fx-background-color: #3b82f6; -fx-text-fill: white; -fx-background-radius: 6; -fx-padding: 10 24; -fx-font-size: 14px;");
         closeBtn.setOnAction(e -> popup.close());
@@ -687,22 +630,110 @@ public class ReportsController implements Initializable {
         buttonBox.setAlignment(Pos.CENTER_RIGHT);
         buttonBox.getChildren().add(closeBtn);
         
-        content.getChildren().addAll(header, scrollPane, buttonBox);
+        content.getChildren().add(buttonBox);
         
         Scene scene = new Scene(content, 500, 550);
         popup.setScene(scene);
         popup.showAndWait();
     }
 
+    /**
+     * Row of the category drill-down; nodes are built once per cell and refilled in updateItem
+     */
+    private static class CategoryTransactionCell extends ListCell<Transaction> {
+        private final HBox txRow = new HBox(12);
+        private final Label nameLabel = new Label();
+        private final Label dateLabel = new Label();
+        private final Label amountLabel = new Label();
+
+        CategoryTransactionCell() {
+            txRow.setAlignment(Pos.CENTER_LEFT);
+            txRow.setPadding(new Insets(10));
+            txRow.setStyle("-fx-background-color: #f8fafc; -fx-background-radius: 8;");
+            
+            VBox details = new VBox(2);
+            HBox.setHgrow(details, Priority.ALWAYS);
+            
+            nameLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 500; -fx-text-fill: #1e293b;");
+            dateLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #94a3b8;");
+            details.getChildren().addAll(nameLabel, dateLabel);
+            
+            txRow.getChildren().addAll(details, amountLabel);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 8 0;");
+        }
+
+        @Override
+        protected void updateItem(Transaction tx, boolean empty) {
+            super.updateItem(tx, empty);
+            if (empty || tx == null) {
+                setGraphic(null);
+                return;
+            }
+            nameLabel.setText(tx.getName());
+            dateLabel.setText(tx.getCreateTime());
+            amountLabel.setText(String.format("$%.2f", tx.getAmount()));
+            String amountColor = tx.getIncome() > 0 ? "#22c55e" : "#ef4444";
+            amountLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: " + amountColor + ";");
+            setGraphic(txRow);
+        }
+    }
+
     private void exportReport() {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Export Report");
-        alert.setHeaderText("Export Feature");
-        alert.setContentText("Report export functionality coming soon!");
-        alert.show();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Transactions");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV file", "*.csv"),
+            new FileChooser.ExtensionFilter("JSON file", "*.json"));
+        chooser.setInitialFileName("transactions-" + LocalDate.now() + ".csv");
+        File file = chooser.showSaveDialog(exportButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        Path target = file.toPath();
+        LedgerExporter.Format format = chooser.getSelectedExtensionFilter() != null
+                && chooser.getSelectedExtensionFilter().getExtensions().contains("*.json")
+            ? LedgerExporter.Format.JSON
+            : LedgerExporter.Format.forFile(target);
+
+        // Stream the ledger to disk off the FX thread; the table is never loaded into memory
+        Task<Long> exportTask = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return new LedgerExporter().export(target, format, null);
+            }
+        };
+        exportTask.setOnSucceeded(e -> {
+            exportButton.setDisable(false);
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Export Report");
+            alert.setHeaderText("Export complete");
+            alert.setContentText("Exported " + exportTask.getValue() + " transactions to " + target);
+            alert.show();
+        });
+        exportTask.setOnFailed(e -> {
+            exportButton.setDisable(false);
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Report");
+            alert.setHeaderText("Export failed");
+            alert.setContentText(exportTask.getException() != null
+                ? exportTask.getException().getMessage() : "Unknown error");
+            alert.show();
+        });
+
+        exportButton.setDisable(true);
+        Thread thread = new Thread(exportTask, "ledger-export");
+        thread.setDaemon(true);
+        thread.start();
     }
 
+    @Override
     public void refresh() {
         javafx.application.Platform.runLater(this::loadReportData);
     }
+
+    @Override
+    public void dispose() {
+        loader.cancelAll();
+    }
 }
@@ -1,5 +1,7 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.data.DataChangeEvent;
+import gitgud.pfm.GUI.data.DataKind;
 import gitgud.pfm.GUI.data.DataStore;
 import gitgud.pfm.Models.Wallet;
 import javafx.fxml.FXML;
@@ -40,8 +42,8 @@ public class SidebarController implements Initializable {
         activeItem = dashboardNavItem;
         dataStore = DataStore.getInstance();
         
-        // Register for wallet refresh notifications
-        dataStore.addWalletRefreshListener(this::refreshWallets);
+        // Follow wallet changes (balances move with every transaction)
+        dataStore.addChangeListener(this::applyWalletChanges, DataKind.WALLETS);
         
         // Setup click handlers
         setupNavItem(dashboardNavItem, "Dashboard");
@@ -148,6 +150,58 @@ public class SidebarController implements Initializable {
         }
     }
     
+    /**
+     * Patch the wallet selector from a batch of wallet events instead of reloading every wallet
+     */
+    private void applyWalletChanges(List<DataChangeEvent<?>> events) {
+        if (walletSelector == null) {
+            return;
+        }
+        for (DataChangeEvent<?> event : events) {
+            Wallet wallet = event.getNewValue(Wallet.class);
+            switch (event.getType()) {
+                case ADDED:
+                    if (wallet != null) {
+                        walletSelector.getItems().add(wallet);
+                    }
+                    break;
+                case UPDATED:
+                    replaceWallet(event.getId(), wallet);
+                    break;
+                case REMOVED:
+                    walletSelector.getItems().removeIf(w -> w.getId().equals(event.getId()));
+                    break;
+                default:
+                    refreshWallets();
+                    return;
+            }
+        }
+        if (walletSelector.getValue() == null && !walletSelector.getItems().isEmpty()) {
+            walletSelector.setValue(walletSelector.getItems().get(0));
+        }
+        Wallet selected = walletSelector.getValue();
+        if (selected != null) {
+            updateSelectedWalletBalance(selected.getBalance());
+        }
+    }
+    
+    private void replaceWallet(String id, Wallet wallet) {
+        List<Wallet> items = walletSelector.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId().equals(id)) {
+                boolean selected = items.get(i) == walletSelector.getValue();
+                if (wallet == null) {
+                    return;
+                }
+                items.set(i, wallet);
+                if (selected) {
+                    walletSelector.setValue(wallet);
+                }
+                return;
+            }
+        }
+    }
+    
     public Wallet getSelectedWallet() {
         return walletSelector != null ? walletSelector.getValue() : null;
     }
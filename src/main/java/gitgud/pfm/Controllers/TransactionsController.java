@@ -1,9 +1,14 @@
 package gitgud.pfm.Controllers;
 
+import gitgud.pfm.GUI.data.BackgroundLoader;
 import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.interfaces.RefreshableView;
 import gitgud.pfm.Models.Category;
 import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.TransactionCriteria;
 import gitgud.pfm.services.CategoryService;
+import gitgud.pfm.services.Filter;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -14,17 +19,18 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
 
-public class TransactionsController implements Initializable {
+public class TransactionsController implements Initializable, RefreshableView {
 
     @FXML private BorderPane rootPane;
     @FXML private Button addTransactionButton;
@@ -34,7 +40,7 @@ public class TransactionsController implements Initializable {
     @FXML private DatePicker toDatePicker;
     @FXML private TextField searchField;
     @FXML private Button clearFiltersButton;
-    @FXML private VBox transactionsList;
+    @FXML private ListView<Transaction> transactionsList;
     @FXML private Button prevPageButton;
     @FXML private Button nextPageButton;
     @FXML private Label pageInfoLabel;
@@ -44,7 +50,37 @@ public class TransactionsController implements Initializable {
     private Map<String, String> categoryIdToNameMap;
     private int currentPage = 1;
     private int itemsPerPage = 20;
-    private List<Transaction> filteredTransactions;
+    private int totalCount;
+    // Name searches count at most this many pages up front (0 = exact count, see countMatches)
+    private static final int SEARCH_COUNT_PAGES = 25;
+    private int countLimit;
+    // Current filters (null when they cannot match anything) and the cached pages around currentPage
+    private TransactionCriteria criteria;
+    private final Map<Integer, List<Transaction>> pageCache = new HashMap<>();
+
+    // Typing waits for a pause this long before searching; a newer filter cancels the load in flight
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+    private static final String LOAD_KEY = "transactions";
+    // Page turns: the page being waited for, the neighbours read ahead, and a search recount
+    private static final String PAGE_KEY = "transactions-page";
+    private static final String NEXT_KEY = "transactions-next";
+    private static final String PREVIOUS_KEY = "transactions-previous";
+    private static final String COUNT_KEY = "transactions-count";
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private final Filter filter = new Filter();
+    // Every match of heldCriteria, newest first, when there are at most HELD_MATCHES of them.
+    // A narrower search (one more character) is answered from these without the database.
+    private static final int HELD_MATCHES = 500;
+    private TransactionCriteria heldCriteria;
+    private List<Transaction> heldMatches;
+
+    /**
+     * Result of one background load: the (possibly capped) count and either every match
+     * (complete) or just the first page
+     */
+    private record Matches(int count, List<Transaction> rows, boolean complete) {
+    }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -68,9 +104,17 @@ public class TransactionsController implements Initializable {
         typeFilter.setOnAction(e -> applyFilters());
         fromDatePicker.setOnAction(e -> applyFilters());
         toDatePicker.setOnAction(e -> applyFilters());
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchChanged());
+        searchDelay.setOnFinished(e -> applyFilters());
+        loader.attachTo(rootPane);
         
-        loadTransactions();
+        // Virtualized list: cells are created for the visible rows only and reused on scroll
+        transactionsList.setCellFactory(list -> new TransactionCell());
+        Label emptyLabel = new Label("No transactions found");
+        emptyLabel.setStyle("-fx-text-fill: #64748b; -fx-font-size: 14px;");
+        transactionsList.setPlaceholder(emptyLabel);
+        
+        applyFilters();
     }
     
     private void clearFilters() {
@@ -79,8 +123,7 @@ public class TransactionsController implements Initializable {
         fromDatePicker.setValue(null);
         toDatePicker.setValue(null);
         searchField.clear();
-        currentPage = 1;
-        loadTransactions();
+        applyFilters();
     }
     
     private void buildCategoryMap() {
@@ -96,144 +139,227 @@ public class TransactionsController implements Initializable {
         return categoryIdToNameMap.getOrDefault(categoryId, categoryId);
     }
 
+    /**
+     * A keystroke in the search field. A search that only narrows the matches held in memory is
+     * refined at once; anything else cancels the load in flight and waits for typing to pause.
+     */
+    private void searchChanged() {
+        if (canRefine(buildCriteria())) {
+            applyFilters();
+            return;
+        }
+        loader.cancel(LOAD_KEY);
+        cancelPageLoads();
+        searchDelay.playFromStart();
+    }
+
+    private boolean canRefine(TransactionCriteria next) {
+        return heldMatches != null && next != null && next.narrows(heldCriteria);
+    }
+
+    /**
+     * Re-read the filters and drop the cached pages. Narrower criteria are refined from
+     * heldMatches; otherwise the count and first page load in the background, replacing any
+     * load still running, and the list keeps its old rows until they arrive.
+     */
     private void applyFilters() {
+        searchDelay.stop();
+        criteria = buildCriteria();
+        pageCache.clear();
+        cancelPageLoads();
         currentPage = 1;
-        loadTransactions();
+        if (canRefine(criteria)) {
+            loader.cancel(LOAD_KEY);
+            heldMatches = filter.refineSearch(heldMatches, criteria.getName());
+            heldCriteria = criteria;
+            totalCount = heldMatches.size();
+            loadTransactions();
+            return;
+        }
+
+        boolean search = criteria != null && criteria.getName() != null && !criteria.getName().isEmpty();
+        countLimit = search ? SEARCH_COUNT_PAGES * itemsPerPage : 0;
+        TransactionCriteria loading = criteria;
+        int limit = countLimit;
+        int pageSize = itemsPerPage;
+        loader.load(LOAD_KEY, () -> fetchMatches(loading, limit, pageSize), matches -> {
+            heldCriteria = matches.complete() ? loading : null;
+            heldMatches = matches.complete() ? matches.rows() : null;
+            totalCount = matches.count();
+            if (!matches.complete()) {
+                pageCache.put(1, matches.rows());
+            }
+            loadTransactions();
+        }, () -> {
+            pageInfoLabel.setText("Searching...");
+            prevPageButton.setDisable(true);
+            nextPageButton.setDisable(true);
+        });
+    }
+
+    /**
+     * Count the matches (up to countLimit) and read either all of them, when there are few
+     * enough to hold, or the first page. Runs on a background thread.
+     */
+    private Matches fetchMatches(TransactionCriteria loading, int limit, int pageSize) {
+        if (loading == null) {
+            return new Matches(0, List.of(), true);
+        }
+        int count = dataStore.countTransactions(loading, limit);
+        if (Thread.currentThread().isInterrupted()) {
+            // Superseded while counting (the result is never shown): skip reading the rows
+            return new Matches(count, List.of(), false);
+        }
+        boolean exact = limit == 0 || count < limit;
+        if (exact && count <= HELD_MATCHES) {
+            return new Matches(count, dataStore.findTransactions(loading, 0, 0), true);
+        }
+        return new Matches(count, dataStore.findTransactionPageAfter(loading, null, pageSize), false);
+    }
+
+    private boolean isHeld() {
+        return heldMatches != null && heldCriteria == criteria;
     }
 
+    /**
+     * Count the matches up to twice the current countLimit in the background. Counting every
+     * match of a one-letter search walks most of the index, so searches count a few pages
+     * ahead and recount as the user pages on.
+     */
+    private void countMatches() {
+        TransactionCriteria counting = criteria;
+        int limit = countLimit * 2;
+        loader.load(COUNT_KEY, () -> dataStore.countTransactions(counting, limit), count -> {
+            countLimit = limit;
+            totalCount = count;
+            updatePager();
+        });
+    }
+
+    private boolean isCountCapped() {
+        return countLimit > 0 && totalCount >= countLimit;
+    }
+
+    private int totalPages() {
+        return Math.max(1, (int) Math.ceil((double) totalCount / itemsPerPage));
+    }
+
+    /**
+     * Show currentPage. Pages come from keyset queries in the database and neighbours are
+     * read ahead, so a page turn normally finds its rows already in pageCache; otherwise the
+     * page loads in the background and is shown when it arrives.
+     */
     private void loadTransactions() {
-        transactionsList.getChildren().clear();
-        
-        List<Transaction> allTransactions = dataStore.getTransactions();
-        
-        // Apply filters
-        filteredTransactions = allTransactions.stream()
-                .filter(tx -> {
-                    // Category filter - match by category name
-                    String categoryFilterValue = categoryFilter.getValue();
-                    if (categoryFilterValue != null && !categoryFilterValue.equals("All Categories")) {
-                        String txCategoryName = getCategoryNameById(tx.getCategoryId());
-                        // Match if category name contains filter value (case insensitive)
-                        if (!txCategoryName.toLowerCase().contains(categoryFilterValue.toLowerCase())) {
-                            return false;
-                        }
-                    }
-                    
-                    // Type filter
-                    String type = typeFilter.getValue();
-                    if (type != null && !type.equals("All Types")) {
-                        if (type.equals("Income") && tx.getIncome() <= 0) return false;
-                        if (type.equals("Expense") && tx.getIncome() > 0) return false;
-                    }
-                    
-                    // Date filter
-                    LocalDate fromDate = fromDatePicker.getValue();
-                    LocalDate toDate = toDatePicker.getValue();
-                    if (fromDate != null || toDate != null) {
-                        try {
-                            String createTime = tx.getCreateTime();
-                            LocalDate txDate;
-                            try {
-                                txDate = LocalDate.parse(createTime.substring(0, 10));
-                            } catch (Exception e) {
-                                return true; // Include if date can't be parsed
-                            }
-                            
-                            if (fromDate != null && txDate.isBefore(fromDate)) return false;
-                            if (toDate != null && txDate.isAfter(toDate)) return false;
-                        } catch (Exception e) {
-                            // Include transaction if date parsing fails
-                        }
-                    }
-                    
-                    // Search filter
-                    String search = searchField.getText();
-                    if (search != null && !search.isEmpty()) {
-                        if (!tx.getName().toLowerCase().contains(search.toLowerCase())) {
-                            return false;
-                        }
-                    }
-                    
-                    return true;
-                })
-                .sorted((a, b) -> b.getCreateTime().compareTo(a.getCreateTime()))
-                .collect(Collectors.toList());
-        
-        // Pagination
-        int totalPages = Math.max(1, (int) Math.ceil((double) filteredTransactions.size() / itemsPerPage));
-        int startIndex = (currentPage - 1) * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, filteredTransactions.size());
-        
-        List<Transaction> pageTransactions = filteredTransactions.subList(startIndex, endIndex);
-        
-        for (Transaction tx : pageTransactions) {
-            HBox txItem = createTransactionItem(tx);
-            transactionsList.getChildren().add(txItem);
+        currentPage = Math.min(currentPage, totalPages());
+        if (totalCount == 0) {
+            showPage(List.of());
+        } else if (isHeld()) {
+            int from = (currentPage - 1) * itemsPerPage;
+            showPage(heldMatches.subList(from, Math.min(from + itemsPerPage, heldMatches.size())));
+        } else if (pageCache.containsKey(currentPage)) {
+            showPage(pageCache.get(currentPage));
+        } else {
+            loadPage(currentPage);
         }
-        
-        if (pageTransactions.isEmpty()) {
-            Label emptyLabel = new Label("No transactions found");
-            emptyLabel.setStyle("-fx-text-fill: #64748b; -fx-font-size: 14px;");
-            transactionsList.getChildren().add(emptyLabel);
+    }
+
+    private void showPage(List<Transaction> pageTransactions) {
+        transactionsList.getItems().setAll(pageTransactions);
+        transactionsList.scrollTo(0);
+        updatePager();
+        prefetchNeighbours(pageTransactions);
+    }
+
+    private void updatePager() {
+        if (loader.isLoading(PAGE_KEY)) {
+            return;
         }
-        
-        // Update pagination info
-        pageInfoLabel.setText(String.format("Page %d of %d", currentPage, totalPages));
+        int totalPages = totalPages();
+        pageInfoLabel.setText(String.format("Page %d of %d%s", currentPage, totalPages, isCountCapped() ? "+" : ""));
         prevPageButton.setDisable(currentPage <= 1);
         nextPageButton.setDisable(currentPage >= totalPages);
     }
 
-    private HBox createTransactionItem(Transaction tx) {
-        HBox item = new HBox(16);
-        item.setAlignment(Pos.CENTER_LEFT);
-        item.setPadding(new Insets(14, 18, 14, 18));
-        item.setStyle("-fx-background-color: #f1f5f9; -fx-background-radius: 10;");
-        VBox.setMargin(item, new Insets(0, 0, 8, 0));
-
-        // Transaction name only (no category below since there's a dedicated category column)
-        Label nameLabel = new Label(tx.getName());
-        nameLabel.setPrefWidth(180);
-        nameLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 500; -fx-text-fill: #1e293b;");
-
-        // Category
-        String categoryName = getCategoryNameById(tx.getCategoryId());
-        Label categoryLabel = new Label(categoryName);
-        categoryLabel.setPrefWidth(140);
-        categoryLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
-
-        // Date
-        Label dateLabel = new Label(tx.getCreateTime());
-        dateLabel.setPrefWidth(140);
-        dateLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
-
-        // Wallet
-        Label walletLabel = new Label(tx.getWalletId() != null ? tx.getWalletId() : "—");
-        walletLabel.setPrefWidth(140);
-        walletLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
-
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        // Amount
-        String sign = tx.getIncome() > 0 ? "+" : "-";
-        String color = tx.getIncome() > 0 ? "#22c55e" : "#ef4444";
-        Label amountLabel = new Label(sign + String.format("$%.2f", tx.getAmount()));
-        amountLabel.setPrefWidth(100);
-        amountLabel.setAlignment(Pos.CENTER_RIGHT);
-        amountLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: " + color + ";");
-
-        // Edit button with pencil icon
-        Button editBtn = new Button("✎");
-        editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; -fx-font-size: 16px; " +
-                "-fx-text-fill: #64748b; -fx-padding: 4 8;");
-        editBtn.setOnMouseEntered(e -> editBtn.setStyle("-fx-background-color: #f1f5f9; -fx-cursor: hand; " +
-                "-fx-font-size: 16px; -fx-text-fill: #3b82f6; -fx-padding: 4 8; -fx-background-radius: 6;"));
-        editBtn.setOnMouseExited(e -> editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; " +
-                "-fx-font-size: 16px; -fx-text-fill: #64748b; -fx-padding: 4 8;"));
-        editBtn.setOnAction(e -> showEditTransactionDialog(tx));
-
-        item.getChildren().addAll(nameLabel, categoryLabel, dateLabel, walletLabel, spacer, amountLabel, editBtn);
-        return item;
+    private void cancelPageLoads() {
+        loader.cancel(PAGE_KEY);
+        loader.cancel(NEXT_KEY);
+        loader.cancel(PREVIOUS_KEY);
+        loader.cancel(COUNT_KEY);
+    }
+
+    /**
+     * One row of the transaction list. The nodes are built once per cell and only their
+     * text and colours change in updateItem, so scrolling allocates nothing.
+     */
+    private class TransactionCell extends ListCell<Transaction> {
+        private final HBox item = new HBox(16);
+        private final Label nameLabel = new Label();
+        private final Label categoryLabel = new Label();
+        private final Label dateLabel = new Label();
+        private final Label walletLabel = new Label();
+        private final Label amountLabel = new Label();
+
+        TransactionCell() {
+            item.setAlignment(Pos.CENTER_LEFT);
+            item.setPadding(new Insets(14, 18, 14, 18));
+            item.setStyle("-fx-background-color: #f1f5f9; -fx-background-radius: 10;");
+
+            // Transaction name only (no category below since there's a dedicated category column)
+            nameLabel.setPrefWidth(180);
+            nameLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 500; -fx-text-fill: #1e293b;");
+
+            categoryLabel.setPrefWidth(140);
+            categoryLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
+
+            dateLabel.setPrefWidth(140);
+            dateLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
+
+            walletLabel.setPrefWidth(140);
+            walletLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748b;");
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            amountLabel.setPrefWidth(100);
+            amountLabel.setAlignment(Pos.CENTER_RIGHT);
+
+            // Edit button with pencil icon
+            Button editBtn = new Button("✎");
+            editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; -fx-font-size: 16px; " +
+                    "-fx-text-fill: #64748b; -fx-padding: 4 8;");
+            editBtn.setOnMouseEntered(e -> editBtn.setStyle("-fx-background-color: #f1f5f9; -fx-cursor: hand; " +
+                    "-fx-font-size: 16px; -fx-text-fill: #3b82f6; -fx-padding: 4 8; -fx-background-radius: 6;"));
+            editBtn.setOnMouseExited(e -> editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; " +
+                    "-fx-font-size: 16px; -fx-text-fill: #64748b; -fx-padding: 4 8;"));
+            editBtn.setOnAction(e -> {
+                if (getItem() != null) {
+                    showEditTransactionDialog(getItem());
+                }
+            });
+
+            item.getChildren().addAll(nameLabel, categoryLabel, dateLabel, walletLabel, spacer, amountLabel, editBtn);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 8 0;");
+        }
+
+        @Override
+        protected void updateItem(Transaction tx, boolean empty) {
+            super.updateItem(tx, empty);
+            if (empty || tx == null) {
+                setGraphic(null);
+                return;
+            }
+            nameLabel.setText(tx.getName());
+            categoryLabel.setText(getCategoryNameById(tx.getCategoryId()));
+            dateLabel.setText(tx.getCreateTime());
+            walletLabel.setText(tx.getWalletId() != null ? tx.getWalletId() : "—");
+
+            // Amount
+            String sign = tx.getIncome() > 0 ? "+" : "-";
+            String color = tx.getIncome() > 0 ? "#22c55e" : "#ef4444";
+            amountLabel.setText(sign + String.format("$%.2f", tx.getAmount()));
+            amountLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: 600; -fx-text-fill: " + color + ";");
+            setGraphic(item);
+        }
     }
 
     private void showEditTransactionDialog(Transaction tx) {
@@ -268,6 +394,134 @@ public class TransactionsController implements Initializable {
             alert.showAndWait();
         }
     }
+    /**
+     * Load a page that is not cached (the user turned to it before its read-ahead arrived)
+     * in the background and show it when it arrives. It is reached with keyset queries from
+     * the nearest cached page, or from the top when nothing is cached.
+     */
+    private void loadPage(int number) {
+        int start = 0;
+        for (Map.Entry<Integer, List<Transaction>> entry : pageCache.entrySet()) {
+            if (!entry.getValue().isEmpty()
+                    && (start == 0 || Math.abs(entry.getKey() - number) < Math.abs(start - number))) {
+                start = entry.getKey();
+            }
+        }
+        TransactionCriteria pageCriteria = criteria;
+        int from = start;
+        List<Transaction> fromRows = pageCache.get(start);
+        int limit = itemsPerPage;
+        loader.load(PAGE_KEY, () -> walkToPage(pageCriteria, from, fromRows, number, limit), rows -> {
+            pageCache.put(number, rows);
+            loadTransactions();
+        }, () -> {
+            pageInfoLabel.setText("Loading...");
+            prevPageButton.setDisable(true);
+            nextPageButton.setDisable(true);
+        });
+    }
+
+    /**
+     * Step page by page from a known page (0 and null for "before the first page") to the
+     * target one. Runs on a background thread.
+     */
+    private List<Transaction> walkToPage(TransactionCriteria pageCriteria, int from, List<Transaction> fromRows,
+                                         int target, int limit) {
+        int number = from;
+        List<Transaction> rows = fromRows;
+        while (number < target && !Thread.currentThread().isInterrupted()) {
+            Transaction last = rows == null ? null : rows.get(rows.size() - 1);
+            rows = dataStore.findTransactionPageAfter(pageCriteria, last, limit);
+            number++;
+            if (rows.isEmpty()) {
+                return rows;
+            }
+        }
+        while (number > target && !Thread.currentThread().isInterrupted()) {
+            rows = dataStore.findTransactionPageBefore(pageCriteria, rows.get(0), limit);
+            number--;
+            if (rows.isEmpty()) {
+                return rows;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Read the pages either side of the current one in the background, keyed off its first
+     * and last rows, and forget pages that are no longer adjacent.
+     */
+    private void prefetchNeighbours(List<Transaction> page) {
+        pageCache.keySet().removeIf(number -> Math.abs(number - currentPage) > 1);
+        if (page.isEmpty() || isHeld()) {
+            return;
+        }
+        TransactionCriteria pageCriteria = criteria;
+        int limit = itemsPerPage;
+        int next = currentPage + 1;
+        if (currentPage < totalPages() && !pageCache.containsKey(next)) {
+            Transaction last = page.get(page.size() - 1);
+            loader.load(NEXT_KEY, () -> dataStore.findTransactionPageAfter(pageCriteria, last, limit),
+                    rows -> pageCache.put(next, rows));
+        }
+        int previous = currentPage - 1;
+        if (currentPage > 1 && !pageCache.containsKey(previous)) {
+            Transaction first = page.get(0);
+            loader.load(PREVIOUS_KEY, () -> dataStore.findTransactionPageBefore(pageCriteria, first, limit),
+                    rows -> pageCache.put(previous, rows));
+        }
+    }
+
+    /**
+     * Translate the filter controls into TransactionCriteria.
+     * @return null when the category filter matches no category (nothing can match)
+     */
+    private TransactionCriteria buildCriteria() {
+        TransactionCriteria.Builder builder = TransactionCriteria.builder();
+        
+        // Category filter - match by category name (case insensitive contains)
+        String categoryFilterValue = categoryFilter.getValue();
+        if (categoryFilterValue != null && !categoryFilterValue.equals("All Categories")) {
+            String wanted = categoryFilterValue.toLowerCase();
+            List<String> categoryIds = new ArrayList<>();
+            for (Map.Entry<String, String> entry : categoryIdToNameMap.entrySet()) {
+                if (entry.getValue().toLowerCase().contains(wanted)) {
+                    categoryIds.add(entry.getKey());
+                }
+            }
+            if (categoryIds.isEmpty()) {
+                return null;
+            }
+            builder.categoryId(categoryIds);
+        }
+        
+        // Type filter
+        String type = typeFilter.getValue();
+        if ("Income".equals(type)) {
+            builder.income(1.0);
+        } else if ("Expense".equals(type)) {
+            builder.income(0.0);
+        }
+        
+        // Date filter (inclusive days)
+        LocalDate fromDate = fromDatePicker.getValue();
+        LocalDate toDate = toDatePicker.getValue();
+        if (fromDate != null) {
+            builder.dateFrom(fromDate.toString());
+        }
+        if (toDate != null) {
+            builder.dateTo(toDate.toString());
+        }
+        
+        // Search filter
+        String search = searchField.getText();
+        if (search != null && !search.isEmpty()) {
+            builder.name(search);
+        }
+        
+        return builder.build();
+    }
+
     private void previousPage() {
         if (currentPage > 1) {
             currentPage--;
@@ -276,8 +530,11 @@ public class TransactionsController implements Initializable {
     }
 
     private void nextPage() {
-        int totalPages = (int) Math.ceil((double) filteredTransactions.size() / itemsPerPage);
-        if (currentPage < totalPages) {
+        if (currentPage + 1 >= totalPages() && isCountCapped() && !loader.isLoading(COUNT_KEY)) {
+            // Turning to the last counted page: count further while it is shown
+            countMatches();
+        }
+        if (currentPage < totalPages()) {
             currentPage++;
             loadTransactions();
         }
@@ -323,8 +580,11 @@ public class TransactionsController implements Initializable {
         }
     }
 
+    @Override
     public void refresh() {
-        currentPage = 1;
-        loadTransactions();
+        // The data may have changed, so held matches can no longer be refined
+        heldMatches = null;
+        heldCriteria = null;
+        applyFilters();
     }
 }
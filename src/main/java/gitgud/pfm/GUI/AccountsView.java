@@ -2,6 +2,7 @@ package gitgud.pfm.GUI;
 
 import gitgud.pfm.GUI.data.DataStore;
 import gitgud.pfm.Models.Wallet;
+import gitgud.pfm.utils.Money;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -61,7 +62,7 @@ public class AccountsView extends ScrollPane {
 
         List<Wallet> wallets = dataStore.getWallets();
 
-        double totalBalance = wallets.stream().mapToDouble(Wallet::getBalance).sum();
+        double totalBalance = Money.toMajor(wallets.stream().mapToLong(Wallet::getBalanceMinor).sum());
         double totalAssets = Math.max(0, totalBalance);
         double totalLiabilities = Math.abs(Math.min(0, totalBalance));
         double netWorth = totalBalance;
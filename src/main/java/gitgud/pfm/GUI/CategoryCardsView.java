@@ -411,15 +411,7 @@ public class CategoryCardsView extends ScrollPane {
                 createTime
             );
             
-            // Update wallet balance
-            Wallet wallet = dataStore.getWalletById(walletId);
-            if (wallet != null) {
-                double newBalance = wallet.getBalance() + (type == Category.Type.INCOME ? amount : -amount);
-                wallet.setBalance(newBalance);
-                dataStore.updateWallet(wallet);
-            }
-            
-            // Save transaction
+            // Save transaction (DataStore derives the wallet balance from it)
             dataStore.addTransaction(transaction);
             
             // Show success message
@@ -300,7 +300,7 @@ public class DashboardView extends ScrollPane {
         VBox transactionsList = new VBox(4);
         
         List<Transaction> transactions = dataStore.getTransactions().stream()
-                .sorted((a, b) -> b.getCreateTime().compareTo(a.getCreateTime()))
+                .sorted((a, b) -> Long.compare(b.getCreateEpoch(), a.getCreateEpoch()))
                 .limit(10)
                 .collect(Collectors.toList());
         
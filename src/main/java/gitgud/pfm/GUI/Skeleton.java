@@ -0,0 +1,63 @@
+package gitgud.pfm.GUI;
+
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+/**
+ * Skeleton - Grey pulsing placeholders shown while a view's data loads in the background
+ *
+ * The pulse only runs while the placeholder is in a scene, so a skeleton that gets replaced
+ * by real content does not keep an animation alive.
+ */
+public final class Skeleton {
+
+    private Skeleton() {
+    }
+
+    /**
+     * A column of placeholder rows, e.g. for a list that is still loading
+     */
+    public static VBox rows(int count, double rowHeight) {
+        VBox box = new VBox(8);
+        for (int i = 0; i < count; i++) {
+            box.getChildren().add(block(-1, rowHeight));
+        }
+        pulse(box);
+        return box;
+    }
+
+    /**
+     * A single placeholder block; width -1 stretches to the container
+     */
+    public static Region block(double width, double height) {
+        Region region = new Region();
+        region.setPrefHeight(height);
+        region.setMinHeight(height);
+        if (width > 0) {
+            region.setPrefWidth(width);
+            region.setMaxWidth(width);
+        } else {
+            region.setMaxWidth(Double.MAX_VALUE);
+        }
+        region.setStyle("-fx-background-color: #e2e8f0; -fx-background-radius: 10;");
+        return region;
+    }
+
+    private static void pulse(Region region) {
+        FadeTransition fade = new FadeTransition(Duration.millis(800), region);
+        fade.setFromValue(1.0);
+        fade.setToValue(0.45);
+        fade.setAutoReverse(true);
+        fade.setCycleCount(Animation.INDEFINITE);
+        region.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                fade.play();
+            } else {
+                fade.stop();
+            }
+        });
+    }
+}
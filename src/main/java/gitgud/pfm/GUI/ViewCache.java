@@ -0,0 +1,132 @@
+package gitgud.pfm.GUI;
+
+import gitgud.pfm.GUI.data.DataKind;
+import gitgud.pfm.GUI.data.DataStore;
+import gitgud.pfm.interfaces.RefreshableView;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ViewCache - Keeps loaded FXML views (node + controller) alive between navigations
+ *
+ * The first show() of an FXML file parses it and runs the controller's initialize as before.
+ * Later calls hand back the same node, and only call the controller's refresh() if one of the
+ * DataKinds the view depends on was written since it was last shown. At most maxViews views
+ * are kept; the least recently shown one is disposed and dropped when the limit is exceeded.
+ *
+ * Must be used from the FX thread.
+ */
+public class ViewCache {
+
+    private static final class Entry {
+        private final Node view;
+        private final Object controller;
+        private final DataKind[] dependsOn;
+        private long version;
+
+        private Entry(Node view, Object controller, DataKind[] dependsOn, long version) {
+            this.view = view;
+            this.controller = controller;
+            this.dependsOn = dependsOn;
+            this.version = version;
+        }
+    }
+
+    private final String basePath;
+    private final int maxViews;
+    private final DataStore dataStore;
+    // Access order: iteration starts at the least recently shown view
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param basePath Resource folder of the FXML files, e.g. "/gitgud/pfm/"
+     * @param maxViews How many views to keep loaded at once (at least 1)
+     */
+    public ViewCache(String basePath, int maxViews, DataStore dataStore) {
+        this.basePath = basePath;
+        this.maxViews = Math.max(1, maxViews);
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * Get the view for an FXML file, loading it on first use and refreshing it if
+     * any of the given kinds of data changed since it was last shown
+     *
+     * @return the view, or null if the FXML could not be loaded
+     */
+    public Node show(String fxmlFile, DataKind... dependsOn) {
+        Entry entry = entries.get(fxmlFile);
+        if (entry != null) {
+            long version = dataStore.getVersion(entry.dependsOn);
+            if (version != entry.version) {
+                entry.version = version;
+                if (entry.controller instanceof RefreshableView refreshable) {
+                    refreshable.refresh();
+                }
+            }
+            return entry.view;
+        }
+
+        // Read the version first, so writes made while the view loads still trigger a refresh later
+        long version = dataStore.getVersion(dependsOn);
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource(basePath + fxmlFile));
+            Node view = loader.load();
+            entries.put(fxmlFile, new Entry(view, loader.getController(), dependsOn, version));
+            evictOverflow();
+            return view;
+        } catch (IOException e) {
+            System.err.println("Failed to load FXML: " + fxmlFile + " - " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Dispose and drop one cached view, e.g. to force a full reload next time
+     */
+    public void evict(String fxmlFile) {
+        Entry entry = entries.remove(fxmlFile);
+        if (entry != null) {
+            dispose(entry);
+        }
+    }
+
+    /**
+     * Dispose and drop every cached view
+     */
+    public void clear() {
+        for (Entry entry : entries.values()) {
+            dispose(entry);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxViews && eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            eldest.remove();
+            dispose(entry);
+        }
+    }
+
+    private void dispose(Entry entry) {
+        if (entry.controller instanceof RefreshableView refreshable) {
+            try {
+                refreshable.dispose();
+            } catch (Exception e) {
+                System.err.println("Error disposing view: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package gitgud.pfm.GUI.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+
+/**
+ * BackgroundLoader - Runs a view's database reads and aggregation off the JavaFX thread
+ *
+ * Each load has a key ("goals", "chart", ...). The fetch runs as a javafx.concurrent.Task on a
+ * virtual thread and its result is handed to the publish callback on the FX thread. Starting a
+ * load cancels the one still running under the same key, so only the newest result is ever
+ * shown, and attachTo(view) cancels everything once the view leaves its scene (the user
+ * navigated away). Loads interrupted that way are started again when the view comes back,
+ * so a cached view never keeps its placeholders.
+ *
+ * load/cancel must be called on the FX thread; the fetch callable must not touch nodes.
+ */
+public final class BackgroundLoader {
+    // Loads mostly wait on SQLite, so one cheap virtual thread per load is enough
+    private static final ExecutorService EXECUTOR =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pfm-loader-", 0).factory());
+
+    private final Map<String, Task<?>> active = new HashMap<>();
+    // How to start each active load again, and the loads cut off when the view was detached
+    private final Map<String, Runnable> restarts = new HashMap<>();
+    private final Map<String, Runnable> interrupted = new HashMap<>();
+
+    /**
+     * Cancel this loader's tasks when the given view is removed from its scene,
+     * and restart the cancelled ones when it is shown again
+     */
+    public BackgroundLoader attachTo(Node view) {
+        view.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                Map<String, Runnable> cutOff = new HashMap<>(restarts);
+                cancelAll();
+                interrupted.putAll(cutOff);
+            } else if (oldScene == null && newScene != null && !interrupted.isEmpty()) {
+                List<Runnable> resume = new ArrayList<>(interrupted.values());
+                interrupted.clear();
+                resume.forEach(Runnable::run);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Fetch in the background, then publish the result on the FX thread
+     */
+    public <T> void load(String key, Callable<T> fetch, Consumer<? super T> publish) {
+        load(key, fetch, publish, null);
+    }
+
+    /**
+     * Fetch in the background, then publish the result on the FX thread
+     *
+     * @param key       Identifies the load; a newer load with the same key cancels this one
+     * @param fetch     Runs on a background thread (database reads, aggregation)
+     * @param publish   Runs on the FX thread with the result, unless the load was superseded or cancelled
+     * @param onLoading Runs on the FX thread before the fetch starts (e.g. show a skeleton), may be null
+     */
+    public <T> void load(String key, Callable<T> fetch, Consumer<? super T> publish, Runnable onLoading) {
+        cancel(key);
+        interrupted.remove(key);
+        if (onLoading != null) {
+            onLoading.run();
+        }
+
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return fetch.call();
+            }
+        };
+        // Task delivers these on the FX thread (via Platform.runLater)
+        task.setOnSucceeded(e -> {
+            if (active.remove(key, task)) {
+                restarts.remove(key);
+                publish.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (active.remove(key, task)) {
+                restarts.remove(key);
+            }
+            Throwable error = task.getException();
+            System.err.println("Error loading " + key + ": " + (error != null ? error.getMessage() : "unknown"));
+        });
+
+        active.put(key, task);
+        restarts.put(key, () -> load(key, fetch, publish));
+        EXECUTOR.execute(task);
+    }
+
+    /**
+     * Cancel the running load with the given key, if any; its result is never published
+     */
+    public void cancel(String key) {
+        restarts.remove(key);
+        Task<?> previous = active.remove(key);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+    }
+
+    /**
+     * Cancel every running load; none of them will publish or be restarted
+     */
+    public void cancelAll() {
+        for (Task<?> task : active.values()) {
+            task.cancel(true);
+        }
+        active.clear();
+        restarts.clear();
+        interrupted.clear();
+    }
+
+    public boolean isLoading() {
+        return !active.isEmpty();
+    }
+
+    public boolean isLoading(String key) {
+        return active.containsKey(key);
+    }
+}
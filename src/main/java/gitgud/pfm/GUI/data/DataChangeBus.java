@@ -0,0 +1,111 @@
+package gitgud.pfm.GUI.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * DataChangeBus - Delivers DataChangeEvents to subscribers in coalesced batches
+ *
+ * publish() only queues the event. The first event of a burst schedules one flush on the
+ * dispatcher (Platform.runLater in the GUI, so the flush runs on the next FX pulse); every
+ * event published before that flush rides along in the same batch. A bulk import of
+ * thousands of transactions therefore reaches each subscriber as a single list.
+ *
+ * Each subscriber only sees events of the kinds it subscribed to, in publish order, and is
+ * not called for a batch that has none of them.
+ */
+public class DataChangeBus {
+
+    /**
+     * Handle returned by subscribe(); call unsubscribe() when the listener goes away
+     */
+    public interface Subscription {
+        void unsubscribe();
+    }
+
+    private static final class Subscriber {
+        private final Set<DataKind> kinds;
+        private final Consumer<List<DataChangeEvent<?>>> listener;
+
+        private Subscriber(Set<DataKind> kinds, Consumer<List<DataChangeEvent<?>>> listener) {
+            this.kinds = kinds;
+            this.listener = listener;
+        }
+    }
+
+    private final Executor dispatcher;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private List<DataChangeEvent<?>> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /**
+     * @param dispatcher Runs the flush, e.g. Platform::runLater to deliver on the FX thread
+     */
+    public DataChangeBus(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Receive batches of events of the given kinds (all kinds if none are given)
+     */
+    public Subscription subscribe(Consumer<List<DataChangeEvent<?>>> listener, DataKind... kinds) {
+        Set<DataKind> filter = kinds.length == 0 ? EnumSet.allOf(DataKind.class) : EnumSet.noneOf(DataKind.class);
+        Collections.addAll(filter, kinds);
+        Subscriber subscriber = new Subscriber(filter, listener);
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Queue an event for the next flush
+     */
+    public void publish(DataChangeEvent<?> event) {
+        boolean schedule;
+        synchronized (this) {
+            pending.add(event);
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            dispatcher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Deliver everything queued so far; normally called by the dispatcher
+     */
+    public void flush() {
+        List<DataChangeEvent<?>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            List<DataChangeEvent<?>> events = new ArrayList<>();
+            for (DataChangeEvent<?> event : batch) {
+                if (subscriber.kinds.contains(event.getKind())) {
+                    events.add(event);
+                }
+            }
+            if (events.isEmpty()) {
+                continue;
+            }
+            try {
+                subscriber.listener.accept(Collections.unmodifiableList(events));
+            } catch (Exception e) {
+                System.err.println("Error in data change listener: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package gitgud.pfm.GUI.data;
+
+/**
+ * DataChangeEvent - One write made through DataStore
+ *
+ * Carries the kind of entity, its id and the values before and after the write, so listeners
+ * can patch what they show instead of reloading it. RELOADED means the whole kind may have
+ * changed (e.g. after writes that bypassed DataStore); id and values are null then.
+ *
+ * @param <T> Entity type (Transaction, Wallet, Goal or Budget)
+ */
+public final class DataChangeEvent<T> {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED,
+        RELOADED
+    }
+
+    private final DataKind kind;
+    private final Type type;
+    private final String id;
+    private final T oldValue;
+    private final T newValue;
+
+    private DataChangeEvent(DataKind kind, Type type, String id, T oldValue, T newValue) {
+        this.kind = kind;
+        this.type = type;
+        this.id = id;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public static <T> DataChangeEvent<T> added(DataKind kind, String id, T value) {
+        return new DataChangeEvent<>(kind, Type.ADDED, id, null, value);
+    }
+
+    public static <T> DataChangeEvent<T> updated(DataKind kind, String id, T oldValue, T newValue) {
+        return new DataChangeEvent<>(kind, Type.UPDATED, id, oldValue, newValue);
+    }
+
+    public static <T> DataChangeEvent<T> removed(DataKind kind, String id, T oldValue) {
+        return new DataChangeEvent<>(kind, Type.REMOVED, id, oldValue, null);
+    }
+
+    public static <T> DataChangeEvent<T> reloaded(DataKind kind) {
+        return new DataChangeEvent<>(kind, Type.RELOADED, null, null, null);
+    }
+
+    public DataKind getKind() {
+        return kind;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Value before the write; null for ADDED and RELOADED, or if the row could not be read
+     */
+    public T getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * Value after the write; null for REMOVED and RELOADED
+     */
+    public T getNewValue() {
+        return newValue;
+    }
+
+    /**
+     * The new value cast to the given type (null if absent or of another type)
+     */
+    public <V> V getNewValue(Class<V> type) {
+        return type.isInstance(newValue) ? type.cast(newValue) : null;
+    }
+
+    /**
+     * The old value cast to the given type (null if absent or of another type)
+     */
+    public <V> V getOldValue(Class<V> type) {
+        return type.isInstance(oldValue) ? type.cast(oldValue) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "DataChangeEvent{" + kind + " " + type + (id != null ? " " + id : "") + "}";
+    }
+}
@@ -0,0 +1,12 @@
+package gitgud.pfm.GUI.data;
+
+/**
+ * DataKind - The kinds of data DataStore versions separately, so a cached view
+ * can tell whether anything it shows changed while it was hidden
+ */
+public enum DataKind {
+    TRANSACTIONS,
+    WALLETS,
+    GOALS,
+    BUDGETS
+}
@@ -1,28 +1,53 @@
 package gitgud.pfm.GUI.data;
 
 import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.TransactionCriteria;
 import gitgud.pfm.Models.Goal;
 import gitgud.pfm.Models.Wallet;
 import gitgud.pfm.Models.Budget;
+import gitgud.pfm.Models.BudgetProgress;
 import gitgud.pfm.services.*;
+import javafx.application.Platform;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * GUI DataStore - Bridges GUI layer with actual database services
  * Provides unified access to Transaction, Goal, Wallet, and Budget data
+ *
+ * With -Dpfm.columnar=true, reports, summaries and budgets read TransactionColumns instead of
+ * the object snapshot and SpendingAggregates, which are then only loaded by views that need
+ * every Transaction object.
  */
 public class DataStore {
+    private static final boolean COLUMNAR = Boolean.getBoolean("pfm.columnar");
     private static DataStore instance;
     private final TransactionService transactionService;
     private final GoalService goalService;
     private final WalletService walletService;
     private final BudgetService budgetService;
     private final CategoryService categoryService;
+    private final BalanceEngine balanceEngine;
+    private volatile TransactionSnapshot transactionSnapshot;
+    private volatile SpendingAggregates spendingAggregates;
+    private volatile TransactionColumns transactionColumns;
+    // Write counter per DataKind, bumped with every change event published below
+    private final AtomicLongArray versions = new AtomicLongArray(DataKind.values().length);
+    private final DataChangeBus changeBus = new DataChangeBus(DataStore::dispatchOnFxThread);
+    // Events of the unit of work running on this thread, published only once it commits
+    private final ThreadLocal<List<DataChangeEvent<?>>> heldEvents = new ThreadLocal<>();
     
     private DataStore() {
         this.transactionService = new TransactionService();
@@ -30,6 +55,7 @@ public class DataStore {
         this.walletService = new WalletService();
         this.budgetService = new BudgetService();
         this.categoryService = new CategoryService();
+        this.balanceEngine = new BalanceEngine();
     }
     
     public static DataStore getInstance() {
@@ -39,43 +65,478 @@ public class DataStore {
         return instance;
     }
     
+    /**
+     * Combined write counter of the given kinds; it changes whenever any of them is written.
+     * Views compare it with the value they last rendered to skip needless reloads.
+     */
+    public long getVersion(DataKind... kinds) {
+        long version = 0;
+        for (DataKind kind : kinds) {
+            version += versions.get(kind.ordinal());
+        }
+        return version;
+    }
+    
+    /**
+     * Subscribe to typed change events of the given kinds (all kinds if none are given).
+     * Events are delivered on the FX thread in coalesced batches, see DataChangeBus.
+     */
+    public DataChangeBus.Subscription addChangeListener(Consumer<List<DataChangeEvent<?>>> listener, DataKind... kinds) {
+        return changeBus.subscribe(listener, kinds);
+    }
+    
+    private void changed(DataChangeEvent<?> event) {
+        List<DataChangeEvent<?>> held = heldEvents.get();
+        if (held != null) {
+            held.add(event);
+            return;
+        }
+        versions.incrementAndGet(event.getKind().ordinal());
+        changeBus.publish(event);
+    }
+    
+    /**
+     * Run several DataStore writes as one database transaction with a single commit,
+     * e.g. a transaction together with the wallet and goal balances it moves.
+     *
+     * Change events are held back until the commit. If any write fails, all of them are
+     * rolled back, the cached data they touched is reloaded, and false is returned.
+     * Nested calls join the outer unit. Synchronized so the lock order matches the
+     * transaction writers below (this store first, then the database writer).
+     */
+    public synchronized boolean runInTransaction(Runnable work) {
+        if (heldEvents.get() != null) {
+            work.run();
+            return true;
+        }
+        List<DataChangeEvent<?>> held = new ArrayList<>();
+        heldEvents.set(held);
+        try {
+            Database.getInstance().inTransaction(connection -> {
+                work.run();
+                return null;
+            });
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Error saving changes, rolled back: " + e.getMessage());
+            heldEvents.remove();
+            resyncAfterRollback(held);
+            return false;
+        } finally {
+            heldEvents.remove();
+        }
+        for (DataChangeEvent<?> event : held) {
+            changed(event);
+        }
+        return true;
+    }
+    
+    /**
+     * The writes of a rolled-back unit already patched the cached snapshot and aggregates;
+     * reload those and tell listeners that the kinds involved may have changed
+     */
+    private void resyncAfterRollback(List<DataChangeEvent<?>> held) {
+        EnumSet<DataKind> touched = EnumSet.noneOf(DataKind.class);
+        for (DataChangeEvent<?> event : held) {
+            touched.add(event.getKind());
+        }
+        for (DataKind kind : touched) {
+            if (kind == DataKind.TRANSACTIONS) {
+                invalidateTransactions();
+            } else {
+                changed(DataChangeEvent.reloaded(kind));
+            }
+        }
+    }
+    
+    /**
+     * Flush on the next FX pulse; without a running toolkit (CLI, tools) deliver right away
+     */
+    private static void dispatchOnFxThread(Runnable flush) {
+        try {
+            Platform.runLater(flush);
+        } catch (IllegalStateException e) {
+            flush.run();
+        }
+    }
+    
     // ============== Transaction Methods ==============
+    
+    /**
+     * Current transaction snapshot. Loaded from the database once and then kept
+     * up to date by addTransaction/updateTransaction/deleteTransaction, so callers
+     * never re-scan transaction_records just to render a view.
+     */
+    public TransactionSnapshot getTransactionSnapshot() {
+        TransactionSnapshot snapshot = transactionSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = transactionSnapshot;
+                if (snapshot == null) {
+                    snapshot = loadTransactionSnapshot(0);
+                    transactionSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+    
     public List<Transaction> getTransactions() {
+        return getTransactionSnapshot().getTransactions();
+    }
+    
+    /**
+     * Drop the cached snapshot so the next read reloads from the database.
+     * Only needed after writes that bypass DataStore (e.g. CLI services).
+     */
+    public synchronized void invalidateTransactions() {
+        TransactionSnapshot current = transactionSnapshot;
+        transactionSnapshot = current == null ? null : loadTransactionSnapshot(current.getVersion() + 1);
+        spendingAggregates = null;
+        transactionColumns = null;
+        changed(DataChangeEvent.reloaded(DataKind.TRANSACTIONS));
+    }
+    
+    /**
+     * Per-day/category/wallet totals, built once from the snapshot and then updated
+     * incrementally by every transaction write below. Charts and summaries read these
+     * instead of re-summing the transaction list.
+     */
+    public SpendingAggregates getSpendingAggregates() {
+        SpendingAggregates aggregates = spendingAggregates;
+        if (aggregates == null) {
+            synchronized (this) {
+                aggregates = spendingAggregates;
+                if (aggregates == null) {
+                    aggregates = SpendingAggregates.of(getTransactions());
+                    spendingAggregates = aggregates;
+                }
+            }
+        }
+        return aggregates;
+    }
+    
+    /**
+     * Columnar copy of every transaction, streamed from the database on first use and then
+     * replaced by the transaction writes below
+     */
+    public TransactionColumns getTransactionColumns() {
+        TransactionColumns columns = transactionColumns;
+        if (columns == null) {
+            synchronized (this) {
+                columns = transactionColumns;
+                if (columns == null) {
+                    columns = loadTransactionColumns();
+                    transactionColumns = columns;
+                }
+            }
+        }
+        return columns;
+    }
+
+    public boolean isColumnar() {
+        return COLUMNAR;
+    }
+
+    /**
+     * The totals store charts and summaries read: TransactionColumns when columnar, else SpendingAggregates
+     */
+    public SpendingTotals getSpendingTotals() {
+        return COLUMNAR ? getTransactionColumns() : getSpendingAggregates();
+    }
+
+    /**
+     * Every report total in one pass over the current transactions (see SpendingReport).
+     * A full pass over the history, so call it off the FX thread.
+     */
+    public SpendingReport getSpendingReport() {
+        return getSpendingTotals().report();
+    }
+
+    /**
+     * The newest transactions, newest first
+     */
+    public List<Transaction> getRecentTransactions(int limit) {
+        if (COLUMNAR) {
+            return getTransactionColumns().newest(limit);
+        }
+        List<Transaction> transactions = getTransactions();
+        return new ArrayList<>(transactions.subList(0, Math.min(limit, transactions.size())));
+    }
+
+    /**
+     * Every transaction in the category, newest first
+     */
+    public List<Transaction> getTransactionsInCategory(String categoryId) {
+        if (COLUMNAR) {
+            return getTransactionColumns().inCategory(categoryId);
+        }
+        return getTransactions().stream()
+            .filter(transaction -> categoryId.equals(transaction.getCategoryId()))
+            .collect(Collectors.toList());
+    }
+
+    private TransactionColumns loadTransactionColumns() {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        try {
+            transactionService.forEach(null, builder::add);
+        } catch (Exception e) {
+            System.err.println("Error loading transaction columns: " + e.getMessage());
+            return new TransactionColumns.Builder().build();
+        }
+        return builder.build();
+    }
+    
+    private TransactionSnapshot loadTransactionSnapshot(long version) {
         try {
-            return transactionService.readAll();
+            return TransactionSnapshot.of(version, transactionService.readAll());
         } catch (Exception e) {
             System.err.println("Error loading transactions: " + e.getMessage());
-            return new ArrayList<>();
+            return TransactionSnapshot.of(version, new ArrayList<>());
         }
     }
     
-    public void addTransaction(Transaction transaction) {
+    public synchronized void addTransaction(Transaction transaction) {
         try {
-            transactionService.create(transaction);
+            List<DataChangeEvent<?>> walletEvents = Database.getInstance().inTransaction(connection -> {
+                transactionService.create(transaction);
+                List<DataChangeEvent<?>> events = syncWalletBalances(List.of(transaction.getWalletId()));
+                events.addAll(goalContributionChanges(null, transaction));
+                return events;
+            });
+            if (transactionSnapshot != null) {
+                transactionSnapshot = transactionSnapshot.withAdded(transaction);
+            }
+            if (transactionColumns != null) {
+                transactionColumns = transactionColumns.withAdded(transaction);
+            }
+            if (spendingAggregates != null) {
+                spendingAggregates.add(transaction);
+            }
+            changed(DataChangeEvent.added(DataKind.TRANSACTIONS, transaction.getId(), transaction));
+            walletEvents.forEach(this::changed);
         } catch (Exception e) {
             System.err.println("Error adding transaction: " + e.getMessage());
         }
     }
     
-    public void updateTransaction(Transaction transaction) {
+    /**
+     * Insert a batch of transactions in one database transaction and merge them
+     * into the snapshot with a single copy.
+     */
+    public synchronized void addTransactions(Collection<Transaction> transactions) {
         try {
-            transactionService.update(transaction);
+            List<DataChangeEvent<?>> walletEvents = new ArrayList<>();
+            int inserted = Database.getInstance().inTransaction(connection -> {
+                int count = transactionService.createAll(transactions);
+                walletEvents.addAll(syncWalletBalances(
+                    transactions.stream().map(Transaction::getWalletId).collect(Collectors.toList())));
+                for (Transaction transaction : transactions) {
+                    walletEvents.addAll(goalContributionChanges(null, transaction));
+                }
+                return count;
+            });
+            if (inserted == transactions.size()) {
+                if (transactionSnapshot != null) {
+                    transactionSnapshot = transactionSnapshot.withAddedAll(transactions);
+                }
+                if (transactionColumns != null) {
+                    transactionColumns = transactionColumns.withAddedAll(transactions);
+                }
+                if (spendingAggregates != null) {
+                    spendingAggregates.addAll(transactions);
+                }
+                for (Transaction transaction : transactions) {
+                    changed(DataChangeEvent.added(DataKind.TRANSACTIONS, transaction.getId(), transaction));
+                }
+                walletEvents.forEach(this::changed);
+            }
+        } catch (Exception e) {
+            System.err.println("Error adding transactions: " + e.getMessage());
+        }
+    }
+    
+    public synchronized void updateTransaction(Transaction transaction) {
+        try {
+            // The previous amounts and wallet come from the committed row, not from the caller
+            Transaction previous = transactionService.read(transaction.getId());
+            List<DataChangeEvent<?>> walletEvents = Database.getInstance().inTransaction(connection -> {
+                transactionService.update(transaction);
+                List<String> walletIds = new ArrayList<>();
+                if (previous != null) {
+                    walletIds.add(previous.getWalletId());
+                }
+                walletIds.add(transaction.getWalletId());
+                List<DataChangeEvent<?>> events = syncWalletBalances(walletIds);
+                events.addAll(goalContributionChanges(previous, transaction));
+                return events;
+            });
+            if (transactionSnapshot != null) {
+                transactionSnapshot = transactionSnapshot.withUpdated(transaction);
+            }
+            if (transactionColumns != null) {
+                transactionColumns = transactionColumns.withUpdated(transaction);
+            }
+            if (spendingAggregates != null) {
+                if (previous != null) {
+                    spendingAggregates.remove(previous);
+                }
+                spendingAggregates.add(transaction);
+            }
+            changed(DataChangeEvent.updated(DataKind.TRANSACTIONS, transaction.getId(), previous, transaction));
+            walletEvents.forEach(this::changed);
         } catch (Exception e) {
             System.err.println("Error updating transaction: " + e.getMessage());
         }
     }
     
-    public void deleteTransaction(String id) {
+    public synchronized void deleteTransaction(String id) {
         try {
-            transactionService.delete(id);
+            Transaction previous = transactionService.read(id);
+            List<DataChangeEvent<?>> walletEvents = Database.getInstance().inTransaction(connection -> {
+                transactionService.delete(id);
+                if (previous == null) {
+                    return List.<DataChangeEvent<?>>of();
+                }
+                List<DataChangeEvent<?>> events = syncWalletBalances(List.of(previous.getWalletId()));
+                events.addAll(goalContributionChanges(previous, null));
+                return events;
+            });
+            if (transactionSnapshot != null) {
+                transactionSnapshot = transactionSnapshot.withRemoved(id);
+            }
+            if (transactionColumns != null) {
+                transactionColumns = transactionColumns.withRemoved(id);
+            }
+            if (spendingAggregates != null && previous != null) {
+                spendingAggregates.remove(previous);
+            }
+            changed(DataChangeEvent.removed(DataKind.TRANSACTIONS, id, previous));
+            walletEvents.forEach(this::changed);
         } catch (Exception e) {
             System.err.println("Error deleting transaction: " + e.getMessage());
         }
     }
     
+    /**
+     * Rewrite the stored balances of the given wallets from the ledger, in the current unit
+     * of work, and return change events for the wallets whose balance moved
+     */
+    private List<DataChangeEvent<?>> syncWalletBalances(Collection<String> walletIds) throws SQLException {
+        List<DataChangeEvent<?>> events = new ArrayList<>();
+        for (String walletId : new LinkedHashSet<>(walletIds)) {
+            Wallet previous = walletId != null ? walletService.read(walletId) : null;
+            if (previous == null) {
+                continue;
+            }
+            long balance = balanceEngine.syncStoredBalance(walletId);
+            if (balance != previous.getBalanceMinor()) {
+                Wallet current = new Wallet();
+                current.setId(previous.getId());
+                current.setName(previous.getName());
+                current.setColor(previous.getColor());
+                current.setBalanceMinor(balance);
+                events.add(DataChangeEvent.updated(DataKind.WALLETS, walletId, previous, current));
+            }
+        }
+        return events;
+    }
+    
+    /**
+     * Change events for the goals whose contributions moved when a transaction went from
+     * previous to current (either may be null). A goal's balance is computed from its linked
+     * transactions, so the new value is the stored goal shifted by the moved amount.
+     */
+    private List<DataChangeEvent<?>> goalContributionChanges(Transaction previous, Transaction current) {
+        Map<String, long[]> moved = new LinkedHashMap<>();
+        if (previous != null && previous.getGoalId() != null) {
+            long[] delta = moved.computeIfAbsent(previous.getGoalId(), id -> new long[2]);
+            delta[0] -= previous.getAmountMinor();
+            delta[1]--;
+        }
+        if (current != null && current.getGoalId() != null) {
+            long[] delta = moved.computeIfAbsent(current.getGoalId(), id -> new long[2]);
+            delta[0] += current.getAmountMinor();
+            delta[1]++;
+        }
+
+        List<DataChangeEvent<?>> events = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : moved.entrySet()) {
+            long[] delta = entry.getValue();
+            Goal before = delta[0] != 0 || delta[1] != 0 ? goalService.read(entry.getKey()) : null;
+            if (before == null) {
+                continue;
+            }
+            Goal after = new Goal();
+            after.setId(before.getId());
+            after.setName(before.getName());
+            after.setTargetMinor(before.getTargetMinor());
+            after.setDeadline(before.getDeadline());
+            after.setPriority(before.getPriority());
+            after.setCreateTime(before.getCreateTime());
+            after.setWalletId(before.getWalletId());
+            after.setBalanceMinor(before.getBalanceMinor() + delta[0]);
+            after.setTxCount(before.getTxCount() + (int) delta[1]);
+            after.setProgress(after.getTargetMinor() > 0
+                ? (after.getBalanceMinor() / (double) after.getTargetMinor()) * 100.0 : 0.0);
+            events.add(DataChangeEvent.updated(DataKind.GOALS, after.getId(), before, after));
+        }
+        return events;
+    }
+    
+    /**
+     * Check every stored wallet balance against the ledger in one pass, see BalanceEngine.reconcile()
+     *
+     * @param fix Also overwrite drifted balances with the ones derived from the ledger
+     * @return the report, or null if the check could not run
+     */
+    public BalanceReport reconcileBalances(boolean fix) {
+        try {
+            BalanceReport report = balanceEngine.reconcile(fix);
+            if (fix && !report.getDrifts().isEmpty()) {
+                changed(DataChangeEvent.reloaded(DataKind.WALLETS));
+            }
+            return report;
+        } catch (Exception e) {
+            System.err.println("Error reconciling balances: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * One page of the transactions matching the criteria, newest first, filtered in the database
+     */
+    public List<Transaction> findTransactions(TransactionCriteria criteria, int limit, int offset) {
+        return transactionService.findByCriteria(criteria, limit, offset);
+    }
+    
+    public int countTransactions(TransactionCriteria criteria) {
+        return transactionService.countByCriteria(criteria);
+    }
+    
+    /**
+     * Count the matching transactions, stopping at limit (0 for an exact count)
+     */
+    public int countTransactions(TransactionCriteria criteria, int limit) {
+        return transactionService.countByCriteria(criteria, limit);
+    }
+    
+    /**
+     * Keyset paging: the page after the given row (null for the first page), newest first
+     */
+    public List<Transaction> findTransactionPageAfter(TransactionCriteria criteria, Transaction last, int limit) {
+        return transactionService.findPageAfter(criteria, last, limit);
+    }
+    
+    /**
+     * Keyset paging: the page before the given row, newest first
+     */
+    public List<Transaction> findTransactionPageBefore(TransactionCriteria criteria, Transaction first, int limit) {
+        return transactionService.findPageBefore(criteria, first, limit);
+    }
+    
     public double getTotalIncome() {
         try {
-            return transactionService.getTotalIncome();
+            return getSpendingTotals().total(true);
         } catch (Exception e) {
             System.err.println("Error calculating total income: " + e.getMessage());
             return 0.0;
@@ -84,7 +545,7 @@ public class DataStore {
     
     public double getTotalExpenses() {
         try {
-            return transactionService.getTotalExpenses();
+            return getSpendingTotals().total(false);
         } catch (Exception e) {
             System.err.println("Error calculating total expenses: " + e.getMessage());
             return 0.0;
@@ -104,6 +565,7 @@ public class DataStore {
     public void addGoal(Goal goal) {
         try {
             goalService.create(goal);
+            changed(DataChangeEvent.added(DataKind.GOALS, goal.getId(), goal));
         } catch (Exception e) {
             System.err.println("Error adding goal: " + e.getMessage());
         }
@@ -111,7 +573,9 @@ public class DataStore {
     
     public void updateGoal(Goal goal) {
         try {
+            Goal previous = goalService.read(goal.getId());
             goalService.update(goal);
+            changed(DataChangeEvent.updated(DataKind.GOALS, goal.getId(), previous, goal));
         } catch (Exception e) {
             System.err.println("Error updating goal: " + e.getMessage());
         }
@@ -119,7 +583,9 @@ public class DataStore {
     
     public void deleteGoal(String id) {
         try {
+            Goal previous = goalService.read(id);
             goalService.delete(id);
+            changed(DataChangeEvent.removed(DataKind.GOALS, id, previous));
         } catch (Exception e) {
             System.err.println("Error deleting goal: " + e.getMessage());
         }
@@ -147,14 +613,42 @@ public class DataStore {
     public void addWallet(Wallet wallet) {
         try {
             walletService.create(wallet);
+            changed(DataChangeEvent.added(DataKind.WALLETS, wallet.getId(), wallet));
         } catch (Exception e) {
             System.err.println("Error adding wallet: " + e.getMessage());
         }
     }
     
+    /**
+     * Save a wallet's name and color; its balance stays whatever the ledger derives
+     */
     public void updateWallet(Wallet wallet) {
+        updateWallet(wallet, null);
+    }
+    
+    /**
+     * Save a wallet's name and color and, if newBalanceMinor is not null, set its balance by
+     * hand. A balance typed in becomes the new starting point for the ledger (see
+     * BalanceEngine.setBalance); the balance carried by the Wallet object is never written.
+     *
+     * @param newBalanceMinor Balance the user entered, in minor units, or null if the balance was not edited
+     */
+    public void updateWallet(Wallet wallet, Long newBalanceMinor) {
         try {
-            walletService.update(wallet);
+            Wallet previous = Database.getInstance().inTransaction(connection -> {
+                Wallet stored = walletService.read(wallet.getId());
+                if (stored == null) {
+                    throw new SQLException("Wallet not found: " + wallet.getId());
+                }
+                wallet.setBalanceMinor(stored.getBalanceMinor());
+                walletService.update(wallet);
+                if (newBalanceMinor != null) {
+                    balanceEngine.setBalance(wallet.getId(), newBalanceMinor);
+                    wallet.setBalanceMinor(newBalanceMinor);
+                }
+                return stored;
+            });
+            changed(DataChangeEvent.updated(DataKind.WALLETS, wallet.getId(), previous, wallet));
         } catch (Exception e) {
             System.err.println("Error updating wallet: " + e.getMessage());
         }
@@ -162,7 +656,9 @@ public class DataStore {
     
     public void deleteWallet(String id) {
         try {
+            Wallet previous = walletService.read(id);
             walletService.delete(id);
+            changed(DataChangeEvent.removed(DataKind.WALLETS, id, previous));
         } catch (Exception e) {
             System.err.println("Error deleting wallet: " + e.getMessage());
         }
@@ -178,6 +674,17 @@ public class DataStore {
         }
     }
     
+    /**
+     * Spending of every budget and budget category; summed over TransactionColumns when
+     * columnar, otherwise in one query (see BudgetService.computeAllBudgetProgress)
+     */
+    public Map<String, BudgetProgress> computeBudgetProgress() {
+        if (COLUMNAR) {
+            return budgetService.computeAllBudgetProgress(getTransactionColumns()::spent);
+        }
+        return budgetService.computeAllBudgetProgress();
+    }
+    
     public void addBudget(Budget budget) {
         try {
             budgetService.create(budget);
@@ -185,6 +692,7 @@ public class DataStore {
             if (budget.getCategoryId() != null) {
                 budgetService.addCategoryToBudget(budget.getId(), budget.getCategoryId());
             }
+            changed(DataChangeEvent.added(DataKind.BUDGETS, budget.getId(), budget));
         } catch (Exception e) {
             System.err.println("Error adding budget: " + e.getMessage());
         }
@@ -199,6 +707,7 @@ public class DataStore {
                     budgetService.addCategoryToBudget(budget.getId(), categoryId);
                 }
             }
+            changed(DataChangeEvent.added(DataKind.BUDGETS, budget.getId(), budget));
         } catch (Exception e) {
             System.err.println("Error adding budget with categories: " + e.getMessage());
         }
@@ -206,6 +715,8 @@ public class DataStore {
     
     public void updateBudget(Budget budget) {
         try {
+            Budget previous = budgetService.read(budget.getId());
+            
             // First, remove all existing category relationships for this budget
             budgetService.removeAllCategoriesFromBudget(budget.getId());
             
@@ -216,6 +727,7 @@ public class DataStore {
             if (budget.getCategoryId() != null) {
                 budgetService.addCategoryToBudget(budget.getId(), budget.getCategoryId());
             }
+            changed(DataChangeEvent.updated(DataKind.BUDGETS, budget.getId(), previous, budget));
         } catch (Exception e) {
             System.err.println("Error updating budget: " + e.getMessage());
         }
@@ -223,6 +735,8 @@ public class DataStore {
     
     public void updateBudgetWithCategories(Budget budget, List<String> categoryIds) {
         try {
+            Budget previous = budgetService.read(budget.getId());
+            
             // First, remove all existing category relationships for this budget
             budgetService.removeAllCategoriesFromBudget(budget.getId());
             
@@ -235,6 +749,7 @@ public class DataStore {
                     budgetService.addCategoryToBudget(budget.getId(), categoryId);
                 }
             }
+            changed(DataChangeEvent.updated(DataKind.BUDGETS, budget.getId(), previous, budget));
         } catch (Exception e) {
             System.err.println("Error updating budget with categories: " + e.getMessage());
         }
@@ -242,7 +757,9 @@ public class DataStore {
     
     public void deleteBudget(String id) {
         try {
+            Budget previous = budgetService.read(id);
             budgetService.delete(id);
+            changed(DataChangeEvent.removed(DataKind.BUDGETS, id, previous));
         } catch (Exception e) {
             System.err.println("Error deleting budget: " + e.getMessage());
         }
@@ -252,63 +769,4 @@ public class DataStore {
     public CategoryService getCategoryService() {
         return categoryService;
     }
-    
-    // ============== Refresh Listeners ==============
-    private final java.util.List<Runnable> walletRefreshListeners = new java.util.ArrayList<>();
-    private final java.util.List<Runnable> goalRefreshListeners = new java.util.ArrayList<>();
-    private final java.util.List<Runnable> budgetRefreshListeners = new java.util.ArrayList<>();
-    
-    public void addWalletRefreshListener(Runnable listener) {
-        walletRefreshListeners.add(listener);
-    }
-    
-    public void removeWalletRefreshListener(Runnable listener) {
-        walletRefreshListeners.remove(listener);
-    }
-    
-    public void notifyWalletRefresh() {
-        for (Runnable listener : walletRefreshListeners) {
-            try {
-                listener.run();
-            } catch (Exception e) {
-                System.err.println("Error in wallet refresh listener: " + e.getMessage());
-            }
-        }
-    }
-    
-    public void addGoalRefreshListener(Runnable listener) {
-        goalRefreshListeners.add(listener);
-    }
-    
-    public void removeGoalRefreshListener(Runnable listener) {
-        goalRefreshListeners.remove(listener);
-    }
-    
-    public void notifyGoalRefresh() {
-        for (Runnable listener : goalRefreshListeners) {
-            try {
-                listener.run();
-            } catch (Exception e) {
-                System.err.println("Error in goal refresh listener: " + e.getMessage());
-            }
-        }
-    }
-    
-    public void addBudgetRefreshListener(Runnable listener) {
-        budgetRefreshListeners.add(listener);
-    }
-    
-    public void removeBudgetRefreshListener(Runnable listener) {
-        budgetRefreshListeners.remove(listener);
-    }
-    
-    public void notifyBudgetRefresh() {
-        for (Runnable listener : budgetRefreshListeners) {
-            try {
-                listener.run();
-            } catch (Exception e) {
-                System.err.println("Error in budget refresh listener: " + e.getMessage());
-            }
-        }
-    }
 }
@@ -0,0 +1,247 @@
+package gitgud.pfm.GUI.data;
+
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.utils.DateTimeUtils;
+import gitgud.pfm.utils.Money;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * SpendingAggregates - Running totals of transaction amounts per
+ * (day, walletId, categoryId, income), kept up to date by DataStore on every write.
+ *
+ * Days are epoch-day keys (Transaction.getCreateEpochDay()) in a sorted map, so a date-range
+ * query touches one bucket per day in the range instead of every transaction. Transactions
+ * whose createTime could not be parsed are counted in all-time totals only. Cells add minor
+ * units (see Money), so totals are exact; they are converted to major units on the way out.
+ */
+public final class SpendingAggregates implements SpendingTotals {
+    private static final long UNDATED = DateTimeUtils.UNKNOWN;
+
+    private final NavigableMap<Long, Map<CellKey, Cell>> days = new TreeMap<>();
+
+    private static final class CellKey {
+        private final String walletId;
+        private final String categoryId;
+        private final boolean income;
+
+        private CellKey(String walletId, String categoryId, boolean income) {
+            this.walletId = walletId;
+            this.categoryId = categoryId;
+            this.income = income;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CellKey other)) return false;
+            return income == other.income
+                && Objects.equals(walletId, other.walletId)
+                && Objects.equals(categoryId, other.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(walletId, categoryId, income);
+        }
+    }
+
+    private static final class Cell {
+        private long amount; // minor units
+        private int count;
+    }
+
+    SpendingAggregates() {
+    }
+
+    /**
+     * Build the aggregates with one pass over the given transactions
+     */
+    static SpendingAggregates of(Collection<Transaction> transactions) {
+        SpendingAggregates aggregates = new SpendingAggregates();
+        for (Transaction transaction : transactions) {
+            aggregates.apply(transaction, 1);
+        }
+        return aggregates;
+    }
+
+    synchronized void add(Transaction transaction) {
+        apply(transaction, 1);
+    }
+
+    synchronized void addAll(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            apply(transaction, 1);
+        }
+    }
+
+    synchronized void remove(Transaction transaction) {
+        apply(transaction, -1);
+    }
+
+    private void apply(Transaction transaction, int sign) {
+        long day = transaction.getCreateEpochDay();
+        CellKey key = new CellKey(transaction.getWalletId(), transaction.getCategoryId(), transaction.getIncome() > 0);
+        Map<CellKey, Cell> cells = days.computeIfAbsent(day, d -> new HashMap<>());
+        Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+        cell.amount += sign * transaction.getAmountMinor();
+        cell.count += sign;
+        // Drop empty cells so a removed day or category does not linger as a zero total
+        if (cell.count <= 0) {
+            cells.remove(key);
+            if (cells.isEmpty()) {
+                days.remove(day);
+            }
+        }
+    }
+
+    // ============== Queries ==============
+
+    /**
+     * All-time total of income (true) or expense (false) amounts
+     */
+    @Override
+    public synchronized double total(boolean income) {
+        long total = 0;
+        for (Map<CellKey, Cell> cells : days.values()) {
+            for (Map.Entry<CellKey, Cell> entry : cells.entrySet()) {
+                if (entry.getKey().income == income) {
+                    total += entry.getValue().amount;
+                }
+            }
+        }
+        return Money.toMajor(total);
+    }
+
+    /**
+     * Totals per categoryId between two dates (inclusive; null for open-ended)
+     * @param walletId Only this wallet, or null for all wallets
+     */
+    @Override
+    public synchronized Map<String, Double> totalsByCategory(LocalDate from, LocalDate to, boolean income, String walletId) {
+        Map<String, Long> sums = new HashMap<>();
+        for (Map<CellKey, Cell> cells : range(from, to).values()) {
+            for (Map.Entry<CellKey, Cell> entry : cells.entrySet()) {
+                CellKey key = entry.getKey();
+                if (key.income == income && (walletId == null || walletId.equals(key.walletId))) {
+                    sums.merge(key.categoryId, entry.getValue().amount, Long::sum);
+                }
+            }
+        }
+        Map<String, Double> totals = new HashMap<>();
+        sums.forEach((categoryId, sum) -> totals.put(categoryId, Money.toMajor(sum)));
+        return totals;
+    }
+
+    /**
+     * Totals per day between two dates (inclusive). Days without transactions are absent.
+     */
+    @Override
+    public synchronized Map<LocalDate, Double> totalsByDay(LocalDate from, LocalDate to, boolean income) {
+        Map<LocalDate, Double> totals = new TreeMap<>();
+        for (Map.Entry<Long, Map<CellKey, Cell>> day : range(from, to).entrySet()) {
+            long sum = sumCells(day.getValue(), income);
+            if (sum != 0) {
+                totals.put(LocalDate.ofEpochDay(day.getKey()), Money.toMajor(sum));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Totals per month between two dates (inclusive). Months without transactions are absent.
+     */
+    @Override
+    public synchronized Map<YearMonth, Double> totalsByMonth(LocalDate from, LocalDate to, boolean income) {
+        Map<YearMonth, Long> sums = new TreeMap<>();
+        for (Map.Entry<Long, Map<CellKey, Cell>> day : range(from, to).entrySet()) {
+            long sum = sumCells(day.getValue(), income);
+            if (sum != 0) {
+                sums.merge(YearMonth.from(LocalDate.ofEpochDay(day.getKey())), sum, Long::sum);
+            }
+        }
+        Map<YearMonth, Double> totals = new TreeMap<>();
+        sums.forEach((month, sum) -> totals.put(month, Money.toMajor(sum)));
+        return totals;
+    }
+
+    /**
+     * Report totals from the cells, which are already summed per day, so one sequential walk
+     * is enough here; TransactionColumns splits its row scan across cores instead
+     */
+    @Override
+    public synchronized SpendingReport report() {
+        NavigableMap<Long, Map<CellKey, Cell>> dated = days.tailMap(UNDATED, false);
+        long[] dayKeys = new long[dated.size()];
+        long[] dayIncome = new long[dayKeys.length];
+        long[] dayExpense = new long[dayKeys.length];
+        // {income, expense} per categoryId and per walletId
+        Map<String, long[]> categories = new HashMap<>();
+        Map<String, long[]> wallets = new HashMap<>();
+        int index = 0;
+        for (Map.Entry<Long, Map<CellKey, Cell>> day : days.entrySet()) {
+            boolean isDated = day.getKey() != UNDATED;
+            if (isDated) {
+                dayKeys[index] = day.getKey();
+            }
+            for (Map.Entry<CellKey, Cell> entry : day.getValue().entrySet()) {
+                CellKey key = entry.getKey();
+                long amount = entry.getValue().amount;
+                int side = key.income ? 0 : 1;
+                categories.computeIfAbsent(key.categoryId, id -> new long[2])[side] += amount;
+                wallets.computeIfAbsent(key.walletId, id -> new long[2])[side] += amount;
+                if (isDated) {
+                    (key.income ? dayIncome : dayExpense)[index] += amount;
+                }
+            }
+            if (isDated) {
+                index++;
+            }
+        }
+
+        String[] categoryIds = categories.keySet().toArray(new String[0]);
+        String[] walletIds = wallets.keySet().toArray(new String[0]);
+        return new SpendingReport(dayKeys, dayIncome, dayExpense,
+            categoryIds, side(categories, categoryIds, 0), side(categories, categoryIds, 1),
+            walletIds, side(wallets, walletIds, 0), side(wallets, walletIds, 1));
+    }
+
+    private static long[] side(Map<String, long[]> sums, String[] keys, int side) {
+        long[] values = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = sums.get(keys[i])[side];
+        }
+        return values;
+    }
+
+    private static long sumCells(Map<CellKey, Cell> cells, boolean income) {
+        long sum = 0;
+        for (Map.Entry<CellKey, Cell> entry : cells.entrySet()) {
+            if (entry.getKey().income == income) {
+                sum += entry.getValue().amount;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Dated buckets within [from, to]; either bound may be null
+     */
+    private NavigableMap<Long, Map<CellKey, Cell>> range(LocalDate from, LocalDate to) {
+        // UNDATED (Long.MIN_VALUE) sorts before every date, so start just after it when there is no lower bound
+        NavigableMap<Long, Map<CellKey, Cell>> dated = days.tailMap(UNDATED, false);
+        if (from != null) {
+            dated = dated.tailMap(from.toEpochDay(), true);
+        }
+        if (to != null) {
+            dated = dated.headMap(to.toEpochDay(), true);
+        }
+        return dated;
+    }
+}
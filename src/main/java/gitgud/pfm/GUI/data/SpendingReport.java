@@ -0,0 +1,143 @@
+package gitgud.pfm.GUI.data;
+
+import gitgud.pfm.utils.Money;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SpendingReport - Every total a report screen draws, from one pass over the transactions
+ *
+ * Built by SpendingTotals.report(): income and expense totals per day, per categoryId and per
+ * walletId, all kept as long minor units in primitive arrays. Months, date ranges and the
+ * all-time totals are derived from those on demand, so each chart is a small read instead of
+ * another pass. The maps it returns are converted to major units only on the way out.
+ * Undated transactions count in total(), totalsByCategory() and totalsByWallet() only.
+ *
+ * Immutable once built, so it can be computed in the background and read on the FX thread.
+ */
+public final class SpendingReport {
+    private final long[] days;
+    private final long[] dayIncome;
+    private final long[] dayExpense;
+    private final String[] categoryIds;
+    private final long[] categoryIncome;
+    private final long[] categoryExpense;
+    private final String[] walletIds;
+    private final long[] walletIncome;
+    private final long[] walletExpense;
+
+    /**
+     * @param days        Distinct epoch days in ascending order; dayIncome/dayExpense hold their sums
+     * @param categoryIds Category of each categoryIncome/categoryExpense slot (null for uncategorized)
+     * @param walletIds   Wallet of each walletIncome/walletExpense slot (null for no wallet)
+     */
+    SpendingReport(long[] days, long[] dayIncome, long[] dayExpense,
+                   String[] categoryIds, long[] categoryIncome, long[] categoryExpense,
+                   String[] walletIds, long[] walletIncome, long[] walletExpense) {
+        this.days = days;
+        this.dayIncome = dayIncome;
+        this.dayExpense = dayExpense;
+        this.categoryIds = categoryIds;
+        this.categoryIncome = categoryIncome;
+        this.categoryExpense = categoryExpense;
+        this.walletIds = walletIds;
+        this.walletIncome = walletIncome;
+        this.walletExpense = walletExpense;
+    }
+
+    /**
+     * All-time total of income (true) or expense (false) amounts
+     */
+    public double total(boolean income) {
+        long total = 0;
+        for (long sum : income ? categoryIncome : categoryExpense) {
+            total += sum;
+        }
+        return Money.toMajor(total);
+    }
+
+    /**
+     * All-time totals per categoryId; categories without transactions of that kind are absent
+     */
+    public Map<String, Double> totalsByCategory(boolean income) {
+        return byKey(categoryIds, income ? categoryIncome : categoryExpense);
+    }
+
+    /**
+     * All-time totals per walletId; wallets without transactions of that kind are absent
+     */
+    public Map<String, Double> totalsByWallet(boolean income) {
+        return byKey(walletIds, income ? walletIncome : walletExpense);
+    }
+
+    /**
+     * Totals per day between two dates (inclusive; null for open-ended). Days without
+     * transactions are absent.
+     */
+    public Map<LocalDate, Double> totalsByDay(LocalDate from, LocalDate to, boolean income) {
+        long[] sums = income ? dayIncome : dayExpense;
+        Map<LocalDate, Double> totals = new TreeMap<>();
+        for (int i = fromIndex(from), end = toIndex(to); i < end; i++) {
+            if (sums[i] != 0) {
+                totals.put(LocalDate.ofEpochDay(days[i]), Money.toMajor(sums[i]));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Totals per month between two dates (inclusive; null for open-ended). Months without
+     * transactions are absent.
+     */
+    public Map<YearMonth, Double> totalsByMonth(LocalDate from, LocalDate to, boolean income) {
+        long[] sums = income ? dayIncome : dayExpense;
+        Map<YearMonth, Double> totals = new TreeMap<>();
+        YearMonth month = null;
+        long sum = 0;
+        for (int i = fromIndex(from), end = toIndex(to); i < end; i++) {
+            YearMonth dayMonth = YearMonth.from(LocalDate.ofEpochDay(days[i]));
+            if (!dayMonth.equals(month)) {
+                if (sum != 0) {
+                    totals.put(month, Money.toMajor(sum));
+                }
+                month = dayMonth;
+                sum = 0;
+            }
+            sum += sums[i];
+        }
+        if (sum != 0) {
+            totals.put(month, Money.toMajor(sum));
+        }
+        return totals;
+    }
+
+    private static Map<String, Double> byKey(String[] keys, long[] sums) {
+        Map<String, Double> totals = new HashMap<>();
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (sums[slot] != 0) {
+                totals.put(keys[slot], Money.toMajor(sums[slot]));
+            }
+        }
+        return totals;
+    }
+
+    private int fromIndex(LocalDate from) {
+        return from == null ? 0 : lowerBound(from.toEpochDay());
+    }
+
+    private int toIndex(LocalDate to) {
+        return to == null ? days.length : lowerBound(to.toEpochDay() + 1);
+    }
+
+    /**
+     * Index of the first day on or after the given one
+     */
+    private int lowerBound(long day) {
+        int index = Arrays.binarySearch(days, day);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,158 @@
+package gitgud.pfm.GUI.data;
+
+import gitgud.pfm.utils.DateTimeUtils;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SpendingReportTask - Fork-join pass over the TransactionColumns arrays behind
+ * TransactionColumns.report()
+ *
+ * The row range is split in halves until it is at most LEAF_ROWS long. Each leaf adds its
+ * rows into its own primitive accumulators (long[] per category and wallet code, and one
+ * entry per distinct day), so workers share nothing while they scan. Halves are merged
+ * pairwise on the way back up: category and wallet sums are added slot by slot, and because
+ * rows are sorted by createEpoch the left half's days all come before the right half's, so
+ * the day lists are concatenated (joining the one day that may straddle the split).
+ */
+final class SpendingReportTask extends RecursiveTask<SpendingReportTask.Partial> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Rows a worker scans without splitting further
+     */
+    static final int LEAF_ROWS = 1 << 16;
+    private static final long UNDATED = DateTimeUtils.UNKNOWN;
+
+    private final long[] createEpochs;
+    private final long[] amounts;
+    private final int[] categories;
+    private final int[] wallets;
+    private final BitSet income;
+    private final int categoryCount;
+    private final int walletCount;
+    private final int from;
+    private final int to;
+
+    /**
+     * @param categoryCount Number of category codes; code NONE (-1) goes in slot 0, code c in c + 1
+     * @param walletCount   Number of wallet codes, slotted the same way
+     */
+    SpendingReportTask(long[] createEpochs, long[] amounts, int[] categories, int[] wallets, BitSet income,
+                       int categoryCount, int walletCount, int from, int to) {
+        this.createEpochs = createEpochs;
+        this.amounts = amounts;
+        this.categories = categories;
+        this.wallets = wallets;
+        this.income = income;
+        this.categoryCount = categoryCount;
+        this.walletCount = walletCount;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected Partial compute() {
+        if (to - from <= LEAF_ROWS) {
+            return scan();
+        }
+        int middle = (from + to) >>> 1;
+        SpendingReportTask left = new SpendingReportTask(createEpochs, amounts, categories, wallets, income,
+            categoryCount, walletCount, from, middle);
+        SpendingReportTask right = new SpendingReportTask(createEpochs, amounts, categories, wallets, income,
+            categoryCount, walletCount, middle, to);
+        left.fork();
+        Partial rightPartial = right.compute();
+        return left.join().merge(rightPartial);
+    }
+
+    private Partial scan() {
+        Partial partial = new Partial(categoryCount + 1, walletCount + 1, 16);
+        long day = UNDATED;
+        for (int row = from; row < to; row++) {
+            long amount = amounts[row];
+            boolean isIncome = income.get(row);
+            if (isIncome) {
+                partial.categoryIncome[categories[row] + 1] += amount;
+                partial.walletIncome[wallets[row] + 1] += amount;
+            } else {
+                partial.categoryExpense[categories[row] + 1] += amount;
+                partial.walletExpense[wallets[row] + 1] += amount;
+            }
+            long epoch = createEpochs[row];
+            if (epoch == UNDATED) {
+                continue;
+            }
+            long rowDay = DateTimeUtils.toEpochDay(epoch);
+            if (rowDay != day) {
+                partial.addDay(rowDay);
+                day = rowDay;
+            }
+            if (isIncome) {
+                partial.dayIncome[partial.dayCount - 1] += amount;
+            } else {
+                partial.dayExpense[partial.dayCount - 1] += amount;
+            }
+        }
+        return partial;
+    }
+
+    /**
+     * Sums of one row range, in minor units
+     */
+    static final class Partial {
+        final long[] categoryIncome;
+        final long[] categoryExpense;
+        final long[] walletIncome;
+        final long[] walletExpense;
+        long[] days;
+        long[] dayIncome;
+        long[] dayExpense;
+        int dayCount;
+
+        private Partial(int categorySlots, int walletSlots, int dayCapacity) {
+            categoryIncome = new long[categorySlots];
+            categoryExpense = new long[categorySlots];
+            walletIncome = new long[walletSlots];
+            walletExpense = new long[walletSlots];
+            days = new long[dayCapacity];
+            dayIncome = new long[dayCapacity];
+            dayExpense = new long[dayCapacity];
+        }
+
+        private void addDay(long day) {
+            if (dayCount == days.length) {
+                int capacity = Math.max(16, dayCount * 2);
+                days = Arrays.copyOf(days, capacity);
+                dayIncome = Arrays.copyOf(dayIncome, capacity);
+                dayExpense = Arrays.copyOf(dayExpense, capacity);
+            }
+            days[dayCount++] = day;
+        }
+
+        /**
+         * This range followed by the next one; modifies and returns this
+         */
+        private Partial merge(Partial next) {
+            add(categoryIncome, next.categoryIncome);
+            add(categoryExpense, next.categoryExpense);
+            add(walletIncome, next.walletIncome);
+            add(walletExpense, next.walletExpense);
+            for (int i = 0; i < next.dayCount; i++) {
+                if (i > 0 || dayCount == 0 || days[dayCount - 1] != next.days[i]) {
+                    addDay(next.days[i]);
+                }
+                dayIncome[dayCount - 1] += next.dayIncome[i];
+                dayExpense[dayCount - 1] += next.dayExpense[i];
+            }
+            return this;
+        }
+
+        private static void add(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+    }
+}
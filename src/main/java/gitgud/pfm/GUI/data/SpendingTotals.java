@@ -0,0 +1,41 @@
+package gitgud.pfm.GUI.data;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * SpendingTotals - Transaction totals read by the charts and summary cards
+ *
+ * Implemented by SpendingAggregates (running per-day buckets kept next to the object snapshot)
+ * and TransactionColumns (scans over primitive columns). DataStore.getSpendingTotals() returns
+ * whichever store is enabled. Undated transactions count in total() only.
+ */
+public interface SpendingTotals {
+
+    /**
+     * All-time total of income (true) or expense (false) amounts
+     */
+    double total(boolean income);
+
+    /**
+     * Totals per categoryId between two dates (inclusive; null for open-ended)
+     * @param walletId Only this wallet, or null for all wallets
+     */
+    Map<String, Double> totalsByCategory(LocalDate from, LocalDate to, boolean income, String walletId);
+
+    /**
+     * Totals per day between two dates (inclusive). Days without transactions are absent.
+     */
+    Map<LocalDate, Double> totalsByDay(LocalDate from, LocalDate to, boolean income);
+
+    /**
+     * Totals per month between two dates (inclusive). Months without transactions are absent.
+     */
+    Map<YearMonth, Double> totalsByMonth(LocalDate from, LocalDate to, boolean income);
+
+    /**
+     * Totals per day, category and wallet in one pass, for screens that draw several charts
+     */
+    SpendingReport report();
+}
@@ -0,0 +1,723 @@
+package gitgud.pfm.GUI.data;
+
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.utils.DateTimeUtils;
+import gitgud.pfm.utils.Money;
+import java.lang.reflect.Array;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * TransactionColumns - Compact column-per-field copy of every transaction
+ *
+ * Instead of one Transaction object per row (six Strings and two doubles), each field is a
+ * primitive array indexed by row: createEpoch in a long[], the amount in a long[] of minor units,
+ * category, wallet and goal ids as int codes into small dictionaries, the income flag as one
+ * bit of a BitSet, and names deduplicated so a repeated name is one shared String. Only the
+ * ids stay one String per row. createTime is rebuilt from createEpoch; the few values not in
+ * "yyyy-MM-dd HH:mm:ss" form are kept as written.
+ *
+ * Rows are sorted by createEpoch ascending (undated rows first), so a date range is a binary
+ * search plus a scan over contiguous array slices. Like TransactionSnapshot the arrays are
+ * never modified after build(); DataStore swaps in a new copy on every write. A copy shares what
+ * the write leaves alone: the dictionaries and createTimes until a row adds to them, and the
+ * name pool and id lookup of the load it came from (see Lookup).
+ */
+public final class TransactionColumns implements SpendingTotals {
+    private static final long UNDATED = DateTimeUtils.UNKNOWN;
+    private static final int NONE = -1;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final int size;
+    private final String[] ids;
+    private final String[] names;
+    private final long[] createEpochs;
+    private final long[] amounts;
+    private final int[] categories;
+    private final int[] wallets;
+    private final int[] goals;
+    private final BitSet income;
+    // createTime of the rows it cannot be rebuilt for from createEpoch, by transaction id
+    private final Map<String, String> createTimes;
+    private final Dictionary categoryIds;
+    private final Dictionary walletIds;
+    private final Dictionary goalIds;
+    private final Lookup lookup;
+
+    private TransactionColumns(int size, String[] ids, String[] names, long[] createEpochs, long[] amounts,
+                               int[] categories, int[] wallets, int[] goals, BitSet income,
+                               Map<String, String> createTimes, Dictionary categoryIds,
+                               Dictionary walletIds, Dictionary goalIds, Lookup lookup) {
+        this.size = size;
+        this.ids = ids;
+        this.names = names;
+        this.createEpochs = createEpochs;
+        this.amounts = amounts;
+        this.categories = categories;
+        this.wallets = wallets;
+        this.goals = goals;
+        this.income = income;
+        this.createTimes = createTimes;
+        this.categoryIds = categoryIds.freeze();
+        this.walletIds = walletIds.freeze();
+        this.goalIds = goalIds.freeze();
+        this.lookup = lookup;
+    }
+
+    /**
+     * Collects rows in createEpoch order (oldest first, undated rows first) and builds the columns
+     */
+    static final class Builder {
+        private int size;
+        private String[] ids;
+        private String[] names;
+        private long[] createEpochs;
+        private long[] amounts;
+        private int[] categories;
+        private int[] wallets;
+        private int[] goals;
+        private final BitSet income = new BitSet();
+        private Map<String, String> createTimes;
+        private boolean ownsCreateTimes;
+        private Dictionary categoryIds;
+        private Dictionary walletIds;
+        private Dictionary goalIds;
+        private final Lookup lookup;
+        private long lastEpoch = UNDATED;
+
+        Builder() {
+            this(16, new HashMap<>(), true, new Dictionary(), new Dictionary(), new Dictionary(), new Lookup());
+        }
+
+        /**
+         * Builder for a copy of the given columns. It starts from their dictionaries and createTimes
+         * and copies one only when a row adds to it, so the codes of copied rows stay valid.
+         */
+        private Builder(TransactionColumns source, int capacity) {
+            this(capacity, source.createTimes, false, source.categoryIds, source.walletIds, source.goalIds,
+                source.lookup);
+        }
+
+        private Builder(int capacity, Map<String, String> createTimes, boolean ownsCreateTimes,
+                        Dictionary categoryIds, Dictionary walletIds, Dictionary goalIds, Lookup lookup) {
+            int initial = Math.max(16, capacity);
+            this.ids = new String[initial];
+            this.names = new String[initial];
+            this.createEpochs = new long[initial];
+            this.amounts = new long[initial];
+            this.categories = new int[initial];
+            this.wallets = new int[initial];
+            this.goals = new int[initial];
+            this.createTimes = createTimes;
+            this.ownsCreateTimes = ownsCreateTimes;
+            this.categoryIds = categoryIds;
+            this.walletIds = walletIds;
+            this.goalIds = goalIds;
+            this.lookup = lookup;
+        }
+
+        /**
+         * Append a transaction; it must not be older than the previous row
+         */
+        Builder add(Transaction transaction) {
+            long epoch = transaction.getCreateEpoch();
+            if (epoch < lastEpoch) {
+                throw new IllegalArgumentException("Rows must be added in createEpoch order");
+            }
+            int row = nextRow(epoch);
+            String id = transaction.getId();
+            ids[row] = id;
+            names[row] = lookup.name(transaction.getName());
+            amounts[row] = transaction.getAmountMinor();
+            categoryIds = categoryIds.toAdd(transaction.getCategoryId());
+            categories[row] = categoryIds.code(transaction.getCategoryId());
+            walletIds = walletIds.toAdd(transaction.getWalletId());
+            wallets[row] = walletIds.code(transaction.getWalletId());
+            goalIds = goalIds.toAdd(transaction.getGoalId());
+            goals[row] = goalIds.code(transaction.getGoalId());
+            if (transaction.getIncome() > 0) {
+                income.set(row);
+            }
+            String createTime = transaction.getCreateTime();
+            if (!isRebuilt(createTime, epoch)) {
+                ownCreateTimes().put(id, createTime);
+            } else if (createTimes.containsKey(id)) {
+                ownCreateTimes().remove(id);
+            }
+            lookup.put(id, epoch);
+            return this;
+        }
+
+        private Map<String, String> ownCreateTimes() {
+            if (!ownsCreateTimes) {
+                createTimes = new HashMap<>(createTimes);
+                ownsCreateTimes = true;
+            }
+            return createTimes;
+        }
+
+        /**
+         * Append row `row` of source as it is
+         */
+        private void copy(TransactionColumns source, int row) {
+            int to = nextRow(source.createEpochs[row]);
+            ids[to] = source.ids[row];
+            names[to] = source.names[row];
+            amounts[to] = source.amounts[row];
+            categories[to] = source.categories[row];
+            wallets[to] = source.wallets[row];
+            goals[to] = source.goals[row];
+            if (source.income.get(row)) {
+                income.set(to);
+            }
+        }
+
+        private int nextRow(long epoch) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                createEpochs = Arrays.copyOf(createEpochs, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                wallets = Arrays.copyOf(wallets, capacity);
+                goals = Arrays.copyOf(goals, capacity);
+            }
+            createEpochs[size] = epoch;
+            lastEpoch = epoch;
+            return size++;
+        }
+
+        TransactionColumns build() {
+            return new TransactionColumns(size, Arrays.copyOf(ids, size), Arrays.copyOf(names, size),
+                Arrays.copyOf(createEpochs, size), Arrays.copyOf(amounts, size), Arrays.copyOf(categories, size),
+                Arrays.copyOf(wallets, size), Arrays.copyOf(goals, size), income, createTimes,
+                categoryIds, walletIds, goalIds, lookup);
+        }
+    }
+
+    /**
+     * Lookups only writes use, shared by every copy of one load: the name pool, so a name repeated
+     * across writes is still one String, and each id's createEpoch, so a write finds the row of an
+     * id with a binary search. DataStore makes one write at a time and readers never touch them.
+     * The epochs are built on the first lookup; they describe the newest copy, so a lookup in an
+     * older one that misses falls back to comparing every id.
+     */
+    private static final class Lookup {
+        private final Map<String, String> names = new HashMap<>();
+        private Map<String, Long> epochs;
+
+        private String name(String name) {
+            return name == null ? null : names.computeIfAbsent(name, n -> n);
+        }
+
+        private void put(String id, long epoch) {
+            if (epochs != null && id != null) {
+                epochs.put(id, epoch);
+            }
+        }
+
+        private void remove(String id) {
+            if (epochs != null) {
+                epochs.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Append-only mapping between id strings and dense int codes; null maps to NONE
+     */
+    private static final class Dictionary {
+        private final List<String> values;
+        private final Map<String, Integer> codes;
+        // Set once columns use it; a new value then goes into a copy, so codes and size() never
+        // change under a reader
+        private boolean frozen;
+
+        private Dictionary() {
+            this(new ArrayList<>(), new HashMap<>());
+        }
+
+        private Dictionary(List<String> values, Map<String, Integer> codes) {
+            this.values = values;
+            this.codes = codes;
+        }
+
+        private Dictionary copy() {
+            return new Dictionary(new ArrayList<>(values), new HashMap<>(codes));
+        }
+
+        private Dictionary freeze() {
+            frozen = true;
+            return this;
+        }
+
+        /**
+         * This dictionary if code(value) leaves it as it is or it is not frozen, else a copy to add it to
+         */
+        private Dictionary toAdd(String value) {
+            return frozen && value != null && !codes.containsKey(value) ? copy() : this;
+        }
+
+        /**
+         * Code of the value, adding it if it is new (dictionaries that are not frozen only)
+         */
+        private int code(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        /**
+         * Code of the value, or NONE if no row has it
+         */
+        private int find(String value) {
+            Integer code = value == null ? null : codes.get(value);
+            return code == null ? NONE : code;
+        }
+
+        private String value(int code) {
+            return code == NONE ? null : values.get(code);
+        }
+
+        private int size() {
+            return values.size();
+        }
+    }
+
+    private static boolean isRebuilt(String createTime, long epoch) {
+        return epoch != UNDATED && createTime != null && createTime.length() == 19
+            && createTime.charAt(10) == ' ' && createTime.charAt(13) == ':' && createTime.charAt(16) == ':';
+    }
+
+    // ============== Copy-on-write updates ==============
+
+    /**
+     * New columns with the transaction inserted at its sorted position (after rows of the same time)
+     */
+    TransactionColumns withAdded(Transaction transaction) {
+        int at = lowerBound(transaction.getCreateEpoch() + 1);
+        // Encode the row in a one-row builder (it copies a dictionary only if the row adds to it),
+        // then splice it in
+        Builder row = new Builder(this, 1).add(transaction);
+        String[] nextIds = splice(ids, size, at, true);
+        String[] nextNames = splice(names, size, at, true);
+        long[] nextEpochs = splice(createEpochs, size, at, true);
+        long[] nextAmounts = splice(amounts, size, at, true);
+        int[] nextCategories = splice(categories, size, at, true);
+        int[] nextWallets = splice(wallets, size, at, true);
+        int[] nextGoals = splice(goals, size, at, true);
+        nextIds[at] = row.ids[0];
+        nextNames[at] = row.names[0];
+        nextEpochs[at] = row.createEpochs[0];
+        nextAmounts[at] = row.amounts[0];
+        nextCategories[at] = row.categories[0];
+        nextWallets[at] = row.wallets[0];
+        nextGoals[at] = row.goals[0];
+        BitSet nextIncome = splice(income, at, true);
+        nextIncome.set(at, row.income.get(0));
+        return new TransactionColumns(size + 1, nextIds, nextNames, nextEpochs, nextAmounts, nextCategories,
+            nextWallets, nextGoals, nextIncome, row.createTimes, row.categoryIds, row.walletIds, row.goalIds,
+            lookup);
+    }
+
+    /**
+     * New columns with a batch of transactions merged in (one pass over the existing rows)
+     */
+    TransactionColumns withAddedAll(Collection<Transaction> added) {
+        List<Transaction> sorted = new ArrayList<>(added);
+        sorted.sort(Comparator.comparingLong(Transaction::getCreateEpoch));
+        Builder builder = new Builder(this, size + sorted.size());
+        int row = 0;
+        for (Transaction transaction : sorted) {
+            while (row < size && createEpochs[row] <= transaction.getCreateEpoch()) {
+                builder.copy(this, row++);
+            }
+            builder.add(transaction);
+        }
+        while (row < size) {
+            builder.copy(this, row++);
+        }
+        return builder.build();
+    }
+
+    /**
+     * New columns with the transaction of the same id replaced (and re-positioned after rows of
+     * its new time), in one copy of each column
+     */
+    TransactionColumns withUpdated(Transaction transaction) {
+        int from = indexOf(transaction.getId());
+        if (from < 0) {
+            return withAdded(transaction);
+        }
+        int to = lowerBound(transaction.getCreateEpoch() + 1);
+        if (to > from) {
+            // The insertion point was counted with the old row still in place
+            to--;
+        }
+        Builder row = new Builder(this, 1).add(transaction);
+        String[] nextIds = move(ids, size, from, to);
+        String[] nextNames = move(names, size, from, to);
+        long[] nextEpochs = move(createEpochs, size, from, to);
+        long[] nextAmounts = move(amounts, size, from, to);
+        int[] nextCategories = move(categories, size, from, to);
+        int[] nextWallets = move(wallets, size, from, to);
+        int[] nextGoals = move(goals, size, from, to);
+        nextIds[to] = row.ids[0];
+        nextNames[to] = row.names[0];
+        nextEpochs[to] = row.createEpochs[0];
+        nextAmounts[to] = row.amounts[0];
+        nextCategories[to] = row.categories[0];
+        nextWallets[to] = row.wallets[0];
+        nextGoals[to] = row.goals[0];
+        BitSet nextIncome = move(income, from, to);
+        nextIncome.set(to, row.income.get(0));
+        return new TransactionColumns(size, nextIds, nextNames, nextEpochs, nextAmounts, nextCategories,
+            nextWallets, nextGoals, nextIncome, row.createTimes, row.categoryIds, row.walletIds, row.goalIds,
+            lookup);
+    }
+
+    /**
+     * New columns without the transaction with the given id
+     */
+    TransactionColumns withRemoved(String id) {
+        int removed = indexOf(id);
+        if (removed < 0) {
+            return this;
+        }
+        Map<String, String> nextCreateTimes = createTimes;
+        if (createTimes.containsKey(id)) {
+            nextCreateTimes = new HashMap<>(createTimes);
+            nextCreateTimes.remove(id);
+        }
+        lookup.remove(id);
+        return new TransactionColumns(size - 1, splice(ids, size, removed, false),
+            splice(names, size, removed, false), splice(createEpochs, size, removed, false),
+            splice(amounts, size, removed, false), splice(categories, size, removed, false),
+            splice(wallets, size, removed, false), splice(goals, size, removed, false),
+            splice(income, removed, false), nextCreateTimes, categoryIds, walletIds, goalIds, lookup);
+    }
+
+    /**
+     * Copy of a column array with one slot opened (insert) or closed (remove) at the given row
+     */
+    @SuppressWarnings("unchecked")
+    private static <A> A splice(A column, int length, int at, boolean insert) {
+        A copy = (A) Array.newInstance(column.getClass().getComponentType(), insert ? length + 1 : length - 1);
+        System.arraycopy(column, 0, copy, 0, at);
+        if (insert) {
+            System.arraycopy(column, at, copy, at + 1, length - at);
+        } else {
+            System.arraycopy(column, at + 1, copy, at, length - at - 1);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy of a column array with the row at from moved to to, shifting the rows in between
+     */
+    @SuppressWarnings("unchecked")
+    private static <A> A move(A column, int length, int from, int to) {
+        A copy = (A) Array.newInstance(column.getClass().getComponentType(), length);
+        System.arraycopy(column, 0, copy, 0, length);
+        if (from < to) {
+            System.arraycopy(copy, from + 1, copy, from, to - from);
+        } else if (from > to) {
+            System.arraycopy(copy, to, copy, to + 1, from - to);
+        }
+        return copy;
+    }
+
+    private static BitSet move(BitSet bits, int from, int to) {
+        BitSet copy = (BitSet) bits.clone();
+        for (int row = from; row < to; row++) {
+            copy.set(row, bits.get(row + 1));
+        }
+        for (int row = from; row > to; row--) {
+            copy.set(row, bits.get(row - 1));
+        }
+        return copy;
+    }
+
+    private static BitSet splice(BitSet bits, int at, boolean insert) {
+        BitSet copy = bits.get(0, at);
+        int shift = insert ? 1 : -1;
+        for (int row = bits.nextSetBit(insert ? at : at + 1); row >= 0; row = bits.nextSetBit(row + 1)) {
+            copy.set(row + shift);
+        }
+        return copy;
+    }
+
+    private int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        if (lookup.epochs == null) {
+            lookup.epochs = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+            for (int row = 0; row < size; row++) {
+                lookup.epochs.put(ids[row], createEpochs[row]);
+            }
+        }
+        Long epoch = lookup.epochs.get(id);
+        if (epoch != null) {
+            for (int row = lowerBound(epoch); row < size && createEpochs[row] == epoch; row++) {
+                if (id.equals(ids[row])) {
+                    return row;
+                }
+            }
+        }
+        // Not where the lookup says: an older copy, or an id no row has
+        for (int row = 0; row < size; row++) {
+            if (id.equals(ids[row])) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // ============== Rows ==============
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The transaction in the given row, as a new object
+     */
+    public Transaction get(int row) {
+        Transaction transaction = new Transaction();
+        transaction.setId(ids[row]);
+        transaction.setCategoryId(categoryIds.value(categories[row]));
+        transaction.setAmountMinor(amounts[row]);
+        transaction.setName(names[row]);
+        transaction.setIncome(income.get(row) ? 1.0 : 0.0);
+        transaction.setWalletId(walletIds.value(wallets[row]));
+        String createTime = createTimes.get(ids[row]);
+        if (createTime == null) {
+            createTime = LocalDateTime.ofEpochSecond(createEpochs[row], 0, ZoneOffset.UTC).format(TIME_FORMAT);
+        }
+        transaction.setCreateTime(createTime, createEpochs[row]);
+        transaction.setGoalId(goalIds.value(goals[row]));
+        return transaction;
+    }
+
+    /**
+     * The newest transactions, newest first (undated rows last, as in TransactionSnapshot)
+     */
+    public List<Transaction> newest(int limit) {
+        int count = Math.min(limit, size);
+        List<Transaction> result = new ArrayList<>(count);
+        int firstDated = lowerBound(UNDATED + 1);
+        for (int row = size - 1; row >= firstDated && result.size() < count; row--) {
+            result.add(get(row));
+        }
+        for (int row = firstDated - 1; row >= 0 && result.size() < count; row--) {
+            result.add(get(row));
+        }
+        return result;
+    }
+
+    /**
+     * Every transaction in the category, newest first
+     */
+    public List<Transaction> inCategory(String categoryId) {
+        List<Transaction> result = new ArrayList<>();
+        int code = categoryIds.find(categoryId);
+        if (code == NONE) {
+            return result;
+        }
+        for (int row = size - 1; row >= 0; row--) {
+            if (categories[row] == code) {
+                result.add(get(row));
+            }
+        }
+        return result;
+    }
+
+    // ============== Aggregations ==============
+
+    /**
+     * All report totals in one fork-join pass over the columns (see SpendingReportTask),
+     * split across the common pool so it scales with the available cores
+     */
+    @Override
+    public SpendingReport report() {
+        SpendingReportTask.Partial partial = ForkJoinPool.commonPool().invoke(new SpendingReportTask(
+            createEpochs, amounts, categories, wallets, income, categoryIds.size(), walletIds.size(), 0, size));
+        int days = partial.dayCount;
+        return new SpendingReport(Arrays.copyOf(partial.days, days), Arrays.copyOf(partial.dayIncome, days),
+            Arrays.copyOf(partial.dayExpense, days),
+            slots(categoryIds), partial.categoryIncome, partial.categoryExpense,
+            slots(walletIds), partial.walletIncome, partial.walletExpense);
+    }
+
+    /**
+     * Dictionary values by report slot: null (code NONE) in slot 0, code c in slot c + 1
+     */
+    private static String[] slots(Dictionary dictionary) {
+        String[] values = new String[dictionary.size() + 1];
+        for (int code = 0; code < dictionary.size(); code++) {
+            values[code + 1] = dictionary.value(code);
+        }
+        return values;
+    }
+
+    @Override
+    public double total(boolean income) {
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (this.income.get(row) == income) {
+                total += amounts[row];
+            }
+        }
+        return Money.toMajor(total);
+    }
+
+    @Override
+    public Map<String, Double> totalsByCategory(LocalDate from, LocalDate to, boolean income, String walletId) {
+        Map<String, Double> totals = new HashMap<>();
+        int wallet = walletIds.find(walletId);
+        if (walletId != null && wallet == NONE) {
+            return totals;
+        }
+        // Slot 0 collects rows without a category
+        long[] sums = new long[categoryIds.size() + 1];
+        boolean[] seen = new boolean[sums.length];
+        for (int row = fromRow(from), end = toRow(to); row < end; row++) {
+            if (this.income.get(row) == income && (walletId == null || wallets[row] == wallet)) {
+                sums[categories[row] + 1] += amounts[row];
+                seen[categories[row] + 1] = true;
+            }
+        }
+        for (int slot = 0; slot < sums.length; slot++) {
+            if (seen[slot]) {
+                totals.put(categoryIds.value(slot - 1), Money.toMajor(sums[slot]));
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public Map<LocalDate, Double> totalsByDay(LocalDate from, LocalDate to, boolean income) {
+        Map<LocalDate, Double> totals = new TreeMap<>();
+        long day = UNDATED;
+        long sum = 0;
+        for (int row = fromRow(from), end = toRow(to); row < end; row++) {
+            long rowDay = DateTimeUtils.toEpochDay(createEpochs[row]);
+            if (rowDay != day) {
+                if (sum != 0) {
+                    totals.put(LocalDate.ofEpochDay(day), Money.toMajor(sum));
+                }
+                day = rowDay;
+                sum = 0;
+            }
+            if (this.income.get(row) == income) {
+                sum += amounts[row];
+            }
+        }
+        if (sum != 0) {
+            totals.put(LocalDate.ofEpochDay(day), Money.toMajor(sum));
+        }
+        return totals;
+    }
+
+    @Override
+    public Map<YearMonth, Double> totalsByMonth(LocalDate from, LocalDate to, boolean income) {
+        Map<YearMonth, Double> totals = new TreeMap<>();
+        YearMonth month = null;
+        long day = UNDATED;
+        long sum = 0;
+        for (int row = fromRow(from), end = toRow(to); row < end; row++) {
+            long rowDay = DateTimeUtils.toEpochDay(createEpochs[row]);
+            if (rowDay != day) {
+                day = rowDay;
+                YearMonth rowMonth = YearMonth.from(LocalDate.ofEpochDay(rowDay));
+                if (!rowMonth.equals(month)) {
+                    if (sum != 0) {
+                        totals.put(month, Money.toMajor(sum));
+                    }
+                    month = rowMonth;
+                    sum = 0;
+                }
+            }
+            if (this.income.get(row) == income) {
+                sum += amounts[row];
+            }
+        }
+        if (sum != 0) {
+            totals.put(month, Money.toMajor(sum));
+        }
+        return totals;
+    }
+
+    /**
+     * Expenses in one category with createEpoch in [start, endExclusive), in one wallet unless
+     * walletId is null, in minor units; the per-category sum of BudgetService.computeAllBudgetProgress
+     */
+    public long spent(String categoryId, String walletId, long start, long endExclusive) {
+        int category = categoryIds.find(categoryId);
+        int wallet = walletIds.find(walletId);
+        if (category == NONE || (walletId != null && wallet == NONE)
+                || start == UNDATED || endExclusive == UNDATED) {
+            return 0;
+        }
+        long total = 0;
+        for (int row = lowerBound(start), end = lowerBound(endExclusive); row < end; row++) {
+            if (categories[row] == category && !income.get(row) && (walletId == null || wallets[row] == wallet)) {
+                total += amounts[row];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * First dated row on or after the date (the first dated row when from is null)
+     */
+    private int fromRow(LocalDate from) {
+        return lowerBound(from != null ? Math.max(UNDATED + 1, DateTimeUtils.startOfDay(from)) : UNDATED + 1);
+    }
+
+    /**
+     * Row after the last one on or before the date (size when to is null)
+     */
+    private int toRow(LocalDate to) {
+        return to != null ? lowerBound(DateTimeUtils.startOfDay(to.plusDays(1))) : size;
+    }
+
+    /**
+     * Index of the first row with createEpoch >= epoch
+     */
+    private int lowerBound(long epoch) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (createEpochs[mid] < epoch) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
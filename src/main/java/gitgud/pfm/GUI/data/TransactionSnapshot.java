@@ -0,0 +1,105 @@
+package gitgud.pfm.GUI.data;
+
+import gitgud.pfm.Models.Transaction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * TransactionSnapshot - Immutable, versioned view of all transactions held by DataStore
+ * Ordered like TransactionService.readAll() (createEpoch DESC, unparseable dates last). Every write in DataStore
+ * produces a new snapshot with a higher version; readers keep whatever snapshot they took.
+ * Added and updated rows are stored as copies, so the caller's object can change without
+ * changing any snapshot. Edit a copy of a row (new Transaction(row)), never the row itself.
+ */
+public final class TransactionSnapshot {
+    private static final Comparator<Transaction> NEWEST_FIRST =
+        Comparator.comparingLong(Transaction::getCreateEpoch).reversed();
+
+    private final long version;
+    private final List<Transaction> transactions;
+
+    private TransactionSnapshot(long version, List<Transaction> transactions) {
+        this.version = version;
+        this.transactions = Collections.unmodifiableList(transactions);
+    }
+
+    /**
+     * Build the initial snapshot from a freshly loaded (already sorted) list
+     */
+    static TransactionSnapshot of(long version, List<Transaction> loaded) {
+        return new TransactionSnapshot(version, new ArrayList<>(loaded));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public int size() {
+        return transactions.size();
+    }
+
+    /**
+     * New snapshot with the transaction inserted at its sorted position
+     */
+    TransactionSnapshot withAdded(Transaction transaction) {
+        Transaction row = new Transaction(transaction);
+        List<Transaction> next = new ArrayList<>(transactions.size() + 1);
+        next.addAll(transactions);
+        next.add(insertionPoint(next, row), row);
+        return new TransactionSnapshot(version + 1, next);
+    }
+
+    /**
+     * New snapshot with a batch of transactions merged in (one copy, one sort)
+     */
+    TransactionSnapshot withAddedAll(Collection<Transaction> added) {
+        List<Transaction> next = new ArrayList<>(transactions.size() + added.size());
+        next.addAll(transactions);
+        for (Transaction transaction : added) {
+            next.add(new Transaction(transaction));
+        }
+        next.sort(NEWEST_FIRST);
+        return new TransactionSnapshot(version + 1, next);
+    }
+
+    /**
+     * New snapshot with the transaction of the same id replaced (and re-positioned)
+     */
+    TransactionSnapshot withUpdated(Transaction transaction) {
+        Transaction row = new Transaction(transaction);
+        List<Transaction> next = new ArrayList<>(transactions);
+        removeById(next, row.getId());
+        next.add(insertionPoint(next, row), row);
+        return new TransactionSnapshot(version + 1, next);
+    }
+
+    /**
+     * New snapshot without the transaction with the given id
+     */
+    TransactionSnapshot withRemoved(String id) {
+        List<Transaction> next = new ArrayList<>(transactions);
+        removeById(next, id);
+        return new TransactionSnapshot(version + 1, next);
+    }
+
+    private static void removeById(List<Transaction> list, String id) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getId() != null && list.get(i).getId().equals(id)) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+
+    private static int insertionPoint(List<Transaction> list, Transaction transaction) {
+        int index = Collections.binarySearch(list, transaction, NEWEST_FIRST);
+        return index >= 0 ? index : -(index + 1);
+    }
+}
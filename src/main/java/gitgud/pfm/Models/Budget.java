@@ -1,13 +1,14 @@
 package gitgud.pfm.Models;
 
 import gitgud.pfm.utils.IdGenerator;
+import gitgud.pfm.utils.Money;
 
 public class Budget extends FinancialEntity {
     public enum PeriodType {
         WEEKLY, MONTHLY, YEARLY, CUSTOM
     }
     
-    private double limitAmount;
+    private long limitAmount; // minor units (see Money)
     private String startDate;
     private String endDate;
     private PeriodType periodType; // WEEKLY, MONTHLY, YEARLY, CUSTOM
@@ -22,7 +23,7 @@ public class Budget extends FinancialEntity {
     
     public Budget(String name, double limitAmount, double balance, String startDate, String endDate) {
         super(IdGenerator.generateBudgetId(), name, balance);
-        this.limitAmount = limitAmount;
+        this.limitAmount = Money.ofMajor(limitAmount);
         this.startDate = startDate;
         this.endDate = endDate;
         this.periodType = PeriodType.CUSTOM;
@@ -33,7 +34,7 @@ public class Budget extends FinancialEntity {
     public Budget(String name, double limitAmount, double balance, String startDate, 
                   String endDate, PeriodType periodType, String walletId) {
         super(IdGenerator.generateBudgetId(), name, balance);
-        this.limitAmount = limitAmount;
+        this.limitAmount = Money.ofMajor(limitAmount);
         this.startDate = startDate;
         this.endDate = endDate;
         this.periodType = periodType != null ? periodType : PeriodType.CUSTOM;
@@ -44,7 +45,7 @@ public class Budget extends FinancialEntity {
     public Budget(String name, double limitAmount, double balance, String startDate, 
                   String endDate, PeriodType periodType, String walletId, String categoryId) {
         super(IdGenerator.generateBudgetId(), name, balance);
-        this.limitAmount = limitAmount;
+        this.limitAmount = Money.ofMajor(limitAmount);
         this.startDate = startDate;
         this.endDate = endDate;
         this.periodType = periodType != null ? periodType : PeriodType.CUSTOM;
@@ -52,8 +53,13 @@ public class Budget extends FinancialEntity {
         this.categoryId = categoryId;
     }
     
-    public double getLimitAmount() { return limitAmount; }
-    public void setLimitAmount(double limitAmount) { this.limitAmount = limitAmount; }
+    /** Limit in major units, for display and form input */
+    public double getLimitAmount() { return Money.toMajor(limitAmount); }
+    public void setLimitAmount(double limitAmount) { this.limitAmount = Money.ofMajor(limitAmount); }
+
+    /** Limit in minor units (cents), as stored */
+    public long getLimitAmountMinor() { return limitAmount; }
+    public void setLimitAmountMinor(long limitAmount) { this.limitAmount = limitAmount; }
     
     public String getStartDate() { return startDate; }
     public void setStartDate(String startDate) { this.startDate = startDate; }
@@ -1,5 +1,7 @@
 package gitgud.pfm.Models;
 
+import gitgud.pfm.utils.Money;
+
 /**
  * BudgetCategory - Junction table entity for Budget-Category many-to-many relationship
  * Represents both the database entity and calculated spending information
@@ -8,12 +10,12 @@ public class BudgetCategory {
     // Database fields
     private String budgetId;
     private String categoryId;
-    private Double categoryLimit; // Optional: specific limit for this category within the budget
+    private Long categoryLimit; // Optional: specific limit for this category within the budget, minor units
     
     // Calculated/display fields (not persisted)
     private String categoryName;
-    private double spentAmount;
-    private double remainingAmount;
+    private long spentAmount; // minor units
+    private long remainingAmount; // minor units
     private double percentageUsed;
     
     public BudgetCategory() {
@@ -28,14 +30,14 @@ public class BudgetCategory {
     public BudgetCategory(String budgetId, String categoryId, Double categoryLimit) {
         this.budgetId = budgetId;
         this.categoryId = categoryId;
-        this.categoryLimit = categoryLimit;
+        this.categoryLimit = Money.ofMajor(categoryLimit);
     }
     
     /**
-     * Constructor with spending calculation
+     * Constructor with spending calculation; limit and spending in minor units
      */
     public BudgetCategory(String budgetId, String categoryId, String categoryName, 
-                         Double categoryLimit, double spentAmount) {
+                         Long categoryLimit, long spentAmount) {
         this.budgetId = budgetId;
         this.categoryId = categoryId;
         this.categoryName = categoryName;
@@ -50,7 +52,7 @@ public class BudgetCategory {
     public void calculateDerivedValues() {
         if (categoryLimit != null && categoryLimit > 0) {
             this.remainingAmount = categoryLimit - spentAmount;
-            this.percentageUsed = (spentAmount / categoryLimit) * 100.0;
+            this.percentageUsed = (spentAmount / (double) categoryLimit) * 100.0;
         } else {
             this.remainingAmount = 0;
             this.percentageUsed = 0;
@@ -82,29 +84,48 @@ public class BudgetCategory {
         this.categoryName = categoryName;
     }
     
+    /**
+     * Category limit in major units, or null when the category has none
+     */
     public Double getCategoryLimit() {
-        return categoryLimit;
+        return Money.toMajor(categoryLimit);
     }
     
     public void setCategoryLimit(Double categoryLimit) {
+        this.categoryLimit = Money.ofMajor(categoryLimit);
+    }
+
+    public Long getCategoryLimitMinor() {
+        return categoryLimit;
+    }
+
+    public void setCategoryLimitMinor(Long categoryLimit) {
         this.categoryLimit = categoryLimit;
     }
     
     public double getSpentAmount() {
-        return spentAmount;
+        return Money.toMajor(spentAmount);
     }
     
     public void setSpentAmount(double spentAmount) {
+        setSpentAmountMinor(Money.ofMajor(spentAmount));
+    }
+
+    public long getSpentAmountMinor() {
+        return spentAmount;
+    }
+
+    public void setSpentAmountMinor(long spentAmount) {
         this.spentAmount = spentAmount;
         calculateDerivedValues();
     }
     
     public double getRemainingAmount() {
-        return remainingAmount;
+        return Money.toMajor(remainingAmount);
     }
     
     public void setRemainingAmount(double remainingAmount) {
-        this.remainingAmount = remainingAmount;
+        this.remainingAmount = Money.ofMajor(remainingAmount);
     }
     
     public double getPercentageUsed() {
@@ -127,9 +148,9 @@ public class BudgetCategory {
                     "budgetId='" + budgetId + '\'' +
                     ", categoryId='" + categoryId + '\'' +
                     ", categoryName='" + categoryName + '\'' +
-                    ", categoryLimit=" + categoryLimit +
-                    ", spentAmount=" + spentAmount +
-                    ", remainingAmount=" + remainingAmount +
+                    ", categoryLimit=" + getCategoryLimit() +
+                    ", spentAmount=" + Money.format(spentAmount) +
+                    ", remainingAmount=" + Money.format(remainingAmount) +
                     ", percentageUsed=" + String.format("%.2f", percentageUsed) + "%" +
                     ", overBudget=" + isOverBudget() +
                     '}';
@@ -138,7 +159,7 @@ public class BudgetCategory {
             return "BudgetCategory{" +
                     "budgetId='" + budgetId + '\'' +
                     ", categoryId='" + categoryId + '\'' +
-                    ", categoryLimit=" + categoryLimit +
+                    ", categoryLimit=" + getCategoryLimit() +
                     '}';
         }
     }
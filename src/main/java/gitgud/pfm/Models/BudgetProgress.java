@@ -0,0 +1,78 @@
+package gitgud.pfm.Models;
+
+import gitgud.pfm.utils.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BudgetProgress - Calculated spending for one budget and each of its categories
+ * Built in bulk by BudgetService.computeAllBudgetProgress(); not persisted.
+ */
+public class BudgetProgress {
+    private final Budget budget;
+    private final List<BudgetCategory> categories = new ArrayList<>();
+    private long spentAmount; // minor units
+
+    public BudgetProgress(Budget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Add a tracked category; its spending counts towards the budget total
+     */
+    public void addCategory(BudgetCategory category) {
+        categories.add(category);
+        spentAmount += category.getSpentAmountMinor();
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Tracked categories with their own spent/remaining/percentage, ordered by name
+     */
+    public List<BudgetCategory> getCategories() {
+        return Collections.unmodifiableList(categories);
+    }
+
+    public double getSpentAmount() {
+        return Money.toMajor(spentAmount);
+    }
+
+    public long getSpentAmountMinor() {
+        return spentAmount;
+    }
+
+    public double getRemainingAmount() {
+        return Money.toMajor(getRemainingAmountMinor());
+    }
+
+    public long getRemainingAmountMinor() {
+        return budget.getLimitAmountMinor() - spentAmount;
+    }
+
+    public double getPercentageUsed() {
+        long limit = budget.getLimitAmountMinor();
+        return limit > 0 ? (spentAmount / (double) limit) * 100.0 : 0.0;
+    }
+
+    public boolean isOverBudget() {
+        return getRemainingAmountMinor() < 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetProgress{" +
+                "budgetId='" + budget.getId() + '\'' +
+                ", name='" + budget.getName() + '\'' +
+                ", limitAmount=" + budget.getLimitAmount() +
+                ", spentAmount=" + Money.format(spentAmount) +
+                ", remainingAmount=" + getRemainingAmount() +
+                ", percentageUsed=" + String.format("%.2f", getPercentageUsed()) + "%" +
+                ", categories=" + categories.size() +
+                '}';
+    }
+}
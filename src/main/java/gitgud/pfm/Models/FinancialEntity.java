@@ -1,5 +1,7 @@
 package gitgud.pfm.Models;
 
+import gitgud.pfm.utils.Money;
+
 /**
  * Abstract parent class for all financial entities (accounts, budgets, etc.)
  * Governs common features shared across different financial account types.
@@ -7,18 +9,18 @@ package gitgud.pfm.Models;
 public abstract class FinancialEntity {
     protected String id;
     protected String name;
-    protected double balance;
+    protected long balance; // minor units (see Money)
     
     /**
      * Constructor for FinancialEntity
      * @param id Unique identifier for the financial entity
      * @param name Name of the financial entity
-     * @param balance Current balance
+     * @param balance Current balance in major units
      */
     public FinancialEntity(String id, String name, double balance) {
         this.id = id;
         this.name = name;
-        this.balance = balance;
+        this.balance = Money.ofMajor(balance);
     }
     
     // Getters
@@ -30,7 +32,17 @@ public abstract class FinancialEntity {
         return name;
     }
     
+    /**
+     * Balance in major units, for display and form input
+     */
     public double getBalance() {
+        return Money.toMajor(balance);
+    }
+
+    /**
+     * Balance in minor units (cents), as stored
+     */
+    public long getBalanceMinor() {
         return balance;
     }
     
@@ -44,23 +56,27 @@ public abstract class FinancialEntity {
     }
     
     public void setBalance(double balance) {
+        this.balance = Money.ofMajor(balance);
+    }
+
+    public void setBalanceMinor(long balance) {
         this.balance = balance;
     }
     
     /**
      * Adds amount to the balance
-     * @param amount Amount to add
+     * @param amount Amount to add, in major units
      */
     public void addToBalance(double amount) {
-        this.balance += amount;
+        this.balance += Money.ofMajor(amount);
     }
     
     /**
      * Subtracts amount from the balance
-     * @param amount Amount to subtract
+     * @param amount Amount to subtract, in major units
      */
     public void subtractFromBalance(double amount) {
-        this.balance -= amount;
+        this.balance -= Money.ofMajor(amount);
     }
     
     @Override
@@ -68,7 +84,7 @@ public abstract class FinancialEntity {
         return getClass().getSimpleName() + "{" +
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
-                ", balance=" + balance +
+                ", balance=" + Money.format(balance) +
                 '}';
     }
 }
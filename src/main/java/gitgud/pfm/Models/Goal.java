@@ -1,9 +1,10 @@
 package gitgud.pfm.Models;
 
 import gitgud.pfm.utils.IdGenerator;
+import gitgud.pfm.utils.Money;
 
 public class Goal extends FinancialEntity {
-    private double target;
+    private long target; // minor units (see Money)
     private double priority;
     private String createTime;
     private String deadline;
@@ -20,7 +21,7 @@ public class Goal extends FinancialEntity {
     public Goal(String name, double target, double current, 
                 String deadline, double priority, String createTime) {
         super(IdGenerator.generateGoalId(), name, current);
-        this.target = target;
+        this.target = Money.ofMajor(target);
         this.deadline = deadline;
         this.priority = priority;
         this.createTime = createTime;
@@ -40,14 +41,19 @@ public class Goal extends FinancialEntity {
      */
     public Goal(String name, double target, String deadline, double priority, String createTime) {
         super(IdGenerator.generateGoalId(), name, 0.0);
-        this.target = target;
+        this.target = Money.ofMajor(target);
         this.deadline = deadline;
         this.priority = priority;
         this.createTime = createTime;
     }
     
-    public double getTarget() { return target; }
-    public void setTarget(double target) { this.target = target; }
+    /** Target in major units, for display and form input */
+    public double getTarget() { return Money.toMajor(target); }
+    public void setTarget(double target) { this.target = Money.ofMajor(target); }
+
+    /** Target in minor units (cents), as stored */
+    public long getTargetMinor() { return target; }
+    public void setTargetMinor(long target) { this.target = target; }
     
     public String getDeadline() { return deadline; }
     public void setDeadline(String deadline) { this.deadline = deadline; }
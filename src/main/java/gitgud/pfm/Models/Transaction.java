@@ -1,6 +1,8 @@
 package gitgud.pfm.Models;
 
+import gitgud.pfm.utils.DateTimeUtils;
 import gitgud.pfm.utils.IdGenerator;
+import gitgud.pfm.utils.Money;
 
 public class Transaction{
 
@@ -8,9 +10,10 @@ public class Transaction{
     private String categoryId;
     private String name;
     private double income; // 1 for income, 0 for expense
-    private double amount;
+    private long amount; // minor units (see Money)
     private String walletId;
     private String createTime;
+    private long createEpoch; // createTime as wall-clock epoch seconds, DateTimeUtils.UNKNOWN if unparseable
     private String goalId;
 
     // No-arg constructor required for reflection-based mapping
@@ -21,12 +24,29 @@ public class Transaction{
     public Transaction(String categoryId, double amount, String name, 
                       double income, String walletId, String createTime) {
         this.id = IdGenerator.generateTransactionId();
-        this.amount = amount;
+        this.amount = Money.ofMajor(amount);
         this.name = name;
         this.categoryId = categoryId;
         this.income = income;
         this.walletId = walletId;
         this.createTime = createTime;
+        this.createEpoch = DateTimeUtils.parseEpochSecond(createTime);
+    }
+
+    /**
+     * Copy of another transaction, same id included; edit the copy and save it, so the
+     * object held by DataStore's snapshot changes only once the write has committed
+     */
+    public Transaction(Transaction other) {
+        this.id = other.id;
+        this.categoryId = other.categoryId;
+        this.name = other.name;
+        this.income = other.income;
+        this.amount = other.amount;
+        this.walletId = other.walletId;
+        this.createTime = other.createTime;
+        this.createEpoch = other.createEpoch;
+        this.goalId = other.goalId;
     }
     
     public String getId() {
@@ -45,11 +65,25 @@ public class Transaction{
         this.categoryId = categoryId;
     }
 
+    /**
+     * Amount in major units, for display and form input; totals use getAmountMinor()
+     */
     public double getAmount() {
-        return amount;
+        return Money.toMajor(amount);
     }
 
     public void setAmount(double amount) {
+        this.amount = Money.ofMajor(amount);
+    }
+
+    /**
+     * Amount in minor units (cents), as stored
+     */
+    public long getAmountMinor() {
+        return amount;
+    }
+
+    public void setAmountMinor(long amount) {
         this.amount = amount;
     }
 
@@ -83,6 +117,31 @@ public class Transaction{
 
     public void setCreateTime(String createTime) {
         this.createTime = createTime;
+        this.createEpoch = DateTimeUtils.parseEpochSecond(createTime);
+    }
+
+    /**
+     * Set createTime together with its already-known epoch value (e.g. the createEpoch column),
+     * skipping the parse. Pass DateTimeUtils.UNKNOWN to parse createTime instead.
+     */
+    public void setCreateTime(String createTime, long createEpoch) {
+        this.createTime = createTime;
+        this.createEpoch = createEpoch != DateTimeUtils.UNKNOWN
+            ? createEpoch : DateTimeUtils.parseEpochSecond(createTime);
+    }
+
+    /**
+     * createTime as wall-clock epoch seconds, or DateTimeUtils.UNKNOWN
+     */
+    public long getCreateEpoch() {
+        return createEpoch;
+    }
+
+    /**
+     * Calendar day of createTime (days since 1970-01-01), or DateTimeUtils.UNKNOWN
+     */
+    public long getCreateEpochDay() {
+        return DateTimeUtils.toEpochDay(createEpoch);
     }
 
     public String getGoalId() {
@@ -1,5 +1,6 @@
 package gitgud.pfm.Models;
 import java.util.List;
+import java.util.Objects;
 
 public class TransactionCriteria {
      private String transactionId;
@@ -11,6 +12,7 @@ public class TransactionCriteria {
     private String dateFrom;
     private String dateTo;
     private Double income;
+    private String name;
 
     public TransactionCriteria() {
     }
@@ -43,6 +45,10 @@ public class TransactionCriteria {
     public String getDateTo() { return dateTo; }
     public void setDateTo(String dateTo) { this.dateTo = dateTo; }
 
+    /** Word-prefix search of the transaction name ("cof cor" finds "Coffee Corner") */
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
     public boolean hasSearchTerm() {
         return transactionId != null && !transactionId.isEmpty();
     }
@@ -54,10 +60,33 @@ public class TransactionCriteria {
                (categoryId != null && !categoryId.isEmpty()) ||
                (walletId != null && !walletId.isEmpty()) ||
                (dateFrom != null && !dateFrom.isEmpty()) ||
-               (dateTo != null && !dateTo.isEmpty()) 
+               (dateTo != null && !dateTo.isEmpty()) ||
+               (name != null && !name.isEmpty())
                 ;
     }
 
+    /**
+     * True if this criteria can only match a subset of what previous matched: every other
+     * filter is the same and text was only appended to the name search ("cof" -> "coff"),
+     * which either lengthens its last word prefix or adds another word
+     */
+    public boolean narrows(TransactionCriteria previous) {
+        if (previous == null) {
+            return false;
+        }
+        String previousName = previous.name != null ? previous.name : "";
+        String currentName = name != null ? name : "";
+        return currentName.startsWith(previousName) &&
+               Objects.equals(transactionId, previous.transactionId) &&
+               Objects.equals(minAmount, previous.minAmount) &&
+               Objects.equals(maxAmount, previous.maxAmount) &&
+               Objects.equals(categoryId, previous.categoryId) &&
+               Objects.equals(walletId, previous.walletId) &&
+               Objects.equals(dateFrom, previous.dateFrom) &&
+               Objects.equals(dateTo, previous.dateTo) &&
+               Objects.equals(income, previous.income);
+    }
+
     public static class Builder {
         private final TransactionCriteria criteria = new TransactionCriteria();
 
@@ -99,6 +128,11 @@ public class TransactionCriteria {
             return this;
         }
 
+        public Builder name(String name) {
+            criteria.setName(name);
+            return this;
+        }
+
         public TransactionCriteria build() {
             return criteria;
         }
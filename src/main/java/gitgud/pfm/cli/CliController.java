@@ -1,5 +1,6 @@
 package gitgud.pfm.cli;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
@@ -8,12 +9,23 @@ import java.util.concurrent.TimeUnit;
 
 import gitgud.pfm.Models.Goal;
 import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.TransactionCriteria;
 import gitgud.pfm.Models.Wallet;
 import gitgud.pfm.Models.Budget;
+import gitgud.pfm.Models.BudgetCategory;
+import gitgud.pfm.Models.BudgetProgress;
 import gitgud.pfm.Models.Category;
 import gitgud.pfm.services.*;
 
+import gitgud.pfm.services.exporter.LedgerExporter;
+import gitgud.pfm.services.importer.ImportResult;
+import gitgud.pfm.services.importer.StatementImporter;
+import gitgud.pfm.utils.Money;
+
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 
 /**
@@ -32,6 +44,7 @@ public class CliController {
     private final BudgetService budgetService = new BudgetService();
     private final GoalService goalService = new GoalService();
     private final TransactionService transactionService = new TransactionService();
+    private final BalanceEngine balanceEngine = new BalanceEngine();
 
     public CliController() {
         this.scanner = new Scanner(System.in);
@@ -123,9 +136,21 @@ public class CliController {
                 case "15":
                     handleDeleteBudget(accountData);
                     break;
+                case "16":
+                    handleImportStatement();
+                    break;
                 case "17":
                     handleViewReports(accountData);
                     break;
+                case "18":
+                    handleExportLedger();
+                    break;
+                case "19":
+                    handleFilterTransactions();
+                    break;
+                case "20":
+                    handleVerifyBalances();
+                    break;
                 case "0":
                     // looks for users input then call exit program
                     // then changes running to false to exit loop
@@ -198,8 +223,8 @@ public class CliController {
                     "Name", "Category", "Wallet", "Amount", "Type", "Goal", "Date");
             System.out.println("-".repeat(95));
 
-            double totalIncome = 0.0;
-            double totalExpenses = 0.0;
+            long totalIncome = 0;
+            long totalExpenses = 0;
 
             for (Transaction tx : transactions) {
                 String type = tx.getIncome() == 1 ? "Income" : "Expense";
@@ -217,17 +242,17 @@ public class CliController {
                         date);
 
                 if (tx.getIncome() == 1) {
-                    totalIncome += tx.getAmount();
+                    totalIncome += tx.getAmountMinor();
                 } else {
-                    totalExpenses += tx.getAmount();
+                    totalExpenses += tx.getAmountMinor();
                 }
             }
 
             System.out.println("-".repeat(95));
             System.out.println("Total transactions: " + transactions.size());
-            System.out.printf("Total Income: $%,.2f%n", totalIncome);
-            System.out.printf("Total Expenses: $%,.2f%n", totalExpenses);
-            System.out.printf("Net: $%,.2f%n", totalIncome - totalExpenses);
+            System.out.printf("Total Income: $%,.2f%n", Money.toMajor(totalIncome));
+            System.out.printf("Total Expenses: $%,.2f%n", Money.toMajor(totalExpenses));
+            System.out.printf("Net: $%,.2f%n", Money.toMajor(totalIncome - totalExpenses));
             System.out.println("\n");
         }
     }
@@ -249,18 +274,13 @@ public class CliController {
                     "Name", "Limit", "Spent", "Remaining", "Start", "End", "Categories");
             System.out.println("-".repeat(90));
 
+            // Spending for every budget and category in one query
+            Map<String, BudgetProgress> progressById = budgetService.computeAllBudgetProgress();
+
             for (Budget budget : budgets) {
-                // Get tracked categories
-                List<Category> trackedCategories = budgetService.getCategoriesForBudget(budget.getId());
-                StringBuilder categoryNames = new StringBuilder();
-                for (int i = 0; i < trackedCategories.size(); i++) {
-                    if (i > 0) categoryNames.append(", ");
-                    categoryNames.append(trackedCategories.get(i).getName());
-                }
-                String categoriesStr = categoryNames.length() > 0 ? categoryNames.toString() : "(none)";
-                
-                // Calculate actual spent amount
-                double spent = budgetService.getTotalSpentForBudget(budget.getId());
+                BudgetProgress progress = progressById.get(budget.getId());
+                String categoriesStr = formatTrackedCategories(progress);
+                double spent = progress != null ? progress.getSpentAmount() : 0.0;
                 double remaining = budget.getLimitAmount() - spent;
                 
                 String startDate = budget.getStartDate() != null ? budget.getStartDate().substring(0, Math.min(10, budget.getStartDate().length())) : "";
@@ -281,6 +301,21 @@ public class CliController {
         }
     }
 
+    /**
+     * Comma-separated names of a budget's tracked categories, or "(none)"
+     */
+    private String formatTrackedCategories(BudgetProgress progress) {
+        if (progress == null || progress.getCategories().isEmpty()) {
+            return "(none)";
+        }
+        StringBuilder categoryNames = new StringBuilder();
+        for (BudgetCategory category : progress.getCategories()) {
+            if (categoryNames.length() > 0) categoryNames.append(", ");
+            categoryNames.append(category.getCategoryName());
+        }
+        return categoryNames.toString();
+    }
+
     /**
      * Handle View All Goals
      * Balance is computed from allocated transactions
@@ -480,7 +515,9 @@ public class CliController {
         }
 
         // Save to database using TransactionService
-        transactionService.create(transaction);
+        if (!saveLedgerChange(() -> transactionService.create(transaction), walletId)) {
+            return;
+        }
         System.out.println("\n✓ Transaction created: " + transaction.getName());
         
         // Show goal update message if allocated
@@ -515,6 +552,261 @@ public class CliController {
         this.accountData = AccountDataLoader.loadAccountData();
     }
 
+    /**
+     * Handle Import Bank Statement - stream a CSV or OFX file into a wallet
+     */
+    private void handleImportStatement() {
+        System.out.println("=== Import Bank Statement ===");
+
+        System.out.print("Path to CSV or OFX file: ");
+        Path file = Path.of(scanner.nextLine().trim());
+        if (!Files.isRegularFile(file)) {
+            System.out.println("File not found: " + file);
+            return;
+        }
+
+        List<Wallet> wallets = walletService.readAll();
+        if (wallets.isEmpty()) {
+            System.out.println("No wallets found. Cannot import.");
+            return;
+        }
+        System.out.println("Import into which account?");
+        for (int i = 0; i < wallets.size(); i++) {
+            System.out.printf("  %d. %s (Balance: $%.2f)\n", i + 1, wallets.get(i).getName(),
+                    wallets.get(i).getBalance());
+        }
+        System.out.print("Enter the number of the account: ");
+        Wallet wallet;
+        try {
+            int num = Integer.parseInt(scanner.nextLine().trim());
+            if (num < 1 || num > wallets.size()) {
+                System.out.println("Invalid number.");
+                return;
+            }
+            wallet = wallets.get(num - 1);
+        } catch (NumberFormatException e) {
+            System.out.println("Please enter a valid number.");
+            return;
+        }
+
+        try {
+            ImportResult result = new StatementImporter().importFile(file, wallet.getId());
+            System.out.println(result);
+            for (String error : result.getErrors()) {
+                System.out.println("  skipped " + error);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+
+        this.accountData = AccountDataLoader.loadAccountData();
+    }
+
+    /**
+     * Handle Verify Wallet Balances - compare every stored wallet balance with the balance
+     * derived from its transactions, and optionally repair the ones that drifted
+     */
+    private void handleVerifyBalances() {
+        System.out.println("=== Verify Wallet Balances ===");
+        try {
+            BalanceReport report = balanceEngine.reconcile(false);
+            System.out.println(report);
+            for (BalanceReport.Drift drift : report.getDrifts()) {
+                System.out.printf("  %s: stored $%s, from transactions $%s (off by $%s)\n",
+                        drift.name(), Money.format(drift.stored()), Money.format(drift.derived()),
+                        Money.format(drift.difference()));
+            }
+            if (report.isConsistent()) {
+                return;
+            }
+
+            System.out.print("Repair from the transactions? (y/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                System.out.println(balanceEngine.reconcile(true));
+                this.accountData = AccountDataLoader.loadAccountData();
+            }
+        } catch (SQLException e) {
+            System.out.println("ERROR: Could not verify balances: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Run a ledger write and re-derive the stored balance of the given wallets in one unit
+     * of work, so either both land or neither does
+     *
+     * @return false (after reporting it) if the unit of work was rolled back
+     */
+    private boolean saveLedgerChange(Runnable write, String... walletIds) {
+        try {
+            Database.getInstance().inTransaction(connection -> {
+                write.run();
+                for (String walletId : walletIds) {
+                    if (walletId != null) {
+                        balanceEngine.syncStoredBalance(walletId);
+                    }
+                }
+                return null;
+            });
+            return true;
+        } catch (SQLException e) {
+            System.out.println("ERROR: Nothing was saved: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Handle Filter Transactions - build a TransactionCriteria from prompts and page
+     * through the matches; filtering and paging run in the database
+     */
+    private void handleFilterTransactions() {
+        System.out.println("=== Filter Transactions ===");
+        System.out.println("Press Enter to skip a filter.");
+
+        TransactionCriteria.Builder builder = TransactionCriteria.builder();
+        try {
+            System.out.print("Type (income/expense): ");
+            String type = scanner.nextLine().trim().toLowerCase();
+            if (type.startsWith("i")) {
+                builder.income(1.0);
+            } else if (type.startsWith("e")) {
+                builder.income(0.0);
+            }
+
+            List<Category> categories = categoryService.getAllCategories();
+            for (Category category : categories) {
+                System.out.printf("  %s. %s%n", category.getId(), category.getName());
+            }
+            System.out.print("Category IDs (comma separated): ");
+            String categoryInput = scanner.nextLine().trim();
+            if (!categoryInput.isEmpty()) {
+                List<String> categoryIds = new ArrayList<>();
+                for (String id : categoryInput.split(",")) {
+                    if (!id.isBlank()) {
+                        categoryIds.add(id.trim());
+                    }
+                }
+                builder.categoryId(categoryIds);
+            }
+
+            List<Wallet> wallets = walletService.readAll();
+            for (int i = 0; i < wallets.size(); i++) {
+                System.out.printf("  %d. %s%n", i + 1, wallets.get(i).getName());
+            }
+            System.out.print("Wallet number: ");
+            String walletInput = scanner.nextLine().trim();
+            if (!walletInput.isEmpty()) {
+                int num = Integer.parseInt(walletInput);
+                if (num < 1 || num > wallets.size()) {
+                    System.out.println("Invalid number.");
+                    return;
+                }
+                builder.walletId(wallets.get(num - 1).getId());
+            }
+
+            System.out.print("From date (yyyy-MM-dd): ");
+            String dateFrom = scanner.nextLine().trim();
+            if (!dateFrom.isEmpty()) {
+                builder.dateFrom(dateFrom);
+            }
+            System.out.print("To date (yyyy-MM-dd): ");
+            String dateTo = scanner.nextLine().trim();
+            if (!dateTo.isEmpty()) {
+                builder.dateTo(dateTo);
+            }
+
+            System.out.print("Minimum amount: ");
+            String minAmount = scanner.nextLine().trim();
+            if (!minAmount.isEmpty()) {
+                builder.minAmount(Double.parseDouble(minAmount));
+            }
+            System.out.print("Maximum amount: ");
+            String maxAmount = scanner.nextLine().trim();
+            if (!maxAmount.isEmpty()) {
+                builder.maxAmount(Double.parseDouble(maxAmount));
+            }
+
+            System.out.print("Name contains: ");
+            String name = scanner.nextLine().trim();
+            if (!name.isEmpty()) {
+                builder.name(name);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please enter a valid number.");
+            return;
+        }
+
+        TransactionCriteria criteria = builder.build();
+        Filter filter = new Filter();
+        int total = filter.countTransactions(criteria);
+        if (total == 0) {
+            System.out.println("No matching transactions.");
+            return;
+        }
+
+        Map<String, String> categoryMap = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            categoryMap.put(category.getId(), category.getName());
+        }
+
+        final int pageSize = 20;
+        int pages = (total + pageSize - 1) / pageSize;
+        int page = 0;
+        while (true) {
+            List<Transaction> rows = filter.filterTransactions(criteria, pageSize, page * pageSize);
+            System.out.println("-".repeat(95));
+            System.out.printf("%-18s %-15s %-12s %10s %-8s %-12s%n",
+                    "Name", "Category", "Wallet", "Amount", "Type", "Date");
+            System.out.println("-".repeat(95));
+            for (Transaction tx : rows) {
+                String date = tx.getCreateTime() != null ? tx.getCreateTime().substring(0, Math.min(10, tx.getCreateTime().length())) : "";
+                System.out.printf("%-18s %-15s %-12s $%,9.2f %-8s %-12s%n",
+                        truncate(tx.getName(), 18),
+                        truncate(categoryMap.getOrDefault(tx.getCategoryId(), tx.getCategoryId()), 15),
+                        truncate(tx.getWalletId(), 12),
+                        tx.getAmount(),
+                        tx.getIncome() == 1 ? "Income" : "Expense",
+                        date);
+            }
+            System.out.println("-".repeat(95));
+            System.out.printf("Page %d of %d (%d matching transactions)%n", page + 1, pages, total);
+
+            if (pages == 1) {
+                return;
+            }
+            System.out.print("[n]ext, [p]revious, or Enter to finish: ");
+            String command = scanner.nextLine().trim().toLowerCase();
+            if (command.equals("n") && page + 1 < pages) {
+                page++;
+            } else if (command.equals("p") && page > 0) {
+                page--;
+            } else if (!command.equals("n") && !command.equals("p")) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handle Export Transactions - stream the ledger to a CSV or JSON file
+     */
+    private void handleExportLedger() {
+        System.out.println("=== Export Transactions ===");
+
+        System.out.print("Output file (.csv or .json): ");
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            System.out.println("No file given. Export cancelled.");
+            return;
+        }
+        Path file = Path.of(input);
+
+        try {
+            long count = new LedgerExporter().export(file, LedgerExporter.Format.forFile(file), null);
+            System.out.println("✓ Exported " + count + " transactions to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
     /**
      * Handle Goal Allocation Transaction (when user selects "Goals" category)
      * This creates a transaction that transfers money from wallet to goal
@@ -657,19 +949,13 @@ public class CliController {
                 timestamp
         );
         
-        // Link to goal if your transaction table has goalId column
+        // Link to goal; the goal's balance is computed from its linked transactions
         transaction.setGoalId(selectedGoal.getId());
         
-        // Save transaction to database
-        transactionService.create(transaction);
-        
-        // Update wallet balance in database
-        selectedWallet.subtractFromBalance(amount);
-        walletService.update(selectedWallet);
-        
-        // Update goal balance in database (THIS IS THE KEY FIX!)
-        selectedGoal.addToBalance(amount);
-        goalService.update(selectedGoal);
+        // Save transaction and re-derive the wallet balance from its transactions
+        if (!saveLedgerChange(() -> transactionService.create(transaction), selectedWallet.getId())) {
+            return;
+        }
         
         System.out.println("\n✓ Transaction created successfully!");
         System.out.println("$" + String.format("%,.2f", amount) + " allocated from " + 
@@ -773,18 +1059,13 @@ public class CliController {
         System.out.printf("%-15s %12s %12s %12s %-10s %-10s %-25s%n", "Name", "Limit", "Spent", "Remaining", "Start", "End", "Categories");
         System.out.println("-".repeat(105));
         
+        // Spending for every budget and category in one query
+        Map<String, BudgetProgress> progressById = budgetService.computeAllBudgetProgress();
+
         for (Budget b : budgets) {
-            // Get tracked categories for this budget
-            List<Category> trackedCategories = budgetService.getCategoriesForBudget(b.getId());
-            StringBuilder categoryNames = new StringBuilder();
-            for (int i = 0; i < trackedCategories.size(); i++) {
-                if (i > 0) categoryNames.append(", ");
-                categoryNames.append(trackedCategories.get(i).getName());
-            }
-            String categoriesStr = categoryNames.length() > 0 ? categoryNames.toString() : "(none)";
-            
-            // Calculate actual spent amount from tracked category transactions
-            double spent = budgetService.getTotalSpentForBudget(b.getId());
+            BudgetProgress progress = progressById.get(b.getId());
+            String categoriesStr = formatTrackedCategories(progress);
+            double spent = progress != null ? progress.getSpentAmount() : 0.0;
             double remaining = b.getLimitAmount() - spent;
             
             String startDate = b.getStartDate() != null ? b.getStartDate().substring(0, Math.min(10, b.getStartDate().length())) : "";
@@ -853,6 +1134,7 @@ public class CliController {
             System.out.println("Transaction not found.");
             return;
         }
+        String originalWalletId = found.getWalletId();
 
         System.out.println("Fields: name, amount, category, income, walletid, goalid, createtime");
         System.out.print("Enter field to update: ");
@@ -977,7 +1259,10 @@ public class CliController {
             }
 
             // Persist update via TransactionService
-            transactionService.update(found);
+            Transaction edited = found;
+            if (!saveLedgerChange(() -> transactionService.update(edited), originalWalletId, edited.getWalletId())) {
+                return;
+            }
 
             System.out.println("Transaction updated.");
             this.accountData = AccountDataLoader.loadAccountData();
@@ -1238,7 +1523,9 @@ public class CliController {
 
         try {
             // Persist delete via TransactionService
-            transactionService.delete(transactionId);
+            if (!saveLedgerChange(() -> transactionService.delete(transactionId), transactionToDelete.getWalletId())) {
+                return;
+            }
             accountData.getTransactions().remove(transactionToDelete);
             System.out.println("SUCCESS: Transaction '" + transactionToDelete.getName() + "' has been deleted successfully.");
             // refresh in-memory data to reflect persisted changes
@@ -1444,6 +1731,10 @@ public class CliController {
         System.out.println("13. Delete Goal");
         System.out.println("========================================");
         System.out.println("14. View Reports");
+        System.out.println("16. Import Bank Statement (CSV/OFX)");
+        System.out.println("18. Export Transactions (CSV/JSON)");
+        System.out.println("19. Filter Transactions");
+        System.out.println("20. Verify Wallet Balances");
         System.out.println("========================================");
         System.out.println("0. Exit");
     }
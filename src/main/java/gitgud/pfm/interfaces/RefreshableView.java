@@ -0,0 +1,17 @@
+package gitgud.pfm.interfaces;
+
+/**
+ * Controller of a main view that App keeps loaded between navigations (see ViewCache)
+ */
+public interface RefreshableView {
+    /**
+     * Reload the view's data; called when data it depends on changed while it was hidden
+     */
+    void refresh();
+
+    /**
+     * Release store listeners and background loads before the view is dropped from the cache
+     */
+    default void dispose() {
+    }
+}
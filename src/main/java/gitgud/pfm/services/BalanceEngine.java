@@ -0,0 +1,346 @@
+package gitgud.pfm.services;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BalanceEngine - Derives wallet balances from the ledger (transaction_records)
+ *
+ * The ledger is the source of truth: a wallet's balance is its openingBalance plus the net
+ * (income minus expenses) of its transactions. Wallet.balance is a cached copy of that value,
+ * rewritten by syncStoredBalance() whenever the wallet's transactions change, so it can no
+ * longer drift through hand-made adjustments.
+ *
+ * To avoid summing a wallet's whole history on every write, wallet_checkpoint caches the net
+ * of its dated rows up to a point in time. A balance is the latest checkpoint plus the rows
+ * after it (and the rows without a createEpoch, which no checkpoint covers); once
+ * CHECKPOINT_INTERVAL rows have piled up after the latest checkpoint a new one is written.
+ * Triggers drop the checkpoints a backdated write invalidates (DatabaseInitializer migration 5);
+ * older ones are kept so such a write only costs a re-sum from the checkpoint before it.
+ *
+ * reconcile() checks every stored balance and checkpoint against the ledger in one streaming pass.
+ * All amounts are minor units (see Money), so derived and stored balances compare exactly.
+ */
+public class BalanceEngine {
+    /**
+     * Rows after the latest checkpoint before a new one is written
+     */
+    static final int CHECKPOINT_INTERVAL = 1000;
+    private static final int KEEP_CHECKPOINTS = 8;
+    private static final int FETCH_SIZE = 500;
+    private static final String SIGNED_AMOUNT = "CASE WHEN income > 0 THEN amount ELSE -amount END";
+
+    private final Database database;
+
+    public BalanceEngine() {
+        this.database = Database.getInstance();
+    }
+
+    /**
+     * Balance of the wallet in minor units as derived from the ledger. Runs on the writer
+     * connection, so inside a unit of work it includes the unit's own uncommitted rows.
+     */
+    public long derivedBalance(String walletId) throws SQLException {
+        return database.inTransaction(connection -> derive(connection, walletId));
+    }
+
+    /**
+     * Overwrite the wallet's stored balance with the derived one; call it in the same unit
+     * of work as the transaction writes that moved the balance
+     *
+     * @return the new balance in minor units
+     */
+    public long syncStoredBalance(String walletId) throws SQLException {
+        return database.inTransaction(connection -> {
+            long balance = derive(connection, walletId);
+            try (PreparedStatement pstmt = connection.prepareStatement("UPDATE Wallet SET balance = ? WHERE id = ?")) {
+                pstmt.setLong(1, balance);
+                pstmt.setString(2, walletId);
+                pstmt.executeUpdate();
+            }
+            return balance;
+        });
+    }
+
+    /**
+     * Set a wallet's balance by hand (e.g. to match a bank statement) without adding a
+     * transaction. The difference is moved into openingBalance, so the ledger still derives it.
+     *
+     * @param balance New balance in minor units
+     */
+    public void setBalance(String walletId, long balance) throws SQLException {
+        database.inTransaction(connection -> {
+            long derived = derive(connection, walletId);
+            String sql = "UPDATE Wallet SET openingBalance = openingBalance + ?, balance = ? WHERE id = ?";
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setLong(1, balance - derived);
+                pstmt.setLong(2, balance);
+                pstmt.setString(3, walletId);
+                pstmt.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    private static long derive(Connection connection, String walletId) throws SQLException {
+        long opening;
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT openingBalance FROM Wallet WHERE id = ?")) {
+            pstmt.setString(1, walletId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Wallet not found: " + walletId);
+                }
+                opening = rs.getLong(1);
+            }
+        }
+
+        long asOf = Long.MIN_VALUE;
+        long net = 0;
+        long rowCount = 0;
+        String checkpointSQL = "SELECT asOfEpoch, net, rowCount FROM wallet_checkpoint " +
+                               "WHERE walletId = ? ORDER BY asOfEpoch DESC LIMIT 1";
+        try (PreparedStatement pstmt = connection.prepareStatement(checkpointSQL)) {
+            pstmt.setString(1, walletId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    asOf = rs.getLong(1);
+                    net = rs.getLong(2);
+                    rowCount = rs.getLong(3);
+                }
+            }
+        }
+
+        // Dated rows after the checkpoint, summed from idx_tx_wallet_ledger
+        long tailNet;
+        long tailRows;
+        long lastEpoch;
+        String tailSQL = "SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0), COUNT(*), MAX(createEpoch) " +
+                         "FROM transaction_records WHERE walletId = ? AND createEpoch > ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(tailSQL)) {
+            pstmt.setString(1, walletId);
+            pstmt.setLong(2, asOf);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                tailNet = rs.getLong(1);
+                tailRows = rs.getLong(2);
+                lastEpoch = rs.getLong(3);
+            }
+        }
+
+        long undatedNet;
+        String undatedSQL = "SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) " +
+                            "FROM transaction_records WHERE walletId = ? AND createEpoch IS NULL";
+        try (PreparedStatement pstmt = connection.prepareStatement(undatedSQL)) {
+            pstmt.setString(1, walletId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                undatedNet = rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+
+        if (tailRows >= CHECKPOINT_INTERVAL) {
+            writeCheckpoint(connection, walletId, lastEpoch, net + tailNet, rowCount + tailRows);
+        }
+        return opening + net + tailNet + undatedNet;
+    }
+
+    private static void writeCheckpoint(Connection connection, String walletId, long asOf,
+                                        long net, long rowCount) throws SQLException {
+        String insertSQL = "INSERT OR REPLACE INTO wallet_checkpoint (walletId, asOfEpoch, net, rowCount) VALUES (?, ?, ?, ?)";
+        String pruneSQL = "DELETE FROM wallet_checkpoint WHERE walletId = ? AND asOfEpoch < (" +
+                          "SELECT asOfEpoch FROM wallet_checkpoint WHERE walletId = ? " +
+                          "ORDER BY asOfEpoch DESC LIMIT 1 OFFSET " + (KEEP_CHECKPOINTS - 1) + ")";
+        try (PreparedStatement insert = connection.prepareStatement(insertSQL);
+             PreparedStatement prune = connection.prepareStatement(pruneSQL)) {
+            insert.setString(1, walletId);
+            insert.setLong(2, asOf);
+            insert.setLong(3, net);
+            insert.setLong(4, rowCount);
+            insert.executeUpdate();
+
+            prune.setString(1, walletId);
+            prune.setString(2, walletId);
+            prune.executeUpdate();
+        }
+    }
+
+    // ==================== VERIFICATION ====================
+
+    /**
+     * Compare every wallet's stored balance, and every cached checkpoint, with the ledger.
+     * The ledger is read once, row by row, keeping only per-wallet running totals in memory,
+     * so it scales to millions of rows. Runs as one unit on the writer connection, so wallets,
+     * checkpoints and rows come from one consistent state (other writers wait for it).
+     *
+     * @param fix Also overwrite drifted stored balances with the derived ones and drop stale checkpoints
+     */
+    public BalanceReport reconcile(boolean fix) throws SQLException {
+        long started = System.nanoTime();
+        BalanceReport report = new BalanceReport();
+
+        database.inTransaction(connection -> {
+            Map<String, WalletTotals> wallets = loadWallets(connection);
+            loadCheckpoints(connection, wallets);
+
+            long rows = 0;
+            long orphans = 0;
+            try (Statement stmt = connection.createStatement()) {
+                stmt.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery("SELECT walletId, income, amount, createEpoch FROM transaction_records")) {
+                    while (rs.next()) {
+                        rows++;
+                        WalletTotals totals = wallets.get(rs.getString(1));
+                        if (totals == null) {
+                            orphans++;
+                            continue;
+                        }
+                        long amount = rs.getLong(3);
+                        long signed = rs.getDouble(2) > 0 ? amount : -amount;
+                        long epoch = rs.getLong(4);
+                        totals.add(signed, !rs.wasNull(), epoch);
+                    }
+                }
+            }
+
+            List<WalletTotals> drifted = new ArrayList<>();
+            List<Checkpoint> staleCheckpoints = new ArrayList<>();
+            for (WalletTotals totals : wallets.values()) {
+                report.walletChecked();
+                long derived = totals.opening + totals.net;
+                if (totals.stored != derived) {
+                    report.drift(new BalanceReport.Drift(totals.id, totals.name, totals.stored, derived));
+                    drifted.add(totals);
+                }
+                long coveredNet = 0;
+                long coveredRows = 0;
+                for (int i = 0; i < totals.asOf.length; i++) {
+                    coveredNet += totals.bucketNet[i];
+                    coveredRows += totals.bucketRows[i];
+                    Checkpoint checkpoint = totals.checkpoints.get(i);
+                    boolean bad = coveredRows != checkpoint.rowCount()
+                        || coveredNet != checkpoint.net();
+                    report.checkpointChecked(bad);
+                    if (bad) {
+                        staleCheckpoints.add(totals.checkpoints.get(i));
+                    }
+                }
+            }
+
+            if (fix) {
+                applyFixes(connection, drifted, staleCheckpoints);
+            }
+            report.finish(rows, orphans, System.nanoTime() - started, fix);
+            return null;
+        });
+        return report;
+    }
+
+    private static Map<String, WalletTotals> loadWallets(Connection connection) throws SQLException {
+        Map<String, WalletTotals> wallets = new LinkedHashMap<>();
+        String sql = "SELECT id, name, balance, openingBalance FROM Wallet ORDER BY name";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                WalletTotals totals = new WalletTotals(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4));
+                wallets.put(totals.id, totals);
+            }
+        }
+        return wallets;
+    }
+
+    private static void loadCheckpoints(Connection connection, Map<String, WalletTotals> wallets) throws SQLException {
+        Map<String, List<Checkpoint>> byWallet = new LinkedHashMap<>();
+        String sql = "SELECT walletId, asOfEpoch, net, rowCount FROM wallet_checkpoint ORDER BY walletId, asOfEpoch";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                Checkpoint checkpoint = new Checkpoint(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+                byWallet.computeIfAbsent(checkpoint.walletId(), id -> new ArrayList<>()).add(checkpoint);
+            }
+        }
+        for (Map.Entry<String, List<Checkpoint>> entry : byWallet.entrySet()) {
+            WalletTotals totals = wallets.get(entry.getKey());
+            if (totals != null) {
+                totals.setCheckpoints(entry.getValue());
+            }
+        }
+    }
+
+    private static void applyFixes(Connection connection, List<WalletTotals> drifted,
+                                   List<Checkpoint> staleCheckpoints) throws SQLException {
+        try (PreparedStatement balance = connection.prepareStatement("UPDATE Wallet SET balance = ? WHERE id = ?");
+             PreparedStatement checkpoint = connection.prepareStatement(
+                 "DELETE FROM wallet_checkpoint WHERE walletId = ? AND asOfEpoch = ?")) {
+            for (WalletTotals totals : drifted) {
+                balance.setLong(1, totals.opening + totals.net);
+                balance.setString(2, totals.id);
+                balance.addBatch();
+            }
+            balance.executeBatch();
+            for (Checkpoint stale : staleCheckpoints) {
+                checkpoint.setString(1, stale.walletId());
+                checkpoint.setLong(2, stale.asOf());
+                checkpoint.addBatch();
+            }
+            checkpoint.executeBatch();
+        }
+    }
+
+    private record Checkpoint(String walletId, long asOf, long net, long rowCount) {
+    }
+
+    /**
+     * Running totals of one wallet during reconcile(). Each ledger row is added to the bucket
+     * of the first checkpoint at or after its time; checkpoint i then covers buckets 0..i.
+     */
+    private static final class WalletTotals {
+        private final String id;
+        private final String name;
+        private final long stored;
+        private final long opening;
+        private long net;
+        private List<Checkpoint> checkpoints = List.of();
+        private long[] asOf = new long[0];
+        private long[] bucketNet = new long[0];
+        private long[] bucketRows = new long[0];
+
+        private WalletTotals(String id, String name, long stored, long opening) {
+            this.id = id;
+            this.name = name;
+            this.stored = stored;
+            this.opening = opening;
+        }
+
+        /**
+         * @param checkpoints The wallet's checkpoints, ordered by asOfEpoch
+         */
+        private void setCheckpoints(List<Checkpoint> checkpoints) {
+            int count = checkpoints.size();
+            this.checkpoints = checkpoints;
+            asOf = new long[count];
+            bucketNet = new long[count];
+            bucketRows = new long[count];
+            for (int i = 0; i < count; i++) {
+                asOf[i] = checkpoints.get(i).asOf();
+            }
+        }
+
+        private void add(long signed, boolean dated, long epoch) {
+            net += signed;
+            if (!dated || asOf.length == 0) {
+                return;
+            }
+            int bucket = Arrays.binarySearch(asOf, epoch);
+            if (bucket < 0) {
+                bucket = -bucket - 1;
+            }
+            if (bucket < asOf.length) {
+                bucketNet[bucket] += signed;
+                bucketRows[bucket]++;
+            }
+        }
+    }
+}
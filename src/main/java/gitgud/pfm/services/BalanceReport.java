@@ -0,0 +1,105 @@
+package gitgud.pfm.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BalanceReport - Result of BalanceEngine.reconcile(): stored vs derived balance per wallet
+ */
+public class BalanceReport {
+
+    /**
+     * One wallet whose stored balance differs from the balance derived from the ledger,
+     * in minor units
+     */
+    public record Drift(String walletId, String name, long stored, long derived) {
+        public long difference() {
+            return stored - derived;
+        }
+    }
+
+    private final List<Drift> drifts = new ArrayList<>();
+    private long walletsChecked;
+    private long rowsScanned;
+    private long orphanRows;
+    private long checkpointsChecked;
+    private long badCheckpoints;
+    private long elapsedNanos;
+    private boolean fixed;
+
+    void walletChecked() {
+        walletsChecked++;
+    }
+
+    void drift(Drift drift) {
+        drifts.add(drift);
+    }
+
+    void checkpointChecked(boolean bad) {
+        checkpointsChecked++;
+        if (bad) {
+            badCheckpoints++;
+        }
+    }
+
+    void finish(long rowsScanned, long orphanRows, long elapsedNanos, boolean fixed) {
+        this.rowsScanned = rowsScanned;
+        this.orphanRows = orphanRows;
+        this.elapsedNanos = elapsedNanos;
+        this.fixed = fixed;
+    }
+
+    public List<Drift> getDrifts() {
+        return Collections.unmodifiableList(drifts);
+    }
+
+    public long getWalletsChecked() {
+        return walletsChecked;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * Ledger rows whose walletId matches no wallet; they count towards no balance
+     */
+    public long getOrphanRows() {
+        return orphanRows;
+    }
+
+    public long getCheckpointsChecked() {
+        return checkpointsChecked;
+    }
+
+    /**
+     * Cached checkpoints whose net no longer matches the rows they cover
+     */
+    public long getBadCheckpoints() {
+        return badCheckpoints;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * True if the run repaired what it found (stored balances set, bad checkpoints dropped)
+     */
+    public boolean isFixed() {
+        return fixed;
+    }
+
+    public boolean isConsistent() {
+        return drifts.isEmpty() && badCheckpoints == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Checked %d wallets against %d transactions in %.2fs: %d drifted, %d of %d checkpoints stale%s%s",
+            walletsChecked, rowsScanned, getElapsedSeconds(), drifts.size(), badCheckpoints, checkpointsChecked,
+            orphanRows > 0 ? ", " + orphanRows + " rows without a wallet" : "",
+            fixed && !isConsistent() ? " (fixed)" : "");
+    }
+}
@@ -2,21 +2,36 @@ package gitgud.pfm.services;
 
 import gitgud.pfm.Models.Budget;
 import gitgud.pfm.Models.BudgetCategory;
+import gitgud.pfm.Models.BudgetProgress;
 import gitgud.pfm.Models.Category;
 import gitgud.pfm.interfaces.CRUDInterface;
+import gitgud.pfm.utils.DateTimeUtils;
+import gitgud.pfm.utils.Money;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * BudgetService - Explicit CRUD operations for Budget entity
  * All SQL queries explicitly show field mappings for clarity
  */
 public class BudgetService implements CRUDInterface<Budget> {
-    private final Connection connection;
+    private final Database database;
+
+    /**
+     * Spending of one budget category from an in-memory store instead of transaction_records:
+     * expenses in categoryId with createEpoch in [start, endExclusive), in walletId only when
+     * it is not null, in minor units. Bounds are DateTimeUtils.UNKNOWN for an unparseable budget date.
+     */
+    @FunctionalInterface
+    public interface SpentSource {
+        long spent(String categoryId, String walletId, long start, long endExclusive);
+    }
     
     public BudgetService() {
-        this.connection = Database.getInstance().getConnection();
+        this.database = Database.getInstance();
     }
     
     /**
@@ -28,11 +43,12 @@ public class BudgetService implements CRUDInterface<Budget> {
         String sql = "INSERT INTO Budget (id, name, limitAmount, balance, startDate, endDate, periodType, walletId) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budget.getId());
             pstmt.setString(2, budget.getName());
-            pstmt.setDouble(3, budget.getLimitAmount());
-            pstmt.setDouble(4, budget.getBalance());
+            pstmt.setLong(3, budget.getLimitAmountMinor());
+            pstmt.setLong(4, budget.getBalanceMinor());
             pstmt.setString(5, budget.getStartDate());
             pstmt.setString(6, budget.getEndDate());
             pstmt.setString(7, budget.getPeriodType() != null ? budget.getPeriodType().name() : "MONTHLY");
@@ -53,7 +69,8 @@ public class BudgetService implements CRUDInterface<Budget> {
         String sql = "SELECT id, name, limitAmount, balance, startDate, endDate, periodType, walletId " +
                      "FROM Budget WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -61,8 +78,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                     Budget budget = new Budget();
                     budget.setId(rs.getString("id"));
                     budget.setName(rs.getString("name"));
-                    budget.setLimitAmount(rs.getDouble("limitAmount"));
-                    budget.setBalance(rs.getDouble("balance"));
+                    budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                    budget.setBalanceMinor(rs.getLong("balance"));
                     budget.setStartDate(rs.getString("startDate"));
                     budget.setEndDate(rs.getString("endDate"));
                     
@@ -94,15 +111,16 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "FROM Budget ORDER BY name";
         List<Budget> budgets = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Budget budget = new Budget();
                 budget.setId(rs.getString("id"));
                 budget.setName(rs.getString("name"));
-                budget.setLimitAmount(rs.getDouble("limitAmount"));
-                budget.setBalance(rs.getDouble("balance"));
+                budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                budget.setBalanceMinor(rs.getLong("balance"));
                 budget.setStartDate(rs.getString("startDate"));
                 budget.setEndDate(rs.getString("endDate"));
                 
@@ -133,10 +151,11 @@ public class BudgetService implements CRUDInterface<Budget> {
         String sql = "UPDATE Budget SET name = ?, limitAmount = ?, balance = ?, startDate = ?, " +
                      "endDate = ?, periodType = ?, walletId = ? WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budget.getName());
-            pstmt.setDouble(2, budget.getLimitAmount());
-            pstmt.setDouble(3, budget.getBalance());
+            pstmt.setLong(2, budget.getLimitAmountMinor());
+            pstmt.setLong(3, budget.getBalanceMinor());
             pstmt.setString(4, budget.getStartDate());
             pstmt.setString(5, budget.getEndDate());
             pstmt.setString(6, budget.getPeriodType() != null ? budget.getPeriodType().name() : "MONTHLY");
@@ -156,7 +175,8 @@ public class BudgetService implements CRUDInterface<Budget> {
     public void delete(String id) {
         String sql = "DELETE FROM Budget WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             
             pstmt.executeUpdate();
@@ -170,15 +190,16 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "ORDER BY name";
         List<Budget> budgets = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Budget budget = new Budget();
                 budget.setId(rs.getString("id"));
                 budget.setName(rs.getString("name"));
-                budget.setLimitAmount(rs.getDouble("limitAmount"));
-                budget.setBalance(rs.getDouble("balance"));
+                budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                budget.setBalanceMinor(rs.getLong("balance"));
                 budget.setStartDate(rs.getString("startDate"));
                 budget.setEndDate(rs.getString("endDate"));
                 
@@ -208,7 +229,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "FROM Budget WHERE walletId = ? ORDER BY name";
         List<Budget> budgets = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, walletId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -216,8 +238,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                     Budget budget = new Budget();
                     budget.setId(rs.getString("id"));
                     budget.setName(rs.getString("name"));
-                    budget.setLimitAmount(rs.getDouble("limitAmount"));
-                    budget.setBalance(rs.getDouble("balance"));
+                    budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                    budget.setBalanceMinor(rs.getLong("balance"));
                     budget.setStartDate(rs.getString("startDate"));
                     budget.setEndDate(rs.getString("endDate"));
                     
@@ -248,15 +270,16 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "FROM Budget WHERE walletId IS NULL ORDER BY name";
         List<Budget> budgets = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Budget budget = new Budget();
                 budget.setId(rs.getString("id"));
                 budget.setName(rs.getString("name"));
-                budget.setLimitAmount(rs.getDouble("limitAmount"));
-                budget.setBalance(rs.getDouble("balance"));
+                budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                budget.setBalanceMinor(rs.getLong("balance"));
                 budget.setStartDate(rs.getString("startDate"));
                 budget.setEndDate(rs.getString("endDate"));
                 
@@ -290,7 +313,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "ORDER BY c.name";
         List<Category> categories = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -326,7 +350,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "FROM Budget_Category WHERE budgetID = ?";
         List<BudgetCategory> budgetCategories = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -335,8 +360,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                     bc.setBudgetId(rs.getString("budgetID"));
                     bc.setCategoryId(rs.getString("categoryID"));
                     
-                    double limit = rs.getDouble("categoryLimit");
-                    bc.setCategoryLimit(rs.wasNull() ? null : limit);
+                    long limit = rs.getLong("categoryLimit");
+                    bc.setCategoryLimitMinor(rs.wasNull() ? null : limit);
                     
                     budgetCategories.add(bc);
                 }
@@ -359,7 +384,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                      "ORDER BY b.name";
         List<Budget> budgets = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, categoryId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -367,8 +393,8 @@ public class BudgetService implements CRUDInterface<Budget> {
                     Budget budget = new Budget();
                     budget.setId(rs.getString("id"));
                     budget.setName(rs.getString("name"));
-                    budget.setLimitAmount(rs.getDouble("limitAmount"));
-                    budget.setBalance(rs.getDouble("balance"));
+                    budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                    budget.setBalanceMinor(rs.getLong("balance"));
                     budget.setStartDate(rs.getString("startDate"));
                     budget.setEndDate(rs.getString("endDate"));
                     
@@ -399,7 +425,8 @@ public class BudgetService implements CRUDInterface<Budget> {
         String sql = "SELECT COUNT(*) FROM Budget_Category " +
                      "WHERE budgetID = ? AND categoryID = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             pstmt.setString(2, categoryId);
             
@@ -428,13 +455,14 @@ public class BudgetService implements CRUDInterface<Budget> {
     public void addCategoryToBudget(String budgetId, String categoryId, Double categoryLimit) {
         String sql = "INSERT INTO Budget_Category (budgetID, categoryID, categoryLimit) VALUES (?, ?, ?)";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             pstmt.setString(2, categoryId);
             if (categoryLimit != null) {
-                pstmt.setDouble(3, categoryLimit);
+                pstmt.setLong(3, Money.ofMajor(categoryLimit.doubleValue()));
             } else {
-                pstmt.setNull(3, Types.DOUBLE);
+                pstmt.setNull(3, Types.INTEGER);
             }
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -452,11 +480,12 @@ public class BudgetService implements CRUDInterface<Budget> {
     public void updateCategoryLimit(String budgetId, String categoryId, Double categoryLimit) {
         String sql = "UPDATE Budget_Category SET categoryLimit = ? WHERE budgetID = ? AND categoryID = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             if (categoryLimit != null) {
-                pstmt.setDouble(1, categoryLimit);
+                pstmt.setLong(1, Money.ofMajor(categoryLimit.doubleValue()));
             } else {
-                pstmt.setNull(1, Types.DOUBLE);
+                pstmt.setNull(1, Types.INTEGER);
             }
             pstmt.setString(2, budgetId);
             pstmt.setString(3, categoryId);
@@ -472,14 +501,15 @@ public class BudgetService implements CRUDInterface<Budget> {
     public Double getCategoryLimit(String budgetId, String categoryId) {
         String sql = "SELECT categoryLimit FROM Budget_Category WHERE budgetID = ? AND categoryID = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             pstmt.setString(2, categoryId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    double limit = rs.getDouble("categoryLimit");
-                    return rs.wasNull() ? null : limit;
+                    long limit = rs.getLong("categoryLimit");
+                    return rs.wasNull() ? null : Money.toMajor(limit);
                 }
             }
         } catch (SQLException e) {
@@ -494,7 +524,8 @@ public class BudgetService implements CRUDInterface<Budget> {
     public void removeCategoryFromBudget(String budgetId, String categoryId) {
         String sql = "DELETE FROM Budget_Category WHERE budgetID = ? AND categoryID = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             pstmt.setString(2, categoryId);
             pstmt.executeUpdate();
@@ -509,36 +540,28 @@ public class BudgetService implements CRUDInterface<Budget> {
      */
     public void setCategoriesForBudget(String budgetId, List<String> categoryIds) {
         try {
-            connection.setAutoCommit(false);
-            
-            // Step 1: Delete all existing category links
-            String deleteSql = "DELETE FROM Budget_Category WHERE budgetID = ?";
-            try (PreparedStatement deleteStmt = connection.prepareStatement(deleteSql)) {
-                deleteStmt.setString(1, budgetId);
-                deleteStmt.executeUpdate();
-            }
-            
-            // Step 2: Insert new category links
-            String insertSql = "INSERT INTO Budget_Category (budgetID, categoryID, categoryLimit) VALUES (?, ?, ?)";
-            try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
-                for (String categoryId : categoryIds) {
-                    insertStmt.setString(1, budgetId);
-                    insertStmt.setString(2, categoryId);
-                    insertStmt.setNull(3, Types.DOUBLE);
-                    insertStmt.addBatch();
+            database.inTransaction(connection -> {
+                // Step 1: Delete all existing category links
+                String deleteSql = "DELETE FROM Budget_Category WHERE budgetID = ?";
+                try (PreparedStatement deleteStmt = connection.prepareStatement(deleteSql)) {
+                    deleteStmt.setString(1, budgetId);
+                    deleteStmt.executeUpdate();
                 }
-                insertStmt.executeBatch();
-            }
-            
-            connection.commit();
-            connection.setAutoCommit(true);
+                
+                // Step 2: Insert new category links
+                String insertSql = "INSERT INTO Budget_Category (budgetID, categoryID, categoryLimit) VALUES (?, ?, ?)";
+                try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
+                    for (String categoryId : categoryIds) {
+                        insertStmt.setString(1, budgetId);
+                        insertStmt.setString(2, categoryId);
+                        insertStmt.setNull(3, Types.INTEGER);
+                        insertStmt.addBatch();
+                    }
+                    insertStmt.executeBatch();
+                }
+                return null;
+            });
         } catch (SQLException e) {
-            try {
-                connection.rollback();
-                connection.setAutoCommit(true);
-            } catch (SQLException rollbackEx) {
-                System.err.println("Error during rollback: " + rollbackEx.getMessage());
-            }
             System.err.println("Error setting categories for budget: " + e.getMessage());
         }
     }
@@ -550,7 +573,8 @@ public class BudgetService implements CRUDInterface<Budget> {
     public void removeAllCategoriesFromBudget(String budgetId) {
         String sql = "DELETE FROM Budget_Category WHERE budgetID = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, budgetId);
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -583,18 +607,18 @@ public class BudgetService implements CRUDInterface<Budget> {
         sql.append("INNER JOIN Budget_Category bc ON t.categoryId = bc.categoryID ");
         sql.append("WHERE bc.budgetID = ? ");
         sql.append("AND t.income = 0 ");
-        sql.append("AND t.createTime BETWEEN ? AND ? ");
+        sql.append("AND t.createEpoch >= ? AND t.createEpoch < ? ");
         
         // If budget is wallet-specific, add wallet filter
         if (budget.getWalletId() != null && !budget.getWalletId().isEmpty()) {
             sql.append("AND t.walletId = ? ");
         }
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
             int paramIndex = 1;
             pstmt.setString(paramIndex++, budgetId);
-            pstmt.setString(paramIndex++, budget.getStartDate());
-            pstmt.setString(paramIndex++, budget.getEndDate());
+            paramIndex = bindDateRange(pstmt, paramIndex, budget);
             
             if (budget.getWalletId() != null && !budget.getWalletId().isEmpty()) {
                 pstmt.setString(paramIndex++, budget.getWalletId());
@@ -602,7 +626,7 @@ public class BudgetService implements CRUDInterface<Budget> {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getDouble("total");
+                    return Money.toMajor(rs.getLong("total"));
                 }
             }
         } catch (SQLException e) {
@@ -611,6 +635,24 @@ public class BudgetService implements CRUDInterface<Budget> {
         return 0.0;
     }
     
+    /**
+     * Bind [start of startDate, start of the day after endDate) as createEpoch bounds.
+     * An unparseable date binds NULL, which matches no transactions.
+     * @return the next parameter index
+     */
+    private static int bindDateRange(PreparedStatement pstmt, int paramIndex, Budget budget) throws SQLException {
+        long start = DateTimeUtils.parseEpochSecond(budget.getStartDate());
+        long endExclusive = DateTimeUtils.startOfNextDay(DateTimeUtils.parseEpochSecond(budget.getEndDate()));
+        for (long bound : new long[]{start, endExclusive}) {
+            if (bound == DateTimeUtils.UNKNOWN) {
+                pstmt.setNull(paramIndex++, Types.INTEGER);
+            } else {
+                pstmt.setLong(paramIndex++, bound);
+            }
+        }
+        return paramIndex;
+    }
+
     /**
      * Calculate spending for a specific category within a budget's date range
      */
@@ -619,38 +661,35 @@ public class BudgetService implements CRUDInterface<Budget> {
         if (budget == null) return 0.0;
         
         String sql;
-        PreparedStatement pstmt;
-        
-        try {
+        boolean walletSpecific = budget.getWalletId() != null && !budget.getWalletId().isEmpty();
+        if (walletSpecific) {
             // If budget is wallet-specific, filter by walletId
-            if (budget.getWalletId() != null && !budget.getWalletId().isEmpty()) {
-                sql = "SELECT COALESCE(SUM(amount), 0) as total " +
-                      "FROM transaction_records " +
-                      "WHERE income = 0 AND categoryId = ? AND walletId = ? " +
-                      "AND createTime BETWEEN ? AND ?";
-                pstmt = connection.prepareStatement(sql);
-                pstmt.setString(1, categoryId);
-                pstmt.setString(2, budget.getWalletId());
-                pstmt.setString(3, budget.getStartDate());
-                pstmt.setString(4, budget.getEndDate());
-            } else {
-                // Account-wide budget
-                sql = "SELECT COALESCE(SUM(amount), 0) as total " +
-                      "FROM transaction_records " +
-                      "WHERE income = 0 AND categoryId = ? " +
-                      "AND createTime BETWEEN ? AND ?";
-                pstmt = connection.prepareStatement(sql);
-                pstmt.setString(1, categoryId);
-                pstmt.setString(2, budget.getStartDate());
-                pstmt.setString(3, budget.getEndDate());
+            sql = "SELECT COALESCE(SUM(amount), 0) as total " +
+                  "FROM transaction_records " +
+                  "WHERE income = 0 AND categoryId = ? AND walletId = ? " +
+                  "AND createEpoch >= ? AND createEpoch < ?";
+        } else {
+            // Account-wide budget
+            sql = "SELECT COALESCE(SUM(amount), 0) as total " +
+                  "FROM transaction_records " +
+                  "WHERE income = 0 AND categoryId = ? " +
+                  "AND createEpoch >= ? AND createEpoch < ?";
+        }
+        
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int paramIndex = 1;
+            pstmt.setString(paramIndex++, categoryId);
+            if (walletSpecific) {
+                pstmt.setString(paramIndex++, budget.getWalletId());
             }
+            bindDateRange(pstmt, paramIndex, budget);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getDouble("total");
+                    return Money.toMajor(rs.getLong("total"));
                 }
             }
-            pstmt.close();
         } catch (SQLException e) {
             System.err.println("Error calculating category spending: " + e.getMessage());
         }
@@ -662,37 +701,118 @@ public class BudgetService implements CRUDInterface<Budget> {
      * Returns BudgetCategory objects with spent, remaining, and percentage
      */
     public List<BudgetCategory> getSpendingBreakdown(String budgetId) {
-        List<BudgetCategory> breakdown = new ArrayList<>();
-        Budget budget = read(budgetId);
-        if (budget == null) return breakdown;
-        
-        // Get all categories linked to this budget
-        List<BudgetCategory> budgetCategories = getBudgetCategoriesForBudget(budgetId);
-        
-        for (BudgetCategory bc : budgetCategories) {
-            // Get category details
-            CategoryService categoryService = new CategoryService();
-            Category category = categoryService.read(bc.getCategoryId());
-            if (category == null) continue;
-            
-            // Calculate spent amount
-            double spent = getSpentForCategory(budgetId, bc.getCategoryId());
-            
-            // Create spending object with calculated values
-            BudgetCategory spending = new BudgetCategory(
-                budgetId,
-                bc.getCategoryId(),
-                category.getName(),
-                bc.getCategoryLimit(),
-                spent
-            );
-            
-            breakdown.add(spending);
+        BudgetProgress progress = queryBudgetProgress(budgetId).get(budgetId);
+        return progress == null ? new ArrayList<>() : new ArrayList<>(progress.getCategories());
+    }
+
+    /**
+     * Spent/remaining/percentage for every budget and every budget-category, keyed by
+     * budget ID in name order. One grouped query instead of a read + SUM per category.
+     */
+    public Map<String, BudgetProgress> computeAllBudgetProgress() {
+        return queryBudgetProgress(null);
+    }
+
+    /**
+     * computeAllBudgetProgress() with the spending taken from spentSource: the budgets and
+     * their categories come from the database, the per-category sums from memory
+     */
+    public Map<String, BudgetProgress> computeAllBudgetProgress(SpentSource spentSource) {
+        return queryBudgetProgress(null, spentSource);
+    }
+
+    /**
+     * One pass over Budget LEFT JOIN Budget_Category LEFT JOIN transaction_records, grouped
+     * per (budget, category). Same rules as getSpentForCategory: expenses only, createEpoch
+     * within the budget dates, and the budget's wallet when it has one.
+     * Explicit fields: b.id, b.name, b.limitAmount, b.balance, b.startDate, b.endDate, b.periodType,
+     * b.walletId, bc.categoryID, bc.categoryLimit, c.name, SUM(t.amount)
+     */
+    private Map<String, BudgetProgress> queryBudgetProgress(String budgetId) {
+        return queryBudgetProgress(budgetId, null);
+    }
+
+    /**
+     * @param spentSource Per-category spending, or null to sum transaction_records in the query
+     */
+    private Map<String, BudgetProgress> queryBudgetProgress(String budgetId, SpentSource spentSource) {
+        String sql = "SELECT b.id, b.name, b.limitAmount, b.balance, b.startDate, b.endDate, b.periodType, b.walletId, " +
+                     "bc.categoryID, bc.categoryLimit, c.name AS categoryName, " +
+                     (spentSource != null ? "0" : "COALESCE(SUM(t.amount), 0)") + " AS spent " +
+                     "FROM Budget b " +
+                     "LEFT JOIN Budget_Category bc ON bc.budgetID = b.id " +
+                     "LEFT JOIN Category c ON c.id = bc.categoryID " +
+                     (spentSource != null ? "" :
+                     "LEFT JOIN transaction_records t ON t.categoryId = bc.categoryID AND t.income = 0 " +
+                     "AND t.createEpoch >= unixepoch(b.startDate) " +
+                     "AND t.createEpoch < unixepoch(b.endDate, 'start of day', '+1 day') " +
+                     "AND (b.walletId IS NULL OR b.walletId = '' OR t.walletId = b.walletId) ") +
+                     (budgetId != null ? "WHERE b.id = ? " : "") +
+                     "GROUP BY b.id, bc.categoryID " +
+                     "ORDER BY b.name, b.id, c.name";
+        Map<String, BudgetProgress> progressById = new LinkedHashMap<>();
+
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            if (budgetId != null) {
+                pstmt.setString(1, budgetId);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String id = rs.getString("id");
+                    BudgetProgress progress = progressById.get(id);
+                    if (progress == null) {
+                        Budget budget = new Budget();
+                        budget.setId(id);
+                        budget.setName(rs.getString("name"));
+                        budget.setLimitAmountMinor(rs.getLong("limitAmount"));
+                        budget.setBalanceMinor(rs.getLong("balance"));
+                        budget.setStartDate(rs.getString("startDate"));
+                        budget.setEndDate(rs.getString("endDate"));
+
+                        String periodTypeStr = rs.getString("periodType");
+                        if (periodTypeStr != null) {
+                            try {
+                                budget.setPeriodType(Budget.PeriodType.valueOf(periodTypeStr));
+                            } catch (IllegalArgumentException e) {
+                                budget.setPeriodType(Budget.PeriodType.MONTHLY);
+                            }
+                        }
+
+                        budget.setWalletId(rs.getString("walletId"));
+                        progress = new BudgetProgress(budget);
+                        progressById.put(id, progress);
+                    }
+
+                    // Budgets without tracked categories come back as a single row with NULL categoryID
+                    String categoryId = rs.getString("categoryID");
+                    String categoryName = rs.getString("categoryName");
+                    if (categoryId != null && categoryName != null) {
+                        long limit = rs.getLong("categoryLimit");
+                        Long categoryLimit = rs.wasNull() ? null : limit;
+                        long spent = spentSource != null
+                            ? spentFrom(spentSource, progress.getBudget(), categoryId) : rs.getLong("spent");
+                        progress.addCategory(new BudgetCategory(id, categoryId, categoryName, categoryLimit, spent));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error computing budget progress: " + e.getMessage());
         }
-        
-        return breakdown;
+        return progressById;
     }
     
+    /**
+     * Same bounds as the transaction join in queryBudgetProgress and bindDateRange
+     */
+    private static long spentFrom(SpentSource spentSource, Budget budget, String categoryId) {
+        long start = DateTimeUtils.parseEpochSecond(budget.getStartDate());
+        long endExclusive = DateTimeUtils.startOfNextDay(DateTimeUtils.parseEpochSecond(budget.getEndDate()));
+        String walletId = budget.getWalletId() != null && !budget.getWalletId().isEmpty() ? budget.getWalletId() : null;
+        return spentSource.spent(categoryId, walletId, start, endExclusive);
+    }
+
     /**
      * Calculate remaining budget for entire budget
      */
@@ -700,8 +820,8 @@ public class BudgetService implements CRUDInterface<Budget> {
         Budget budget = read(budgetId);
         if (budget == null) return 0.0;
         
-        double totalSpent = getTotalSpentForBudget(budgetId);
-        return budget.getLimitAmount() - totalSpent;
+        long totalSpent = Money.ofMajor(getTotalSpentForBudget(budgetId));
+        return Money.toMajor(budget.getLimitAmountMinor() - totalSpent);
     }
     
     /**
@@ -716,8 +836,8 @@ public class BudgetService implements CRUDInterface<Budget> {
             return getRemainingBudget(budgetId);
         }
         
-        double spent = getSpentForCategory(budgetId, categoryId);
-        return categoryLimit - spent;
+        long spent = Money.ofMajor(getSpentForCategory(budgetId, categoryId));
+        return Money.toMajor(Money.ofMajor(categoryLimit.doubleValue()) - spent);
     }
     
     /**
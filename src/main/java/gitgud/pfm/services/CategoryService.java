@@ -10,10 +10,10 @@ import gitgud.pfm.Models.Category;
 import gitgud.pfm.interfaces.CRUDInterface;
 
 public class CategoryService implements CRUDInterface<Category> {
-    private final Connection connection;
+    private final Database database;
 
     public CategoryService() {
-        this.connection = Database.getInstance().getConnection();
+        this.database = Database.getInstance();
     }
 
     public List<Category> getDefaultCategories() {
@@ -42,7 +42,8 @@ public class CategoryService implements CRUDInterface<Category> {
     public void create(Category category) {
         String sql = "INSERT INTO Category (id, name, description, type) VALUES (?, ?, ?, ?)";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, category.getId());
             pstmt.setString(2, category.getName());
             pstmt.setString(3, category.getDescription());
@@ -61,7 +62,8 @@ public class CategoryService implements CRUDInterface<Category> {
     public Category read(String id) {
         String sql = "SELECT id, name, description, type FROM Category WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -95,7 +97,8 @@ public class CategoryService implements CRUDInterface<Category> {
     public void update(Category category) {
         String sql = "UPDATE Category SET name = ?, description = ?, type = ? WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, category.getName());
             pstmt.setString(2, category.getDescription());
             pstmt.setString(3, category.getType() != null ? category.getType().toString() : "EXPENSE");
@@ -114,7 +117,8 @@ public class CategoryService implements CRUDInterface<Category> {
     public void delete(String id) {
         String sql = "DELETE FROM Category WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -131,7 +135,8 @@ public class CategoryService implements CRUDInterface<Category> {
         String sql = "SELECT id, name, description, type FROM Category ORDER BY CAST(id AS INTEGER)";
         List<Category> categories = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
@@ -171,7 +176,8 @@ public class CategoryService implements CRUDInterface<Category> {
         String sql = "SELECT id, name, description, type FROM Category WHERE type = ? ORDER BY CAST(id AS INTEGER)";
         List<Category> categories = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, type.toString());
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -197,7 +203,8 @@ public class CategoryService implements CRUDInterface<Category> {
     public boolean exists(String id) {
         String sql = "SELECT COUNT(*) FROM Category WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -0,0 +1,202 @@
+package gitgud.pfm.services;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * ConnectionPool - One writer connection plus N read-only connections
+ *
+ * SQLite allows a single writer at a time, so the writer connection is guarded by a
+ * reentrant lock; readers run concurrently against the WAL. Connections are handed
+ * out as leases: closing the returned Connection gives it back to the pool instead of
+ * closing the underlying SQLite handle.
+ *
+ * Leases are per-thread and reentrant:
+ * - a thread that already holds a reader gets the same reader again (no pool deadlock
+ *   when one service method calls another)
+ * - a thread that holds the writer reads through the writer, so it sees its own
+ *   uncommitted changes
+ *
+ * While a unit of work is open (see Database.inTransaction), statements created on the
+ * writer are watched: one that fails marks the unit rollback-only, even if the service
+ * that ran it swallowed the exception.
+ */
+final class ConnectionPool {
+    private final Connection writer;
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private final List<Connection> readers;
+    private final BlockingQueue<Connection> idleReaders;
+    private final ThreadLocal<ReaderHold> readerHold = new ThreadLocal<>();
+    // Unit-of-work state; only touched by the thread holding writerLock
+    private boolean unitOpen;
+    private boolean rollbackOnly;
+
+    private static final class ReaderHold {
+        private final Connection connection;
+        private int count;
+
+        private ReaderHold(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    ConnectionPool(Connection writer, List<Connection> readers) {
+        this.writer = writer;
+        this.readers = new ArrayList<>(readers);
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readers.size()), false, readers);
+    }
+
+    /**
+     * The raw writer connection (not leased). Only for startup code such as schema setup.
+     */
+    Connection rawWriter() {
+        return writer;
+    }
+
+    int readerCount() {
+        return readers.size();
+    }
+
+    /**
+     * Borrow the writer. Blocks while another thread holds it.
+     */
+    Connection borrowWriter() {
+        writerLock.lock();
+        // Services borrowing inside an open unit get watched statements; the unit's own
+        // connection is not watched, since code using it directly sees its exceptions
+        return lease(writer, writerLock::unlock, unitOpen ? this::watchStatement : null);
+    }
+
+    /**
+     * Start tracking failed statements; the caller must hold the writer
+     */
+    void beginUnit() {
+        unitOpen = true;
+        rollbackOnly = false;
+    }
+
+    void endUnit() {
+        unitOpen = false;
+        rollbackOnly = false;
+    }
+
+    void markRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    /**
+     * Borrow a read-only connection. Blocks while all readers are in use.
+     */
+    Connection borrowReader() throws SQLException {
+        if (writerLock.isHeldByCurrentThread() || readers.isEmpty()) {
+            return borrowWriter();
+        }
+
+        ReaderHold hold = readerHold.get();
+        if (hold == null) {
+            try {
+                hold = new ReaderHold(idleReaders.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            }
+            readerHold.set(hold);
+        }
+        hold.count++;
+        return lease(hold.connection, this::releaseReader, null);
+    }
+
+    private void releaseReader() {
+        ReaderHold hold = readerHold.get();
+        if (hold != null && --hold.count == 0) {
+            readerHold.remove();
+            idleReaders.offer(hold.connection);
+        }
+    }
+
+    /**
+     * Close every underlying connection
+     */
+    void closeAll() throws SQLException {
+        for (Connection reader : readers) {
+            reader.close();
+        }
+        writer.close();
+    }
+
+    /**
+     * Inside an open unit, wrap a statement so that a failing call marks the unit rollback-only
+     */
+    private Object watchStatement(Object statement, Class<?> type) {
+        if (!unitOpen || !writerLock.isHeldByCurrentThread()) {
+            return statement;
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    markRollbackOnly();
+                }
+                throw e.getCause();
+            }
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Wrap a pooled connection so that close() runs the release action exactly once.
+     * Statements it creates are passed through the optional watcher.
+     */
+    private static Connection lease(Connection target, Runnable release,
+                                    BiFunction<Object, Class<?>, Object> watcher) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!released) {
+                            released = true;
+                            release.run();
+                        }
+                        return null;
+                    case "isClosed":
+                        return released || target.isClosed();
+                    default:
+                        if (released) {
+                            throw new SQLException("Connection lease already returned to the pool");
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        if (watcher != null && result instanceof Statement) {
+                            return watcher.apply(result, method.getReturnType());
+                        }
+                        return result;
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -1,21 +1,52 @@
 package gitgud.pfm.services;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Database - Owns the SQLite connection pool
+ *
+ * Thread-safety: services must not hold on to a Connection. They borrow one per
+ * operation with getReadConnection() or getWriteConnection() inside a
+ * try-with-resources block; closing the borrowed connection returns it to the pool.
+ * Reads from different threads run in parallel on read-only connections (WAL mode),
+ * while writes are serialized on the single writer connection.
+ *
+ * Related writes that must land together (a transaction and the wallet balance it moves)
+ * go through inTransaction(), which runs them as one SQLite transaction with one commit.
+ */
 public class Database {
-    private static Database instance = null;
-    private static final String DB_URL = "jdbc:sqlite:GG_Personal_Finance.db";
-    private Connection connection;
+    /**
+     * Body of a unit of work; runs on the writer connection with auto-commit off
+     */
+    @FunctionalInterface
+    public interface UnitOfWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    private static volatile Database instance = null;
+    private final DatabaseConfig config;
+    private final ConnectionPool pool;
 
     private Database() {
+        this.config = DatabaseConfig.load();
         try {
-            this.connection = DriverManager.getConnection(DB_URL);
-            System.out.println("Connection to SQLite has been established.");
-            
+            Connection writer = config.writerConfig().createConnection(config.getUrl());
+            System.out.println("Connection to SQLite has been established: " + config.getPath());
+
             // Initialize database schema on first connection
-            DatabaseInitializer.initializeDatabase(this.connection);
+            DatabaseInitializer.initializeDatabase(writer);
+
+            // Readers are opened after the schema exists; WAL lets them run alongside the writer
+            int readerCount = config.getReaders();
+            List<Connection> readers = new ArrayList<>(readerCount);
+            for (int i = 0; i < readerCount; i++) {
+                readers.add(config.readerConfig().createConnection(config.getUrl()));
+            }
+            this.pool = new ConnectionPool(writer, readers);
+            DatabaseConfig.logEffectiveSettings(writer, readerCount);
         } catch (SQLException e) {
             System.err.println("Database connection failed: " + e.getMessage());
             throw new RuntimeException("Failed to connect to database", e);
@@ -33,23 +64,82 @@ public class Database {
         return instance;
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(DB_URL);
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Borrow a read-only connection. Close it (try-with-resources) to return it to the pool.
+     */
+    public Connection getReadConnection() throws SQLException {
+        return pool.borrowReader();
+    }
+
+    /**
+     * Borrow the single writer connection. Other writers block until it is closed.
+     */
+    public Connection getWriteConnection() {
+        return pool.borrowWriter();
+    }
+
+    /**
+     * Run the work as one database transaction: everything commits together (a single fsync)
+     * or nothing does. Services called from the work borrow the same writer connection, so
+     * their statements join the transaction; if any of them fails, even one whose service
+     * only logs the error, the whole unit is rolled back and an SQLException is thrown.
+     *
+     * Nested calls on the same thread join the outer unit instead of committing early.
+     */
+    public <T> T inTransaction(UnitOfWork<T> work) throws SQLException {
+        try (Connection connection = getWriteConnection()) {
+            if (!connection.getAutoCommit()) {
+                // Already inside a unit on this thread: join it, and let it roll back on failure
+                try {
+                    return work.execute(connection);
+                } catch (Throwable e) {
+                    pool.markRollbackOnly();
+                    throw e;
+                }
+            }
+
+            connection.setAutoCommit(false);
+            pool.beginUnit();
+            try {
+                T result = work.execute(connection);
+                if (pool.isRollbackOnly()) {
+                    throw new SQLException("A statement in the unit of work failed");
+                }
+                connection.commit();
+                return result;
+            } catch (Throwable e) {
+                // Any failure, Errors included: restoring auto-commit below would otherwise
+                // commit whatever part of the unit already ran
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            } finally {
+                pool.endUnit();
+                connection.setAutoCommit(true);
             }
-        } catch (SQLException e) {
-            System.err.println("Failed to get connection: " + e.getMessage());
         }
-        return connection;
+    }
+
+    /**
+     * Raw writer connection, not leased and not guarded against concurrent use.
+     * @deprecated borrow a connection with getReadConnection()/getWriteConnection() instead
+     */
+    @Deprecated
+    public Connection getConnection() {
+        return pool.rawWriter();
     }
 
     public void closeConnection() {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
-            }
+            pool.closeAll();
+            System.out.println("Database connection closed.");
         } catch (SQLException e) {
             System.err.println("Error closing connection: " + e.getMessage());
         }
@@ -0,0 +1,190 @@
+package gitgud.pfm.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Properties;
+import org.sqlite.SQLiteConfig;
+
+/**
+ * DatabaseConfig - Connection settings for the SQLite database
+ *
+ * Values are resolved in this order (later wins):
+ * 1. built-in defaults
+ * 2. a properties file named by -Dpfm.db.config
+ * 3. system properties (-Dpfm.db.path=..., -Dpfm.db.synchronous=..., ...)
+ *
+ * Keys: pfm.db.path, pfm.db.journalMode, pfm.db.synchronous, pfm.db.cacheSize,
+ * pfm.db.mmapSize, pfm.db.tempStore, pfm.db.busyTimeout, pfm.db.readers, pfm.db.batchSize,
+ * pfm.db.bulkCacheSize
+ */
+public final class DatabaseConfig {
+    private static final String PREFIX = "pfm.db.";
+
+    private final String path;
+    private final SQLiteConfig.JournalMode journalMode;
+    private final SQLiteConfig.SynchronousMode synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final SQLiteConfig.TempStore tempStore;
+    private final int busyTimeout;
+    private final int readers;
+    private final int batchSize;
+    private final int bulkCacheSize;
+
+    private DatabaseConfig(Properties props) {
+        this.path = props.getProperty(PREFIX + "path", "GG_Personal_Finance.db");
+        this.journalMode = parseEnum(SQLiteConfig.JournalMode.class, props, "journalMode",
+            SQLiteConfig.JournalMode.WAL);
+        // NORMAL is durable against application crashes in WAL mode and skips the fsync per commit
+        this.synchronous = parseEnum(SQLiteConfig.SynchronousMode.class, props, "synchronous",
+            SQLiteConfig.SynchronousMode.NORMAL);
+        // Negative cache_size is in KiB: -20000 is about 20 MB of page cache per connection
+        this.cacheSize = (int) parseLong(props, "cacheSize", -20000);
+        this.mmapSize = parseLong(props, "mmapSize", 256L * 1024 * 1024);
+        this.tempStore = parseEnum(SQLiteConfig.TempStore.class, props, "tempStore",
+            SQLiteConfig.TempStore.MEMORY);
+        this.busyTimeout = (int) parseLong(props, "busyTimeout", 5000);
+        this.readers = (int) Math.max(0, parseLong(props, "readers",
+            Math.min(8, Runtime.getRuntime().availableProcessors())));
+        this.batchSize = (int) Math.max(1, parseLong(props, "batchSize", 1000));
+        // Page cache used on the writer while a bulk insert runs (about 128 MB)
+        this.bulkCacheSize = (int) parseLong(props, "bulkCacheSize", -131072);
+    }
+
+    /**
+     * Load the configuration from the optional config file and system properties
+     */
+    public static DatabaseConfig load() {
+        Properties props = new Properties();
+        String configFile = System.getProperty(PREFIX + "config");
+        if (configFile != null && !configFile.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(configFile))) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("Error reading database config " + configFile + ": " + e.getMessage());
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                props.setProperty(name, System.getProperty(name));
+            }
+        }
+        return new DatabaseConfig(props);
+    }
+
+    public String getUrl() {
+        return "jdbc:sqlite:" + path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getReaders() {
+        return readers;
+    }
+
+    /**
+     * Default number of rows per executeBatch() for bulk inserts
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * cache_size applied to the writer for the duration of a bulk insert
+     */
+    public int getBulkCacheSize() {
+        return bulkCacheSize;
+    }
+
+    /**
+     * Settings for the read/write connection (sets the journal mode, which is stored in the file)
+     */
+    SQLiteConfig writerConfig() {
+        SQLiteConfig config = baseConfig();
+        config.setJournalMode(journalMode);
+        return config;
+    }
+
+    /**
+     * Settings for a read-only connection
+     */
+    SQLiteConfig readerConfig() {
+        SQLiteConfig config = baseConfig();
+        config.setReadOnly(true);
+        return config;
+    }
+
+    private SQLiteConfig baseConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setSynchronous(synchronous);
+        config.setCacheSize(cacheSize);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        config.setTempStore(tempStore);
+        config.setBusyTimeout(busyTimeout);
+        return config;
+    }
+
+    /**
+     * Print the settings SQLite actually applied on the given connection
+     */
+    static void logEffectiveSettings(Connection connection, int readerCount) {
+        StringBuilder sb = new StringBuilder("Database settings:");
+        try (Statement stmt = connection.createStatement()) {
+            for (String pragma : new String[]{"journal_mode", "synchronous", "cache_size",
+                    "mmap_size", "temp_store", "busy_timeout"}) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA " + pragma)) {
+                    sb.append(' ').append(pragma).append('=').append(rs.next() ? rs.getString(1) : "?");
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading database settings: " + e.getMessage());
+            return;
+        }
+        sb.append(" readers=").append(readerCount);
+        System.out.println(sb);
+    }
+
+    private static long parseLong(Properties props, String key, long fallback) {
+        String value = props.getProperty(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + PREFIX + key + " '" + value + "', using " + fallback);
+            return fallback;
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, Properties props, String key, E fallback) {
+        String value = props.getProperty(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid " + PREFIX + key + " '" + value + "', using " + fallback);
+            return fallback;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseConfig{path='" + path + "', journalMode=" + journalMode +
+               ", synchronous=" + synchronous + ", cacheSize=" + cacheSize +
+               ", mmapSize=" + mmapSize + ", tempStore=" + tempStore +
+               ", busyTimeout=" + busyTimeout + ", readers=" + readers + ", batchSize=" + batchSize +
+               ", bulkCacheSize=" + bulkCacheSize + "}";
+    }
+}
@@ -1,11 +1,15 @@
 package gitgud.pfm.services;
 
+import gitgud.pfm.utils.DateTimeUtils;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * ═══════════════════════════════════════════════════════════════════════════════
@@ -21,6 +25,9 @@ import java.sql.Statement;
  * - Wallets: Account/wallet management (renamed from Accounts conceptually)
  * - transaction_records: Individual transaction records
  * 
+ * After the tables exist, versioned schema migrations are applied (tracked in
+ * PRAGMA user_version) to add indexes and other structures to existing files.
+ * 
  * ═══════════════════════════════════════════════════════════════════════════════
  */
 public class DatabaseInitializer {
@@ -132,6 +139,7 @@ public class DatabaseInitializer {
                         "income"  NUMERIC,
                         "walletId"  TEXT,
                         "createTime"  TEXT,
+                        "createEpoch"  INTEGER,
                         PRIMARY KEY("id"),
                         FOREIGN KEY("walletId") REFERENCES "Wallet"("id") ON DELETE CASCADE,
                         FOREIGN KEY("categoryId") REFERENCES "Category"("id") ON DELETE SET NULL
@@ -165,6 +173,9 @@ public class DatabaseInitializer {
                 seedDefaultCategories(connection);
             }
 
+            // Bring indexes and other derived structures up to the current schema version
+            runMigrations(connection);
+
             System.out.println("Database initialization complete with proper foreign key relationships.");
 
         } catch (SQLException e) {
@@ -173,6 +184,446 @@ public class DatabaseInitializer {
         }
     }
 
+    // ==================== SCHEMA MIGRATIONS ====================
+
+    /**
+     * Latest schema version. Bump this and add a step to runMigrations() for every change.
+     */
+    public static final int SCHEMA_VERSION = 9;
+
+    /**
+     * Apply all migration steps newer than the version stored in PRAGMA user_version.
+     * Each step is idempotent (IF NOT EXISTS), so a partially migrated file is safe to re-run.
+     *
+     * @param connection The active database connection
+     * @throws SQLException If a migration step fails
+     */
+    private static void runMigrations(Connection connection) throws SQLException {
+        int version = getSchemaVersion(connection);
+        if (version >= SCHEMA_VERSION) {
+            return;
+        }
+
+        if (version < 1) {
+            createTransactionIndexes(connection);
+        }
+        if (version < 2) {
+            createTransactionTimeIndex(connection);
+        }
+        if (version < 3) {
+            addTransactionEpochColumn(connection);
+        }
+        if (version < 4) {
+            createTransactionKeysetIndex(connection);
+        }
+        if (version < 5) {
+            createBalanceLedger(connection);
+        }
+        if (version < 6) {
+            addTransactionGoalColumn(connection);
+        }
+        if (version < 7) {
+            createNameSearchIndex(connection);
+        }
+        if (version < 8) {
+            storeMoneyAsMinorUnits(connection);
+        }
+        if (version < 9) {
+            keyNameSearchByColumn(connection);
+        }
+
+        // Refresh planner statistics so the new indexes are actually chosen
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        setSchemaVersion(connection, SCHEMA_VERSION);
+        System.out.println("✓ Migrated schema from version " + version + " to " + SCHEMA_VERSION);
+    }
+
+    /**
+     * Migration 1: secondary indexes on transaction_records.
+     * amount is appended as the trailing column so the SUM(amount) queries used by
+     * budgets and reports are answered from the index alone (covering index).
+     *
+     * - idx_tx_wallet_time:          readByAccount, wallet-scoped budgets (WHERE walletId = ? ORDER BY createTime)
+     * - idx_tx_category_income_time: getSpentForCategory / getTotalSpentForBudget
+     * - idx_tx_income_time:          getTotalIncome / getTotalExpenses and date-bounded reports
+     */
+    private static void createTransactionIndexes(Connection connection) throws SQLException {
+        String[] indexSQL = {
+            "CREATE INDEX IF NOT EXISTS idx_tx_wallet_time " +
+                "ON transaction_records (walletId, createTime, amount)",
+            "CREATE INDEX IF NOT EXISTS idx_tx_category_income_time " +
+                "ON transaction_records (categoryId, income, createTime, amount)",
+            "CREATE INDEX IF NOT EXISTS idx_tx_income_time " +
+                "ON transaction_records (income, createTime, amount)"
+        };
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : indexSQL) {
+                statement.execute(sql);
+            }
+        }
+        System.out.println("✓ Created indexes on transaction_records");
+    }
+
+    /**
+     * Migration 2: index on createTime alone, so full-ledger reads ordered by time
+     * (readAll, forEach/export) walk the index instead of sorting the whole table in memory.
+     */
+    private static void createTransactionTimeIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_tx_time ON transaction_records (createTime)");
+        }
+        System.out.println("✓ Created createTime index on transaction_records");
+    }
+
+    /**
+     * Migration 3: createEpoch INTEGER column holding createTime as wall-clock epoch seconds
+     * (see DateTimeUtils), backfilled from createTime, and the createTime indexes from
+     * migrations 1 and 2 rebuilt on createEpoch. Date filters and ordering then compare
+     * integers and no longer depend on the two createTime string formats sorting together.
+     */
+    private static void addTransactionEpochColumn(Connection connection) throws SQLException {
+        addColumnIfNotExists(connection, "transaction_records", "createEpoch", "INTEGER");
+        long filled = backfillCreateEpoch(connection);
+
+        String[] indexSQL = {
+            "DROP INDEX IF EXISTS idx_tx_wallet_time",
+            "DROP INDEX IF EXISTS idx_tx_category_income_time",
+            "DROP INDEX IF EXISTS idx_tx_income_time",
+            "DROP INDEX IF EXISTS idx_tx_time",
+            "CREATE INDEX IF NOT EXISTS idx_tx_wallet_epoch " +
+                "ON transaction_records (walletId, createEpoch, amount)",
+            "CREATE INDEX IF NOT EXISTS idx_tx_category_income_epoch " +
+                "ON transaction_records (categoryId, income, createEpoch, amount)",
+            "CREATE INDEX IF NOT EXISTS idx_tx_income_epoch " +
+                "ON transaction_records (income, createEpoch, amount)",
+            "CREATE INDEX IF NOT EXISTS idx_tx_epoch ON transaction_records (createEpoch)"
+        };
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : indexSQL) {
+                statement.execute(sql);
+            }
+        }
+        System.out.println("✓ Backfilled createEpoch for " + filled + " transactions and rebuilt time indexes");
+    }
+
+    /**
+     * Parse createTime for every row without a createEpoch, walking the table by rowid in
+     * chunks (each chunk is read fully before it is updated) inside one transaction.
+     */
+    private static long backfillCreateEpoch(Connection connection) throws SQLException {
+        String selectSQL = "SELECT rowid, createTime FROM transaction_records " +
+                           "WHERE rowid > ? AND createEpoch IS NULL ORDER BY rowid LIMIT 5000";
+        String updateSQL = "UPDATE transaction_records SET createEpoch = ? WHERE rowid = ?";
+        boolean autoCommit = connection.getAutoCommit();
+        long filled = 0;
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement select = connection.prepareStatement(selectSQL);
+             PreparedStatement update = connection.prepareStatement(updateSQL)) {
+            long lastRowId = Long.MIN_VALUE;
+            List<long[]> chunk = new ArrayList<>();
+            do {
+                chunk.clear();
+                select.setLong(1, lastRowId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        chunk.add(new long[]{rs.getLong(1), DateTimeUtils.parseEpochSecond(rs.getString(2))});
+                    }
+                }
+                for (long[] row : chunk) {
+                    if (row[1] == DateTimeUtils.UNKNOWN) {
+                        update.setNull(1, Types.INTEGER);
+                    } else {
+                        update.setLong(1, row[1]);
+                    }
+                    update.setLong(2, row[0]);
+                    update.addBatch();
+                    lastRowId = row[0];
+                }
+                if (!chunk.isEmpty()) {
+                    update.executeBatch();
+                    filled += chunk.size();
+                }
+            } while (!chunk.isEmpty());
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return filled;
+    }
+
+    /**
+     * Migration 4: (createEpoch, id) index matching the transaction list order, so keyset
+     * paging (TransactionService.findPageAfter/findPageBefore) seeks to the cursor and reads
+     * one page without sorting. Replaces idx_tx_epoch, which it also covers.
+     */
+    private static void createTransactionKeysetIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_tx_epoch_id ON transaction_records (createEpoch, id)");
+            statement.execute("DROP INDEX IF EXISTS idx_tx_epoch");
+        }
+        System.out.println("✓ Created keyset paging index on transaction_records");
+    }
+
+    /**
+     * Migration 5: wallet balances derived from the ledger (see BalanceEngine).
+     * Wallet gains openingBalance, backfilled so that opening + ledger net equals the stored
+     * balance; wallet_checkpoint caches the net of each wallet's dated rows up to asOfEpoch.
+     * Triggers drop every checkpoint at or after the time of a ledger row that is inserted,
+     * changed or deleted, so a cached checkpoint never disagrees with the rows it covers.
+     * The wallet index gains income, so a wallet's net is summed from the index alone.
+     */
+    private static void createBalanceLedger(Connection connection) throws SQLException {
+        addColumnIfNotExists(connection, "Wallet", "openingBalance", "REAL NOT NULL DEFAULT 0");
+
+        String[] ledgerSQL = {
+            "UPDATE Wallet SET openingBalance = COALESCE(balance, 0) - COALESCE((" +
+                "SELECT SUM(CASE WHEN t.income > 0 THEN t.amount ELSE -t.amount END) " +
+                "FROM transaction_records t WHERE t.walletId = Wallet.id), 0)",
+            """
+            CREATE TABLE IF NOT EXISTS "wallet_checkpoint" (
+                "walletId"  TEXT NOT NULL,
+                "asOfEpoch"  INTEGER NOT NULL,
+                "net"  REAL NOT NULL,
+                "rowCount"  INTEGER NOT NULL,
+                PRIMARY KEY("walletId", "asOfEpoch")
+            )
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS trg_tx_checkpoint_insert
+            AFTER INSERT ON transaction_records BEGIN
+                DELETE FROM wallet_checkpoint
+                WHERE walletId = NEW.walletId AND asOfEpoch >= NEW.createEpoch;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS trg_tx_checkpoint_update
+            AFTER UPDATE OF walletId, amount, income, createEpoch ON transaction_records BEGIN
+                DELETE FROM wallet_checkpoint
+                WHERE walletId = OLD.walletId AND asOfEpoch >= OLD.createEpoch;
+                DELETE FROM wallet_checkpoint
+                WHERE walletId = NEW.walletId AND asOfEpoch >= NEW.createEpoch;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS trg_tx_checkpoint_delete
+            AFTER DELETE ON transaction_records BEGIN
+                DELETE FROM wallet_checkpoint
+                WHERE walletId = OLD.walletId AND asOfEpoch >= OLD.createEpoch;
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS trg_wallet_checkpoint_delete
+            AFTER DELETE ON Wallet BEGIN
+                DELETE FROM wallet_checkpoint WHERE walletId = OLD.id;
+            END
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_tx_wallet_ledger " +
+                "ON transaction_records (walletId, createEpoch, income, amount)",
+            "DROP INDEX IF EXISTS idx_tx_wallet_epoch"
+        };
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : ledgerSQL) {
+                statement.execute(sql);
+            }
+        }
+        System.out.println("✓ Created wallet balance checkpoints and backfilled opening balances");
+    }
+
+    /**
+     * Migration 6: goalId column linking a transaction to the goal it contributes to, with a
+     * partial (goalId, amount) index over the linked rows only. GoalService sums and counts
+     * every goal's contributions from that index in one GROUP BY. Existing goals keep their
+     * stored balance, which covers contributions made before transactions carried a goalId.
+     */
+    private static void addTransactionGoalColumn(Connection connection) throws SQLException {
+        addColumnIfNotExists(connection, "transaction_records", "goalId", "TEXT");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_tx_goal_amount " +
+                "ON transaction_records (goalId, amount) WHERE goalId IS NOT NULL");
+        }
+        System.out.println("✓ Created goal contribution index on transaction_records");
+    }
+
+    /**
+     * Migration 7: transaction_name_search, an FTS5 index over transaction names (see NameSearch).
+     * The table is contentless: it stores tokens only and joins back to transaction_records by
+     * searchKey, which orders entries newest first. Prefix indexes of 1-8 characters let
+     * search-as-you-type queries stream matches in that order; a longer prefix makes FTS5 merge
+     * every matching posting list first.
+     *
+     * The keys, the triggers that keep the index in step and the initial fill are migration 9.
+     * Files migrated before it got triggers keyed by createEpoch and rowid here, which migration
+     * 9 replaces.
+     */
+    private static void createNameSearchIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE VIRTUAL TABLE IF NOT EXISTS " + NameSearch.INDEX + " USING fts5(terms, " +
+                "content='', contentless_delete=1, tokenize='unicode61 remove_diacritics 2', " +
+                "prefix='1 2 3 4 5 6 7 8')");
+        }
+        System.out.println("✓ Created full-text name search index on transaction_records");
+    }
+
+    /**
+     * Migration 8: money as a whole number of cents (see Money). Every amount, balance, limit
+     * and target is rescaled from dollars to CAST(ROUND(x * 100) AS INTEGER), so SQL sums and
+     * the long arithmetic in the services are exact. The factor is a literal on purpose: this
+     * step means "dollars to cents" for good, whatever Money.SCALE becomes later.
+     *
+     * The NUMERIC columns keep their declaration; NUMERIC affinity stores the rescaled values
+     * as INTEGER. Wallet.openingBalance was added as REAL by migration 5, which would turn them
+     * back into floating point, so it is replaced by an INTEGER column of the same name.
+     * wallet_checkpoint is a cache (re-derived on demand), so it is dropped first and recreated
+     * with an INTEGER net; the checkpoint triggers fired by the amount rewrite find nothing.
+     * All statements and the new user_version commit together: a file is rescaled exactly once.
+     */
+    private static void storeMoneyAsMinorUnits(Connection connection) throws SQLException {
+        String[][] columns = {
+            {"transaction_records", "amount"},
+            {"Wallet", "balance"},
+            {"Budget", "limitAmount"},
+            {"Budget", "balance"},
+            {"Goal", "target"},
+            {"Goal", "balance"},
+            {"Budget_Category", "categoryLimit"}
+        };
+        String[] openingBalanceSQL = {
+            "ALTER TABLE Wallet ADD COLUMN openingBalanceMinor INTEGER NOT NULL DEFAULT 0",
+            "UPDATE Wallet SET openingBalanceMinor = CAST(ROUND(openingBalance * 100) AS INTEGER)",
+            "ALTER TABLE Wallet DROP COLUMN openingBalance",
+            "ALTER TABLE Wallet RENAME COLUMN openingBalanceMinor TO openingBalance"
+        };
+        boolean autoCommit = connection.getAutoCommit();
+
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS wallet_checkpoint");
+            statement.execute("""
+                CREATE TABLE "wallet_checkpoint" (
+                    "walletId"  TEXT NOT NULL,
+                    "asOfEpoch"  INTEGER NOT NULL,
+                    "net"  INTEGER NOT NULL,
+                    "rowCount"  INTEGER NOT NULL,
+                    PRIMARY KEY("walletId", "asOfEpoch")
+                )
+                """);
+            for (String[] column : columns) {
+                statement.execute("UPDATE " + column[0] + " SET " + column[1] + " = CAST(ROUND(" + column[1] +
+                    " * 100) AS INTEGER) WHERE " + column[1] + " IS NOT NULL");
+            }
+            for (String sql : openingBalanceSQL) {
+                statement.execute(sql);
+            }
+            statement.execute("PRAGMA user_version = 8");
+            connection.commit();
+        } catch (Throwable e) {
+            // Any failure, Errors included: restoring auto-commit would commit a partial
+            // rescale, and the next start would multiply the rescaled columns again
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        System.out.println("✓ Rescaled money columns to integer cents");
+    }
+
+    /**
+     * Migration 9: searchKey column holding each row's name search key (see NameSearch), with a
+     * unique index. The migration 7 key, createEpoch << 24 plus the low 24 bits of the rowid,
+     * collided for rows of the same second whose rowids are 2^24 apart (imports put every row
+     * of a day at midnight), and the failing index insert failed the row's insert with it.
+     * Its join also rescanned every undated row for each undated match.
+     *
+     * Keys are numbered per second in rowid order, so the index order stays the same. Triggers
+     * give a new row the next free key of its second, move a row to its new second when
+     * createEpoch changes, and keep the index in step; search joins on the unique index.
+     */
+    private static void keyNameSearchByColumn(Connection connection) throws SQLException {
+        String index = NameSearch.INDEX;
+        addColumnIfNotExists(connection, "transaction_records", "searchKey", "INTEGER");
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) AS n FROM transaction_records " +
+                 "GROUP BY createEpoch ORDER BY n DESC LIMIT 1")) {
+            if (rs.next() && rs.getLong(1) > NameSearch.KEYS_PER_SECOND) {
+                throw new SQLException("More than " + NameSearch.KEYS_PER_SECOND +
+                    " transactions share one createEpoch; they cannot all get a search key");
+            }
+        }
+        String[] searchSQL = {
+            "DROP TRIGGER IF EXISTS trg_tx_search_insert",
+            "DROP TRIGGER IF EXISTS trg_tx_search_update",
+            "DROP TRIGGER IF EXISTS trg_tx_search_delete",
+            // Dropped first, so renumbering a partly migrated file cannot collide with old keys
+            "DROP INDEX IF EXISTS idx_tx_search_key",
+            "UPDATE transaction_records SET searchKey = numbered.searchKey FROM (" +
+                "SELECT rowid AS row, (COALESCE(createEpoch, " + NameSearch.UNDATED_EPOCH + ") << 24) + " +
+                "ROW_NUMBER() OVER (PARTITION BY createEpoch ORDER BY rowid) - 1 AS searchKey " +
+                "FROM transaction_records) AS numbered WHERE transaction_records.rowid = numbered.row",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_tx_search_key ON transaction_records (searchKey)",
+            "CREATE TRIGGER IF NOT EXISTS trg_tx_search_insert\n" +
+                "AFTER INSERT ON transaction_records BEGIN\n" +
+                "    UPDATE transaction_records SET searchKey = " + NameSearch.nextKey("NEW.createEpoch") +
+                " WHERE rowid = NEW.rowid;\n" +
+                "    INSERT INTO " + index + " (rowid, terms) " +
+                "SELECT searchKey, NEW.name FROM transaction_records WHERE rowid = NEW.rowid;\n" +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_tx_search_update\n" +
+                "AFTER UPDATE OF name, createEpoch ON transaction_records BEGIN\n" +
+                "    DELETE FROM " + index + " WHERE rowid = OLD.searchKey;\n" +
+                "    UPDATE transaction_records SET searchKey = " + NameSearch.nextKey("NEW.createEpoch") +
+                " WHERE rowid = NEW.rowid AND NEW.createEpoch IS NOT OLD.createEpoch;\n" +
+                "    INSERT INTO " + index + " (rowid, terms) " +
+                "SELECT searchKey, NEW.name FROM transaction_records WHERE rowid = NEW.rowid;\n" +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_tx_search_delete\n" +
+                "AFTER DELETE ON transaction_records BEGIN\n" +
+                "    DELETE FROM " + index + " WHERE rowid = OLD.searchKey;\n" +
+                "END"
+        };
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : searchSQL) {
+                statement.execute(sql);
+            }
+        }
+        rebuildNameSearchIndex(connection);
+        System.out.println("✓ Keyed the name search index by a unique searchKey column");
+    }
+
+    /**
+     * Re-index every transaction name from scratch, under the keys stored in searchKey
+     */
+    public static void rebuildNameSearchIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO " + NameSearch.INDEX + " (" + NameSearch.INDEX + ") VALUES ('delete-all')");
+            statement.execute("INSERT INTO " + NameSearch.INDEX + " (rowid, terms) " +
+                "SELECT searchKey, name FROM transaction_records");
+        }
+    }
+
+    private static int getSchemaVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void setSchemaVersion(Connection connection, int version) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA user_version = " + version);
+        }
+    }
+
     /**
      * Check if the Category table is empty
      */
@@ -288,7 +739,7 @@ public class DatabaseInitializer {
         }
 
         // Drop in reverse order of dependencies (junction tables first)
-        String[] tableNames = {"Budget_Category", "Goal_Category", "transaction_records", "Budget", "Goal", "Wallet", "Category"};
+        String[] tableNames = {"Budget_Category", "Goal_Category", "wallet_checkpoint", NameSearch.INDEX, "transaction_records", "Budget", "Goal", "Wallet", "Category"};
 
         try (Statement statement = connection.createStatement()) {
             for (String tableName : tableNames) {
@@ -297,6 +748,7 @@ public class DatabaseInitializer {
                     System.out.println("✓ Dropped table: " + tableName);
                 }
             }
+            setSchemaVersion(connection, 0);
         } catch (SQLException e) {
             System.err.println("Error dropping tables: " + e.getMessage());
             throw e;
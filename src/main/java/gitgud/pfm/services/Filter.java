@@ -2,15 +2,44 @@ package gitgud.pfm.services;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import gitgud.pfm.Models.Transaction;
 import gitgud.pfm.Models.TransactionCriteria;
 import gitgud.pfm.Models.Goal;
 import gitgud.pfm.Models.Budget;
+import gitgud.pfm.utils.DateTimeUtils;
+import gitgud.pfm.utils.Money;
 public class Filter {
+    private final TransactionService transactionService;
 
-    Filter() {
+    public Filter() {
+        this.transactionService = new TransactionService();
     }
+
+    /**
+     * Filter in the database: only the matching rows are read (newest first)
+     */
+    public List<Transaction> filterTransactions(TransactionCriteria criteria) {
+        return transactionService.findByCriteria(criteria, 0, 0);
+    }
+
+    /**
+     * One page of the matching rows, read from the database
+     * @param limit  Page size (0 for all)
+     * @param offset Rows to skip
+     */
+    public List<Transaction> filterTransactions(TransactionCriteria criteria, int limit, int offset) {
+        return transactionService.findByCriteria(criteria, limit, offset);
+    }
+
+    public int countTransactions(TransactionCriteria criteria) {
+        return transactionService.countByCriteria(criteria);
+    }
+
+    /**
+     * Filter transactions that are already loaded in memory (same rules as the SQL path)
+     */
     public List<Transaction> filterTransactions(TransactionCriteria criteria, AccountDataLoader.DataHolder accountdata) {
     List<Transaction> transactions = accountdata.getTransactions();
     List<Transaction> result = new ArrayList<>();
@@ -22,19 +51,19 @@ public class Filter {
     return result;
     }
      private boolean matchesTransactionFilterCriteria(Transaction transaction, TransactionCriteria criteria) {
-        if (!criteria.hasFilters()) {
+        if (!criteria.hasFilters() && !criteria.hasSearchTerm()) {
             return true;
         }
 
         // Apply each provided filter; if any check fails, return false.
         if (criteria.getMinAmount() != null) {
-            if (transaction.getAmount() < criteria.getMinAmount()) {
+            if (transaction.getAmountMinor() < Money.ofMajor(criteria.getMinAmount().doubleValue())) {
                 return false;
             }
         }
 
         if (criteria.getMaxAmount() != null) {
-            if (transaction.getAmount() > criteria.getMaxAmount()) {
+            if (transaction.getAmountMinor() > Money.ofMajor(criteria.getMaxAmount().doubleValue())) {
                 return false;
             }
         }
@@ -46,26 +75,27 @@ public class Filter {
         }
 
         if (criteria.getWalletId() != null && !criteria.getWalletId().isEmpty()) {
-            if (transaction.getWalletId() == null || 
-                !transaction.getWalletId().toLowerCase().contains(criteria.getWalletId().toLowerCase())) {
+            if (!criteria.getWalletId().equals(transaction.getWalletId())) {
                 return false;
             }
         }
 
         if (criteria.getDateFrom() != null && !criteria.getDateFrom().isEmpty()) {
-            if (transaction.getCreateTime() == null || 
-                transaction.getCreateTime().compareTo(criteria.getDateFrom()) < 0) {
+            long dateFrom = DateTimeUtils.parseEpochSecond(criteria.getDateFrom());
+            if (transaction.getCreateEpoch() == DateTimeUtils.UNKNOWN ||
+                transaction.getCreateEpoch() < dateFrom) {
                 return false;
             }
         }
 
         if (criteria.getDateTo() != null && !criteria.getDateTo().isEmpty()) {
             String dateTo = criteria.getDateTo();
-            if (dateTo.length() == 10) {
-                dateTo = dateTo + " 23:59:59";
-            }
-            if (transaction.getCreateTime() == null || 
-                transaction.getCreateTime().compareTo(dateTo) > 0) {
+            long dateToEpoch = DateTimeUtils.parseEpochSecond(dateTo);
+            // A bare date includes the whole day
+            long limit = dateTo.length() == 10 ? DateTimeUtils.startOfNextDay(dateToEpoch) : dateToEpoch + 1;
+            if (transaction.getCreateEpoch() == DateTimeUtils.UNKNOWN ||
+                dateToEpoch == DateTimeUtils.UNKNOWN ||
+                transaction.getCreateEpoch() >= limit) {
                 return false;
             }
         }
@@ -77,31 +107,71 @@ public class Filter {
             }
         }
 
+        if (criteria.hasSearchTerm() && !criteria.getTransactionId().equals(transaction.getId())) {
+            return false;
+        }
+
+        if (criteria.getName() != null && !criteria.getName().isEmpty()) {
+            if (!NameSearch.matches(transaction.getName(), criteria.getName())) {
+                return false;
+            }
+        }
+
         return true;
     }
+    /**
+     * Search transaction names in the full-text index, newest first (see TransactionService.findByName)
+     * @param limit Maximum rows to return, or 0 for no limit
+     */
+    public List<Transaction> searchTransactions(String searchTerm, int limit) {
+        return transactionService.findByName(searchTerm, limit);
+    }
+
+    /**
+     * Search transactions that are already loaded in memory, with the same word-prefix rules
+     * as the index (see NameSearch)
+     */
     public List<Transaction> searchTransactions(String searchTerm, AccountDataLoader.DataHolder accountdata) {
             List<Transaction> transactions = accountdata.getTransactions();
             List<Transaction> result = new ArrayList<>();
             if (searchTerm == null || searchTerm.isEmpty()) {
             return transactions; // No search term, return all
             }
-            String lowerSearchTerm = searchTerm.toLowerCase();
+            Predicate<String> matcher = NameSearch.matcher(searchTerm);
             for (Transaction t : transactions) {
-            if ((t.getName() != null && t.getName().toLowerCase().contains(lowerSearchTerm))) {
+            if (matcher.test(t.getName())) {
                 result.add(t);
             }
             }
         return result;
 }
+    /**
+     * Narrow an earlier search result to the transactions whose names also match searchTerm,
+     * keeping their order; used when the search text grows and the earlier matches are all in memory
+     */
+    public List<Transaction> refineSearch(List<Transaction> matches, String searchTerm) {
+        if (searchTerm == null || searchTerm.isEmpty()) {
+            return matches;
+        }
+        Predicate<String> matcher = NameSearch.matcher(searchTerm);
+        List<Transaction> result = new ArrayList<>();
+        for (Transaction t : matches) {
+            if (matcher.test(t.getName())) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
     public List<Goal> searchGoals(String searchTerm, AccountDataLoader.DataHolder accountdata) {
             List<Goal> goals = accountdata.getGoals();
             List<Goal> result = new ArrayList<>();
             if (searchTerm == null || searchTerm.isEmpty()) {
                 return goals;
             }
-            String lowerSearchTerm = searchTerm.toLowerCase();
+            Predicate<String> matcher = NameSearch.matcher(searchTerm);
             for (Goal g : goals) {
-                if (g.getName() != null && g.getName().toLowerCase().contains(lowerSearchTerm)) {
+                if (matcher.test(g.getName())) {
                     result.add(g);
                 }
             }
@@ -114,9 +184,9 @@ public class Filter {
             if (searchTerm == null || searchTerm.isEmpty()) {
                 return budgets;
             }
-            String lowerSearchTerm = searchTerm.toLowerCase();
+            Predicate<String> matcher = NameSearch.matcher(searchTerm);
             for (Budget b : budgets) {
-                if (b.getName() != null && b.getName().toLowerCase().contains(lowerSearchTerm)) {
+                if (matcher.test(b.getName())) {
                     result.add(b);
                 }
             }
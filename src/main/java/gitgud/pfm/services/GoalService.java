@@ -2,6 +2,7 @@ package gitgud.pfm.services;
 
 import gitgud.pfm.Models.Goal;
 import gitgud.pfm.interfaces.CRUDInterface;
+import gitgud.pfm.utils.Money;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,35 +11,52 @@ import java.util.List;
  * GoalService - Refactored CRUD operations for Goal entity
  * 
  * KEY CHANGES (per GOAL_REFACTOR_INSTRUCTIONS.md):
- * - Removed 'balance' from all SQL queries (no longer stored in database)
- * - Added computeGoalProgress() to calculate balance from transaction_records
- * - Goal.balance is now a READ-ONLY computed field
+ * - Goal balance is computed from transaction_records: the transactions linked by goalId
+ *   plus the Goal.balance column, which only holds the amount not backed by linked
+ *   transactions (set by hand, or contributed before transactions carried a goalId)
+ * - readAll() computes balance, txCount and progress for every goal in one GROUP BY query
  * - All SQL queries explicitly show field mappings for clarity
  */
 public class GoalService implements CRUDInterface<Goal> {
-    private final Connection connection;
+    /**
+     * Goal columns joined with the sum and count of each goal's linked transactions,
+     * aggregated in one pass over idx_tx_goal_amount instead of one query per goal
+     */
+    private static final String SELECT_GOALS =
+        "SELECT g.id, g.name, g.target, g.balance, g.deadline, g.priority, g.createAt, g.walletId, " +
+        "COALESCE(c.contributed, 0) AS contributed, COALESCE(c.txCount, 0) AS txCount " +
+        "FROM Goal g LEFT JOIN (" +
+            "SELECT goalId, SUM(amount) AS contributed, COUNT(*) AS txCount FROM transaction_records " +
+            "WHERE goalId IS NOT NULL GROUP BY goalId" +
+        ") c ON c.goalId = g.id";
+    private static final String CONTRIBUTED_SQL =
+        "SELECT COALESCE(SUM(amount), 0), COUNT(*) FROM transaction_records WHERE goalId = ?";
+
+    private final Database database;
 
     public GoalService() {
-        this.connection = Database.getInstance().getConnection();
+        this.database = Database.getInstance();
     }
 
     /**
      * Create a new goal in the database
-     * Explicit fields: id, name, target, deadline, priority, createAt
-     * NOTE: balance is NOT stored - it's computed from transactions
+     * Explicit fields: id, name, target, balance, deadline, priority, createAt
+     * NOTE: a new goal has no linked transactions, so its starting balance is stored as is
      */
     @Override
     public void create(Goal goal) {
-        String sql = "INSERT INTO Goal (id, name, target, deadline, priority, createAt) " +
-                "VALUES (?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO Goal (id, name, target, balance, deadline, priority, createAt) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, goal.getId());
             pstmt.setString(2, goal.getName());
-            pstmt.setDouble(3, goal.getTarget());
-            pstmt.setString(4, goal.getDeadline());
-            pstmt.setDouble(5, goal.getPriority());
-            pstmt.setString(6, goal.getCreateTime());
+            pstmt.setLong(3, goal.getTargetMinor());
+            pstmt.setLong(4, goal.getBalanceMinor());
+            pstmt.setString(5, goal.getDeadline());
+            pstmt.setDouble(6, goal.getPriority());
+            pstmt.setString(7, goal.getCreateTime());
 
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -48,33 +66,28 @@ public class GoalService implements CRUDInterface<Goal> {
 
     /**
      * Read a single goal by id
-     * Explicit fields: id, name, target, deadline, priority, createAt
-     * NOTE: balance is computed AFTER retrieval via computeGoalProgress()
+     * Explicit fields: id, name, target, balance, deadline, priority, createAt, walletId
+     * NOTE: balance, txCount and progress include the goal's linked transactions
      */
     @Override
     public Goal read(String id) {
         String sql = "SELECT id, name, target, balance, deadline, priority, createAt, walletId " +
             "FROM Goal WHERE id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
+             PreparedStatement contributed = connection.prepareStatement(CONTRIBUTED_SQL)) {
             pstmt.setString(1, id);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Goal goal = new Goal();
-                    goal.setId(rs.getString("id"));
-                    goal.setName(rs.getString("name"));
-                    goal.setTarget(rs.getDouble("target"));
-                    goal.setDeadline(rs.getString("deadline"));
-                    goal.setPriority(rs.getDouble("priority"));
-                    goal.setCreateTime(rs.getString("createAt"));
-
-                    goal.setBalance(rs.getDouble("balance"));
-                    goal.setWalletId(rs.getString("walletId"));
-                    // Computed fields unavailable without transaction.goalId link
-                    goal.setTxCount(0);
-                    goal.setProgress(0.0);
-
+                    Goal goal = mapGoal(rs);
+                    contributed.setString(1, id);
+                    try (ResultSet sums = contributed.executeQuery()) {
+                        if (sums.next()) {
+                            applyContributions(goal, rs.getLong("balance"), sums.getLong(1), sums.getInt(2));
+                        }
+                    }
                     return goal;
                 }
             }
@@ -86,32 +99,20 @@ public class GoalService implements CRUDInterface<Goal> {
 
     /**
      * Read all goals from the database
-     * Explicit fields: id, name, target, deadline, priority, createAt
-     * NOTE: balance is computed for each goal from transactions
+     * Explicit fields: id, name, target, balance, deadline, priority, createAt, walletId
+     * NOTE: balance, txCount and progress of every goal come from the same query (one GROUP BY)
      */
     public List<Goal> readAll() {
-        String sql = "SELECT id, name, target, balance, deadline, priority, createAt, walletId " +
-            "FROM Goal ORDER BY priority DESC, deadline";
+        String sql = SELECT_GOALS + " ORDER BY g.priority DESC, g.deadline";
         List<Goal> goals = new ArrayList<>();
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
                 ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
-                Goal goal = new Goal();
-                goal.setId(rs.getString("id"));
-                goal.setName(rs.getString("name"));
-                goal.setTarget(rs.getDouble("target"));
-                goal.setDeadline(rs.getString("deadline"));
-                goal.setPriority(rs.getDouble("priority"));
-                goal.setCreateTime(rs.getString("createAt"));
-
-                goal.setBalance(rs.getDouble("balance"));
-                goal.setWalletId(rs.getString("walletId"));
-                // Computed fields unavailable without transaction.goalId link
-                goal.setTxCount(0);
-                goal.setProgress(0.0);
-
+                Goal goal = mapGoal(rs);
+                applyContributions(goal, rs.getLong("balance"), rs.getLong("contributed"), rs.getInt("txCount"));
                 goals.add(goal);
             }
         } catch (SQLException e) {
@@ -122,22 +123,26 @@ public class GoalService implements CRUDInterface<Goal> {
 
     /**
      * Update an existing goal
-     * Explicit fields: name, target, deadline, priority, createAt (WHERE id = ?)
-     * NOTE: balance is NEVER updated - it's always computed from transactions
+     * Explicit fields: name, target, balance, deadline, priority, createAt (WHERE id = ?)
+     * NOTE: goal.getBalance() is the total; only the part not covered by linked
+     * transactions is stored, so editing the balance by hand keeps working
      */
     @Override
      public void update(Goal goal) {
-        String sql = "UPDATE Goal SET name = ?, target = ?, balance = ?, deadline = ?, " +
-                "priority = ?, createAt = ? WHERE id = ?";
+        String sql = "UPDATE Goal SET name = ?, target = ?, " +
+                "balance = ? - COALESCE((SELECT SUM(amount) FROM transaction_records WHERE goalId = ?), 0), " +
+                "deadline = ?, priority = ?, createAt = ? WHERE id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, goal.getName());
-            pstmt.setDouble(2, goal.getTarget());
-            pstmt.setDouble(3, goal.getBalance());  // ← ADDED THIS
-            pstmt.setString(4, goal.getDeadline());
-            pstmt.setDouble(5, goal.getPriority());
-            pstmt.setString(6, goal.getCreateTime());
-            pstmt.setString(7, goal.getId());
+            pstmt.setLong(2, goal.getTargetMinor());
+            pstmt.setLong(3, goal.getBalanceMinor());
+            pstmt.setString(4, goal.getId());
+            pstmt.setString(5, goal.getDeadline());
+            pstmt.setDouble(6, goal.getPriority());
+            pstmt.setString(7, goal.getCreateTime());
+            pstmt.setString(8, goal.getId());
 
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -159,7 +164,8 @@ public class GoalService implements CRUDInterface<Goal> {
     public void delete(String id) {
         String sql = "DELETE FROM Goal WHERE id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
 
             pstmt.executeUpdate();
@@ -168,6 +174,32 @@ public class GoalService implements CRUDInterface<Goal> {
         }
     }
 
+    /**
+     * Stored Goal columns; balance and the computed fields are set by applyContributions()
+     */
+    private static Goal mapGoal(ResultSet rs) throws SQLException {
+        Goal goal = new Goal();
+        goal.setId(rs.getString("id"));
+        goal.setName(rs.getString("name"));
+        goal.setTargetMinor(rs.getLong("target"));
+        goal.setDeadline(rs.getString("deadline"));
+        goal.setPriority(rs.getDouble("priority"));
+        goal.setCreateTime(rs.getString("createAt"));
+        goal.setWalletId(rs.getString("walletId"));
+        return goal;
+    }
+
+    /**
+     * balance = stored base + linked contributions; progress is a percentage of target
+     */
+    private static void applyContributions(Goal goal, long storedBalance, long contributed, int txCount) {
+        long balance = storedBalance + contributed;
+        long target = goal.getTargetMinor();
+        goal.setBalanceMinor(balance);
+        goal.setTxCount(txCount);
+        goal.setProgress(target > 0 ? (balance / (double) target) * 100.0 : 0.0);
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // COMPUTED BALANCE METHODS (NEW - Core of the refactor)
     // ═══════════════════════════════════════════════════════════════════════════
@@ -175,16 +207,26 @@ public class GoalService implements CRUDInterface<Goal> {
     /**
      * Compute goal progress by summing all transactions linked to this goal
      * 
-     * FORMULA: balance = SUM(amount) FROM transaction_records WHERE goalId = goalId
+     * FORMULA: contributed = SUM(amount) FROM transaction_records WHERE goalId = goalId
      * 
-     * This is the authoritative source of truth for goal.getBalance()
+     * goal.getBalance() is this plus the stored base balance (see applyContributions)
      * 
      * @param goalId The goal ID to compute progress for
      * @return The sum of all transaction amounts allocated to this goal
      */
     public double computeGoalProgress(String goalId) {
-        // Schema does not include a goalId column on transactions; cannot compute
-        // progress from DB
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(CONTRIBUTED_SQL)) {
+            pstmt.setString(1, goalId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Money.toMajor(rs.getLong(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error computing goal progress: " + e.getMessage());
+        }
         return 0.0;
     }
 
@@ -196,12 +238,7 @@ public class GoalService implements CRUDInterface<Goal> {
      */
     public double getGoalProgressPercentage(String goalId) {
         Goal goal = read(goalId);
-        if (goal == null || goal.getTarget() <= 0) {
-            return 0.0;
-        }
-
-        double current = computeGoalProgress(goalId);
-        return (current / goal.getTarget()) * 100.0;
+        return goal != null ? goal.getProgress() : 0.0;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -218,7 +255,7 @@ public class GoalService implements CRUDInterface<Goal> {
 
         for (Goal goal : allGoals) {
             // Use the computed balance (already set by readAll)
-            if (goal.getBalance() < goal.getTarget()) {
+            if (goal.getBalanceMinor() < goal.getTargetMinor()) {
                 activeGoals.add(goal);
             }
         }
@@ -236,7 +273,7 @@ public class GoalService implements CRUDInterface<Goal> {
 
         for (Goal goal : allGoals) {
             // Use the computed balance (already set by readAll)
-            if (goal.getBalance() >= goal.getTarget()) {
+            if (goal.getBalanceMinor() >= goal.getTargetMinor()) {
                 inactiveGoals.add(goal);
             }
         }
@@ -260,27 +297,16 @@ public class GoalService implements CRUDInterface<Goal> {
      */
     public List<Goal> findByName(String namePattern) {
         List<Goal> goals = new ArrayList<>();
-        String sql = "SELECT id, name, target, balance, deadline, priority, createAt, walletId " +
-            "FROM Goal WHERE name LIKE ? ORDER BY name";
+        String sql = SELECT_GOALS + " WHERE g.name LIKE ? ORDER BY g.name";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, namePattern);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Goal goal = new Goal();
-                    goal.setId(rs.getString("id"));
-                    goal.setName(rs.getString("name"));
-                    goal.setTarget(rs.getDouble("target"));
-                    goal.setDeadline(rs.getString("deadline"));
-                    goal.setPriority(rs.getDouble("priority"));
-                    goal.setCreateTime(rs.getString("createAt"));
-
-                    goal.setBalance(rs.getDouble("balance"));
-                    goal.setWalletId(rs.getString("walletId"));
-                    goal.setTxCount(0);
-                    goal.setProgress(0.0);
-
+                    Goal goal = mapGoal(rs);
+                    applyContributions(goal, rs.getLong("balance"), rs.getLong("contributed"), rs.getInt("txCount"));
                     goals.add(goal);
                 }
             }
@@ -301,7 +327,18 @@ public class GoalService implements CRUDInterface<Goal> {
      * @return Number of transactions linked to this goal
      */
     public int getTransactionCount(String goalId) {
-        // No goalId column in current schema; cannot count allocated transactions in DB
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(CONTRIBUTED_SQL)) {
+            pstmt.setString(1, goalId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(2);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting goal transactions: " + e.getMessage());
+        }
         return 0;
     }
 
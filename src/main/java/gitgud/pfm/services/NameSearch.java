@@ -0,0 +1,131 @@
+package gitgud.pfm.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * NameSearch - Token-prefix name matching, shared by the full-text index and in-memory filters
+ *
+ * A name is split into tokens at every character that is not a letter or digit, then lower-cased
+ * with diacritics removed ("Café #12" -> "cafe", "12"), the same way the unicode61 tokenizer of
+ * the transaction_name_search index does it. Search text is split the same way; a name matches
+ * when every search token is the prefix of one of its tokens, so "cof cor" finds
+ * "Coffee Corner" but "offee" finds nothing. Text without any tokens matches every name.
+ *
+ * transaction_name_search (see DatabaseInitializer, migrations 7 and 9) is keyed by the row's
+ * searchKey column instead of its rowid: createEpoch in the high bits, so reading the index in
+ * rowid order returns matches newest first without sorting them.
+ */
+final class NameSearch {
+    static final String INDEX = "transaction_name_search";
+
+    /**
+     * Keys a second of createEpoch can hand out: a key is createEpoch << 24 plus a sequence number
+     */
+    static final long KEYS_PER_SECOND = 1L << 24;
+    /**
+     * Stand-in createEpoch of undated rows in keys; sorts them before every dated row, so a
+     * newest-first read lists them last as in findPageAfter
+     */
+    static final long UNDATED_EPOCH = -274877906944L;
+    /**
+     * Join from an index entry back to its row: one seek on the unique searchKey index
+     */
+    static final String JOIN = " FROM " + INDEX + " CROSS JOIN transaction_records" +
+        " ON transaction_records.searchKey = " + INDEX + ".rowid";
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private NameSearch() {
+    }
+
+    /**
+     * SQL for the next free key in the second of the given createEpoch expression (e.g.
+     * "NEW.createEpoch"): one past the highest key of that second, found by one seek on the
+     * unique searchKey index, so two rows never share a key. Once the highest key of a second
+     * is its last one (at least KEYS_PER_SECOND inserts into that second), the insert fails
+     * with "search keys used up" instead of wrapping around.
+     */
+    static String nextKey(String createEpoch) {
+        return "(SELECT CASE WHEN last IS NULL THEN first WHEN last - first < " + (KEYS_PER_SECOND - 1) +
+            " THEN last + 1 ELSE RAISE(ABORT, 'search keys used up for this createEpoch') END" +
+            " FROM (SELECT first, (SELECT searchKey FROM transaction_records" +
+            " WHERE searchKey BETWEEN first AND first + " + (KEYS_PER_SECOND - 1) +
+            " ORDER BY searchKey DESC LIMIT 1) AS last" +
+            " FROM (SELECT COALESCE(" + createEpoch + ", " + UNDATED_EPOCH + ") << 24 AS first)))";
+    }
+
+    /**
+     * Lower-cased, diacritic-free tokens of the text, in order
+     */
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * FTS5 MATCH expression for the search text ("cof cor" -> "cof"* "cor"*), or null when the
+     * text has no tokens. Tokens are quoted, so user input is never parsed as query syntax.
+     */
+    static String matchQuery(String text) {
+        List<String> tokens = tokens(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String token : tokens) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('"').append(token).append("\"*");
+        }
+        return query.toString();
+    }
+
+    /**
+     * True if every token of the search text is the prefix of a token of the name
+     */
+    static boolean matches(String name, String text) {
+        return matcher(text).test(name);
+    }
+
+    /**
+     * matches(name, text) for one search text and many names; the text is tokenized once
+     */
+    static Predicate<String> matcher(String text) {
+        List<String> wanted = tokens(text);
+        if (wanted.isEmpty()) {
+            return name -> true;
+        }
+        return name -> {
+            List<String> have = tokens(name);
+            for (String prefix : wanted) {
+                boolean found = false;
+                for (String token : have) {
+                    if (token.startsWith(prefix)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package gitgud.pfm.services;
+
+import gitgud.pfm.Models.TransactionCriteria;
+import gitgud.pfm.utils.DateTimeUtils;
+import gitgud.pfm.utils.Money;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TransactionQuery - Compiles a TransactionCriteria into a parameterized WHERE clause
+ * over transaction_records, so filtering runs in SQLite instead of over a loaded list.
+ *
+ * Conditions are equality/range tests on bare columns (walletId, categoryId, income,
+ * createEpoch, amount), which is what the idx_tx_*_epoch indexes can serve. Values are
+ * always bound as parameters, never concatenated into the SQL.
+ *
+ * A name turns the query into a search: rows come from the transaction_name_search index
+ * joined back to transaction_records (getFrom()), in index order, which is newest first
+ * with ties broken by rowid rather than id (getOrderBy()).
+ *
+ * Rules (same as Filter.matchesTransactionFilterCriteria):
+ * - minAmount / maxAmount: inclusive bounds on amount, bound in minor units (see Money)
+ * - categoryId: any of the listed IDs (empty list = no filter)
+ * - walletId: exact wallet ID
+ * - dateFrom / dateTo: inclusive; a bare "yyyy-MM-dd" dateTo includes that whole day
+ * - income: exact flag (1 income, 0 expense)
+ * - transactionId: exact ID; name: every token is a word prefix (see NameSearch)
+ */
+final class TransactionQuery {
+    private static final String TABLE = " FROM transaction_records";
+
+    private final String where;
+    private final List<Object> params;
+    private final boolean search;
+    private final boolean searchOnly;
+
+    private TransactionQuery(String where, List<Object> params, boolean search, boolean searchOnly) {
+        this.where = where;
+        this.params = params;
+        this.search = search;
+        this.searchOnly = searchOnly;
+    }
+
+    /**
+     * Build the clause for the given criteria (null means no filtering)
+     */
+    static TransactionQuery compile(TransactionCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (criteria == null) {
+            return new TransactionQuery("", params, false, false);
+        }
+
+        if (criteria.getWalletId() != null && !criteria.getWalletId().isEmpty()) {
+            conditions.add("walletId = ?");
+            params.add(criteria.getWalletId());
+        }
+
+        List<String> categoryIds = criteria.getCategoryId();
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            StringBuilder in = new StringBuilder("categoryId IN (");
+            for (int i = 0; i < categoryIds.size(); i++) {
+                in.append(i == 0 ? "?" : ", ?");
+                params.add(categoryIds.get(i));
+            }
+            conditions.add(in.append(')').toString());
+        }
+
+        if (criteria.getIncome() != null) {
+            conditions.add("income = ?");
+            params.add(criteria.getIncome());
+        }
+
+        if (criteria.getDateFrom() != null && !criteria.getDateFrom().isEmpty()) {
+            // An unparseable dateFrom is UNKNOWN (Long.MIN_VALUE), which keeps every dated row, as in Filter
+            conditions.add("createEpoch >= ?");
+            params.add(DateTimeUtils.parseEpochSecond(criteria.getDateFrom()));
+        }
+
+        if (criteria.getDateTo() != null && !criteria.getDateTo().isEmpty()) {
+            String dateTo = criteria.getDateTo();
+            long dateToEpoch = DateTimeUtils.parseEpochSecond(dateTo);
+            long limit = dateTo.length() == 10 ? DateTimeUtils.startOfNextDay(dateToEpoch)
+                : dateToEpoch == DateTimeUtils.UNKNOWN ? DateTimeUtils.UNKNOWN : dateToEpoch + 1;
+            // An unparseable dateTo binds NULL and matches nothing, as in Filter
+            conditions.add("createEpoch < ?");
+            params.add(epochOrNull(limit));
+        }
+
+        if (criteria.getMinAmount() != null) {
+            conditions.add("amount >= ?");
+            params.add(Money.ofMajor(criteria.getMinAmount()));
+        }
+
+        if (criteria.getMaxAmount() != null) {
+            conditions.add("amount <= ?");
+            params.add(Money.ofMajor(criteria.getMaxAmount()));
+        }
+
+        if (criteria.hasSearchTerm()) {
+            conditions.add("id = ?");
+            params.add(criteria.getTransactionId());
+        }
+
+        // A name without any tokens (only punctuation) filters nothing
+        String match = NameSearch.matchQuery(criteria.getName());
+        if (match != null) {
+            conditions.add(NameSearch.INDEX + " MATCH ?");
+            params.add(match);
+        }
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return new TransactionQuery(where, params, match != null, match != null && conditions.size() == 1);
+    }
+
+    /**
+     * " FROM ..." for selecting rows: transaction_records, or the search index joined to it
+     */
+    String getFrom() {
+        return search ? NameSearch.JOIN : TABLE;
+    }
+
+    /**
+     * " FROM ..." for counting rows; a search on the name alone is counted in the index
+     */
+    String getCountFrom() {
+        return searchOnly ? " FROM " + NameSearch.INDEX : getFrom();
+    }
+
+    /**
+     * " ORDER BY ..." for newest first (DESC) or oldest first (ASC)
+     */
+    String getOrderBy(String direction) {
+        return search ? " ORDER BY " + NameSearch.INDEX + ".rowid " + direction
+            : " ORDER BY createEpoch " + direction + ", id " + direction;
+    }
+
+    /**
+     * True if rows come from the name search index (see getFrom())
+     */
+    boolean isSearch() {
+        return search;
+    }
+
+    /**
+     * " WHERE ..." (with a leading space), or an empty string when nothing is filtered
+     */
+    String getWhere() {
+        return where;
+    }
+
+    /**
+     * Bind the compiled parameters starting at the given index
+     * @return the next free parameter index
+     */
+    int bind(PreparedStatement pstmt, int startIndex) throws SQLException {
+        int index = startIndex;
+        for (Object param : params) {
+            if (param == null) {
+                pstmt.setNull(index++, Types.INTEGER);
+            } else if (param instanceof String text) {
+                pstmt.setString(index++, text);
+            } else if (param instanceof Long number) {
+                pstmt.setLong(index++, number);
+            } else {
+                pstmt.setDouble(index++, (Double) param);
+            }
+        }
+        return index;
+    }
+
+    private static Long epochOrNull(long epoch) {
+        return epoch == DateTimeUtils.UNKNOWN ? null : epoch;
+    }
+}
@@ -1,39 +1,53 @@
 package gitgud.pfm.services;
 
 import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.Models.TransactionCriteria;
 import gitgud.pfm.interfaces.CRUDInterface;
+import gitgud.pfm.utils.DateTimeUtils;
+import gitgud.pfm.utils.Money;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * TransactionService - Explicit CRUD operations for Transaction entity
  * All SQL queries explicitly show field mappings for clarity
  */
 public class TransactionService implements CRUDInterface<Transaction> {
-    private final Connection connection;
+    private static final int FETCH_SIZE = 500;
+    // Index key of the cursor row, for keyset paging through name search results
+    private static final String SEARCH_KEY_OF_ID =
+        "(SELECT searchKey FROM transaction_records WHERE id = ?)";
+    private final Database database;
     
     public TransactionService() {
-        this.connection = Database.getInstance().getConnection();
+        this.database = Database.getInstance();
     }
     
     /**
      * Create a new transaction in the database
-     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
      */
     @Override
     public void create(Transaction transaction) {
-        String sql = "INSERT INTO transaction_records (id, categoryId, amount, name, income, walletId, createTime) " +
-                 "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO transaction_records (id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, transaction.getId());
             pstmt.setString(2, transaction.getCategoryId());
-            pstmt.setDouble(3, transaction.getAmount());
+            pstmt.setLong(3, transaction.getAmountMinor());
             pstmt.setString(4, transaction.getName());
             pstmt.setDouble(5, transaction.getIncome());
             pstmt.setString(6, transaction.getWalletId());
             pstmt.setString(7, transaction.getCreateTime());
+            bindEpoch(pstmt, 8, transaction.getCreateEpoch());
+            pstmt.setString(9, transaction.getGoalId());
             
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -41,15 +55,144 @@ public class TransactionService implements CRUDInterface<Transaction> {
         }
     }
     
+    /**
+     * Insert many transactions in a single database transaction
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
+     *
+     * @param transactions The transactions to insert
+     * @return Number of rows committed (0 if the batch was rolled back)
+     */
+    public int createAll(Collection<Transaction> transactions) {
+        return (int) createAll(transactions.iterator(), database.getConfig().getBatchSize(), null);
+    }
+
+    /**
+     * Streaming bulk insert: rows are pulled from the iterator and sent with
+     * addBatch()/executeBatch() every chunkSize rows, all inside one explicit
+     * transaction that is committed once at the end (one fsync for the whole import).
+     *
+     * The optional chunkListener is called after each chunk is executed, still inside
+     * the transaction and on the writer connection, so it can apply follow-up writes
+     * (e.g. wallet balances) atomically with the rows. If anything fails, everything
+     * is rolled back. Called inside Database.inTransaction, the rows join the caller's
+     * transaction and are committed with it.
+     *
+     * @param transactions  Source of rows; consumed lazily so it can be larger than memory
+     * @param chunkSize     Rows per executeBatch()
+     * @param chunkListener Called with each executed chunk, may be null
+     * @return Number of rows committed (0 if the batch was rolled back)
+     */
+    public long createAll(Iterator<Transaction> transactions, int chunkSize,
+                          Consumer<List<Transaction>> chunkListener) {
+        String sql = "INSERT INTO transaction_records (id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int size = Math.max(1, chunkSize);
+        long started = System.nanoTime();
+        long count;
+
+        try (Connection connection = database.getWriteConnection()) {
+            int cacheSize = setCacheSize(connection, database.getConfig().getBulkCacheSize());
+            try {
+                count = database.inTransaction(unit -> insertAll(unit, sql, transactions, size, chunkListener));
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Error creating transactions in batch, rolled back: " + e.getMessage());
+                return 0;
+            } finally {
+                setCacheSize(connection, cacheSize);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating transactions in batch: " + e.getMessage());
+            return 0;
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("Inserted %d transactions in %.2fs (%.0f rows/sec)%n",
+            count, seconds, seconds > 0 ? count / seconds : (double) count);
+        return count;
+    }
+
+    private static long insertAll(Connection connection, String sql, Iterator<Transaction> transactions,
+                                  int size, Consumer<List<Transaction>> chunkListener) throws SQLException {
+        long count = 0;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            List<Transaction> chunk = new ArrayList<>(size);
+            while (transactions.hasNext()) {
+                Transaction transaction = transactions.next();
+                pstmt.setString(1, transaction.getId());
+                pstmt.setString(2, transaction.getCategoryId());
+                pstmt.setLong(3, transaction.getAmountMinor());
+                pstmt.setString(4, transaction.getName());
+                pstmt.setDouble(5, transaction.getIncome());
+                pstmt.setString(6, transaction.getWalletId());
+                pstmt.setString(7, transaction.getCreateTime());
+                bindEpoch(pstmt, 8, transaction.getCreateEpoch());
+                pstmt.setString(9, transaction.getGoalId());
+                pstmt.addBatch();
+                chunk.add(transaction);
+
+                if (chunk.size() >= size) {
+                    count += flushChunk(pstmt, chunk, chunkListener);
+                    chunk = new ArrayList<>(size);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                count += flushChunk(pstmt, chunk, chunkListener);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Large imports insert into several indexes in random key order; a bigger page cache
+     * for the duration of the batch keeps those index pages from being spilled and re-read.
+     * @return the previous cache_size, to restore afterwards
+     */
+    private static int setCacheSize(Connection connection, int cacheSize) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            int previous;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA cache_size")) {
+                previous = rs.next() ? rs.getInt(1) : cacheSize;
+            }
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            return previous;
+        }
+    }
+
+    /**
+     * createEpoch is stored as NULL when createTime could not be parsed
+     */
+    private static void bindEpoch(PreparedStatement pstmt, int index, long epoch) throws SQLException {
+        if (epoch == DateTimeUtils.UNKNOWN) {
+            pstmt.setNull(index, Types.INTEGER);
+        } else {
+            pstmt.setLong(index, epoch);
+        }
+    }
+
+    private static long readEpoch(ResultSet rs) throws SQLException {
+        long epoch = rs.getLong("createEpoch");
+        return rs.wasNull() ? DateTimeUtils.UNKNOWN : epoch;
+    }
+
+    private static int flushChunk(PreparedStatement pstmt, List<Transaction> chunk,
+                                  Consumer<List<Transaction>> chunkListener) throws SQLException {
+        pstmt.executeBatch();
+        if (chunkListener != null) {
+            chunkListener.accept(chunk);
+        }
+        return chunk.size();
+    }
+
     /**
      * Read a single transaction by ID
-     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
      */
     @Override
     public Transaction read(String id) {
-        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime " +
+        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId " +
                  "FROM transaction_records WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -57,11 +200,12 @@ public class TransactionService implements CRUDInterface<Transaction> {
                     Transaction transaction = new Transaction();
                     transaction.setId(rs.getString("id"));
                     transaction.setCategoryId(rs.getString("categoryId"));
-                    transaction.setAmount(rs.getDouble("amount"));
+                    transaction.setAmountMinor(rs.getLong("amount"));
                     transaction.setName(rs.getString("name"));
                     transaction.setIncome(rs.getDouble("income"));
                     transaction.setWalletId(rs.getString("walletId"));
-                    transaction.setCreateTime(rs.getString("createTime"));
+                    transaction.setCreateTime(rs.getString("createTime"), readEpoch(rs));
+                    transaction.setGoalId(rs.getString("goalId"));
                     return transaction;
                 }
             }
@@ -73,24 +217,26 @@ public class TransactionService implements CRUDInterface<Transaction> {
     
     /**
      * Read all transactions from the database
-     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
      */
     public List<Transaction> readAll() {
-        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime " +
-             "FROM transaction_records ORDER BY createTime DESC";
+        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId " +
+             "FROM transaction_records ORDER BY createEpoch DESC";
         List<Transaction> transactions = new ArrayList<>();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Transaction transaction = new Transaction();
                 transaction.setId(rs.getString("id"));
                 transaction.setCategoryId(rs.getString("categoryId"));
-                transaction.setAmount(rs.getDouble("amount"));
+                transaction.setAmountMinor(rs.getLong("amount"));
                 transaction.setName(rs.getString("name"));
                 transaction.setIncome(rs.getDouble("income"));
                 transaction.setWalletId(rs.getString("walletId"));
-                transaction.setCreateTime(rs.getString("createTime"));
+                transaction.setCreateTime(rs.getString("createTime"), readEpoch(rs));
+                transaction.setGoalId(rs.getString("goalId"));
                 transactions.add(transaction);
             }
         } catch (SQLException e) {
@@ -99,15 +245,256 @@ public class TransactionService implements CRUDInterface<Transaction> {
         return transactions;
     }
     
+    /**
+     * Visit every transaction, oldest first, without building a list.
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
+     *
+     * Rows come from a forward-only, read-only cursor with a fetch size, so memory use
+     * stays flat however large the table is. The read connection stays leased while the
+     * callback runs, so keep it short (e.g. write to a file) and never wait on the UI thread.
+     *
+     * @param walletId Only this wallet's transactions, or null for all
+     * @param action   Called once per row with a fresh Transaction
+     * @return Number of rows visited
+     * @throws SQLException If the query fails (unlike the list readers, which log and return empty)
+     */
+    public long forEach(String walletId, Consumer<? super Transaction> action) throws SQLException {
+        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId " +
+             "FROM transaction_records" + (walletId != null ? " WHERE walletId = ?" : "") +
+             " ORDER BY createEpoch ASC";
+        long count = 0;
+
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(FETCH_SIZE);
+            if (walletId != null) {
+                pstmt.setString(1, walletId);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Transaction transaction = new Transaction();
+                    transaction.setId(rs.getString("id"));
+                    transaction.setCategoryId(rs.getString("categoryId"));
+                    transaction.setAmountMinor(rs.getLong("amount"));
+                    transaction.setName(rs.getString("name"));
+                    transaction.setIncome(rs.getDouble("income"));
+                    transaction.setWalletId(rs.getString("walletId"));
+                    transaction.setCreateTime(rs.getString("createTime"), readEpoch(rs));
+                    transaction.setGoalId(rs.getString("goalId"));
+                    action.accept(transaction);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Read the transactions matching the criteria, newest first, one page at a time.
+     * The criteria are compiled to a WHERE clause (see TransactionQuery), so only matching
+     * rows leave the database. Name searches are read from the full-text index in its order.
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
+     *
+     * @param criteria Filters to apply, or null for all transactions
+     * @param limit    Maximum rows to return, or 0 for no limit
+     * @param offset   Rows to skip (ignored when limit is 0)
+     */
+    public List<Transaction> findByCriteria(TransactionCriteria criteria, int limit, int offset) {
+        TransactionQuery query = TransactionQuery.compile(criteria);
+        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId" +
+                 query.getFrom() + query.getWhere() +
+                 query.getOrderBy("DESC") + (limit > 0 ? " LIMIT ? OFFSET ?" : "");
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int paramIndex = query.bind(pstmt, 1);
+            if (limit > 0) {
+                pstmt.setInt(paramIndex++, limit);
+                pstmt.setInt(paramIndex, Math.max(0, offset));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Transaction transaction = new Transaction();
+                    transaction.setId(rs.getString("id"));
+                    transaction.setCategoryId(rs.getString("categoryId"));
+                    transaction.setAmountMinor(rs.getLong("amount"));
+                    transaction.setName(rs.getString("name"));
+                    transaction.setIncome(rs.getDouble("income"));
+                    transaction.setWalletId(rs.getString("walletId"));
+                    transaction.setCreateTime(rs.getString("createTime"), readEpoch(rs));
+                    transaction.setGoalId(rs.getString("goalId"));
+                    transactions.add(transaction);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error filtering transactions: " + e.getMessage());
+        }
+        return transactions;
+    }
+
+    /**
+     * Keyset paging: the next page after the given row, in findByCriteria order
+     * (createEpoch DESC, id DESC; rows with no createEpoch last, by id). The query seeks
+     * straight to the cursor through the (createEpoch, id) index with a row-value comparison,
+     * so a page costs the same however deep it is.
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
+     *
+     * @param criteria Filters to apply, or null for all transactions
+     * @param last     Last row of the current page, or null for the first page
+     * @param limit    Page size
+     */
+    public List<Transaction> findPageAfter(TransactionCriteria criteria, Transaction last, int limit) {
+        int size = Math.max(1, limit);
+        List<Transaction> page = new ArrayList<>(size);
+        TransactionQuery query = TransactionQuery.compile(criteria);
+        if (query.isSearch()) {
+            // Index order already puts undated rows last
+            findPage(query, last == null ? null : NameSearch.INDEX + ".rowid < " + SEARCH_KEY_OF_ID,
+                last == null ? List.of() : List.of(last.getId()), "DESC", size, page);
+            return page;
+        }
+        if (last == null || last.getCreateEpoch() != DateTimeUtils.UNKNOWN) {
+            String keyset = last == null ? "createEpoch IS NOT NULL" : "(createEpoch, id) < (?, ?)";
+            findPage(query, keyset, cursorParams(last), "DESC", size, page);
+        }
+        // Undated rows come after every dated one; a separate query keeps both parts index seeks
+        if (page.size() < size) {
+            boolean inUndated = last != null && last.getCreateEpoch() == DateTimeUtils.UNKNOWN;
+            findPage(query, inUndated ? "createEpoch IS NULL AND id < ?" : "createEpoch IS NULL",
+                inUndated ? cursorParams(last) : List.of(), "DESC", size - page.size(), page);
+        }
+        return page;
+    }
+
+    /**
+     * Keyset paging: the page before the given row, returned in findByCriteria order
+     *
+     * @param first First row of the current page
+     * @param limit Page size
+     */
+    public List<Transaction> findPageBefore(TransactionCriteria criteria, Transaction first, int limit) {
+        int size = Math.max(1, limit);
+        List<Transaction> page = new ArrayList<>(size);
+        TransactionQuery query = TransactionQuery.compile(criteria);
+        // Walk backwards from the cursor (nearest rows first), then restore newest-first order
+        if (query.isSearch()) {
+            findPage(query, NameSearch.INDEX + ".rowid > " + SEARCH_KEY_OF_ID, List.of(first.getId()),
+                "ASC", size, page);
+        } else if (first.getCreateEpoch() == DateTimeUtils.UNKNOWN) {
+            findPage(query, "createEpoch IS NULL AND id > ?", cursorParams(first), "ASC", size, page);
+            if (page.size() < size) {
+                findPage(query, "createEpoch IS NOT NULL", List.of(), "ASC", size - page.size(), page);
+            }
+        } else {
+            findPage(query, "(createEpoch, id) > (?, ?)", cursorParams(first), "ASC", size, page);
+        }
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * The cursor's createEpoch (when it has one) and id, in the order the keyset conditions use them
+     */
+    private static List<Object> cursorParams(Transaction cursor) {
+        if (cursor == null) {
+            return List.of();
+        }
+        return cursor.getCreateEpoch() != DateTimeUtils.UNKNOWN
+            ? List.of(cursor.getCreateEpoch(), cursor.getId()) : List.of(cursor.getId());
+    }
+
+    /**
+     * Append up to limit rows matching the query and the keyset condition (null for none),
+     * binding keysetParams after the query's own parameters.
+     */
+    private void findPage(TransactionQuery query, String keyset, List<Object> keysetParams,
+                          String direction, int limit, List<Transaction> into) {
+        String where = query.getWhere();
+        if (keyset != null) {
+            where = where.isEmpty() ? " WHERE " + keyset : where + " AND " + keyset;
+        }
+        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId" +
+                 query.getFrom() + where + query.getOrderBy(direction) + " LIMIT ?";
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int paramIndex = query.bind(pstmt, 1);
+            for (Object param : keysetParams) {
+                if (param instanceof Long epoch) {
+                    pstmt.setLong(paramIndex++, epoch);
+                } else {
+                    pstmt.setString(paramIndex++, (String) param);
+                }
+            }
+            pstmt.setInt(paramIndex, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Transaction transaction = new Transaction();
+                    transaction.setId(rs.getString("id"));
+                    transaction.setCategoryId(rs.getString("categoryId"));
+                    transaction.setAmountMinor(rs.getLong("amount"));
+                    transaction.setName(rs.getString("name"));
+                    transaction.setIncome(rs.getDouble("income"));
+                    transaction.setWalletId(rs.getString("walletId"));
+                    transaction.setCreateTime(rs.getString("createTime"), readEpoch(rs));
+                    transaction.setGoalId(rs.getString("goalId"));
+                    into.add(transaction);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading transaction page: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Count the transactions matching the criteria (for page counts alongside findByCriteria)
+     */
+    public int countByCriteria(TransactionCriteria criteria) {
+        return countByCriteria(criteria, 0);
+    }
+
+    /**
+     * Count the transactions matching the criteria, stopping at limit. Counting every match
+     * of a short search prefix reads its whole posting list; a capped count does not.
+     *
+     * @param limit Largest count to return, or 0 for no limit
+     */
+    public int countByCriteria(TransactionCriteria criteria, int limit) {
+        TransactionQuery query = TransactionQuery.compile(criteria);
+        String sql = limit > 0
+            ? "SELECT COUNT(*) AS total FROM (SELECT 1" + query.getCountFrom() + query.getWhere() + " LIMIT ?)"
+            : "SELECT COUNT(*) AS total" + query.getCountFrom() + query.getWhere();
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int paramIndex = query.bind(pstmt, 1);
+            if (limit > 0) {
+                pstmt.setInt(paramIndex, limit);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting transactions: " + e.getMessage());
+        }
+        return 0;
+    }
+
     /**
      * Read all transactions by account ID
-     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime
+     * Explicit fields: id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId
      */
     public List<Transaction> readByAccount(String accountID) {
-        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime " +
-                 "FROM transaction_records WHERE walletId = ? ORDER BY createTime DESC";
+        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime, createEpoch, goalId " +
+                 "FROM transaction_records WHERE walletId = ? ORDER BY createEpoch DESC";
         List<Transaction> transactions = new ArrayList<>();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, accountID);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -115,11 +502,12 @@ public class TransactionService implements CRUDInterface<Transaction> {
                     Transaction transaction = new Transaction();
                     transaction.setId(rs.getString("id"));
                     transaction.setCategoryId(rs.getString("categoryId"));
-                    transaction.setAmount(rs.getDouble("amount"));
+                    transaction.setAmountMinor(rs.getLong("amount"));
                     transaction.setName(rs.getString("name"));
                     transaction.setIncome(rs.getDouble("income"));
                     transaction.setWalletId(rs.getString("walletId"));
-                    transaction.setCreateTime(rs.getString("createTime"));
+                    transaction.setCreateTime(rs.getString("createTime"), readEpoch(rs));
+                    transaction.setGoalId(rs.getString("goalId"));
                     transactions.add(transaction);
                 }
             }
@@ -131,20 +519,23 @@ public class TransactionService implements CRUDInterface<Transaction> {
     
     /**
      * Update an existing transaction
-     * Explicit fields: categoryId, amount, name, income, walletId, createTime (WHERE id = ?)
+     * Explicit fields: categoryId, amount, name, income, walletId, createTime, createEpoch, goalId (WHERE id = ?)
      */
     @Override
     public void update(Transaction transaction) {
         String sql = "UPDATE transaction_records SET categoryId = ?, amount = ?, name = ?, " +
-             "income = ?, walletId = ?, createTime = ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+             "income = ?, walletId = ?, createTime = ?, createEpoch = ?, goalId = ? WHERE id = ?";
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, transaction.getCategoryId());
-            pstmt.setDouble(2, transaction.getAmount());
+            pstmt.setLong(2, transaction.getAmountMinor());
             pstmt.setString(3, transaction.getName());
             pstmt.setDouble(4, transaction.getIncome());
             pstmt.setString(5, transaction.getWalletId());
             pstmt.setString(6, transaction.getCreateTime());
-            pstmt.setString(7, transaction.getId());
+            bindEpoch(pstmt, 7, transaction.getCreateEpoch());
+            pstmt.setString(8, transaction.getGoalId());
+            pstmt.setString(9, transaction.getId());
             
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -159,7 +550,8 @@ public class TransactionService implements CRUDInterface<Transaction> {
     public void delete(String id) {
         String sql = "DELETE FROM transaction_records WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, id);
             
             pstmt.executeUpdate();
@@ -174,11 +566,12 @@ public class TransactionService implements CRUDInterface<Transaction> {
     public double getTotalIncome() {
         String sql = "SELECT SUM(amount) as total FROM transaction_records WHERE income = 1";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             if (rs.next()) {
-                return rs.getDouble("total");
+                return Money.toMajor(rs.getLong("total"));
             }
         } catch (SQLException e) {
             System.err.println("Error calculating total income: " + e.getMessage());
@@ -192,38 +585,25 @@ public class TransactionService implements CRUDInterface<Transaction> {
     public double getTotalExpenses() {
         String sql = "SELECT SUM(amount) as total FROM transaction_records WHERE income = 0";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             if (rs.next()) {
-                return rs.getDouble("total");
+                return Money.toMajor(rs.getLong("total"));
             }
         } catch (SQLException e) {
             System.err.println("Error calculating total expenses: " + e.getMessage());
         }
         return 0.0;
     }
-    public List<Transaction> findByName(String namePattern) {
-		List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT id, categoryId, amount, name, income, walletId, createTime FROM transaction_records WHERE name LIKE ? ORDER BY name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)){
-            pstmt.setString(1, namePattern);
-            try (ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                Transaction transaction = new Transaction();
-                    transaction.setId(rs.getString("id"));
-                    transaction.setCategoryId(rs.getString("categoryId"));
-                    transaction.setAmount(rs.getDouble("amount"));
-                    transaction.setName(rs.getString("name"));
-                    transaction.setIncome(rs.getDouble("income"));
-                    transaction.setWalletId(rs.getString("walletId"));
-                    transaction.setCreateTime(rs.getString("createTime"));
-                    transactions.add(transaction);
-            }
-        }
-        } catch (SQLException e) {
-            System.out.println("Error searching transactions by name: " + e.getMessage());
-        }
-        return transactions;
+    /**
+     * Search transaction names in the full-text index, newest first. Every word of the text
+     * must start a word of the name ("cof cor" finds "Coffee Corner"; see NameSearch).
+     *
+     * @param limit Maximum rows to return, or 0 for no limit
+     */
+    public List<Transaction> findByName(String text, int limit) {
+        return findByCriteria(TransactionCriteria.builder().name(text).build(), limit, 0);
     }
 }
\ No newline at end of file
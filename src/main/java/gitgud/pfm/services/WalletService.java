@@ -2,6 +2,7 @@ package gitgud.pfm.services;
 
 import gitgud.pfm.Models.Wallet;
 import gitgud.pfm.interfaces.CRUDInterface;
+import gitgud.pfm.utils.Money;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,25 +12,28 @@ import java.util.List;
  * All SQL queries explicitly show field mappings for clarity
  */
 public class WalletService implements CRUDInterface<Wallet> {
-    private final Connection connection;
+    private final Database database;
     
     public WalletService() {
-        this.connection = Database.getInstance().getConnection();
+        this.database = Database.getInstance();
     }
     
     /**
      * Create a new wallet in the database
-     * Explicit fields: walletId, name, balance, color
+     * Explicit fields: walletId, name, balance, color, openingBalance
+     * A new wallet has no transactions yet, so its balance is also its opening balance
      */
     @Override
     public void create(Wallet wallet) {
-        String sql = "INSERT INTO Wallet (id, name, balance, color) VALUES (?, ?, ?, ?)";
+        String sql = "INSERT INTO Wallet (id, name, balance, color, openingBalance) VALUES (?, ?, ?, ?, ?)";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, wallet.getId());
             pstmt.setString(2, wallet.getName());
-            pstmt.setDouble(3, wallet.getBalance());
+            pstmt.setLong(3, wallet.getBalanceMinor());
             pstmt.setString(4, wallet.getColor());
+            pstmt.setLong(5, wallet.getBalanceMinor());
             
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -44,7 +48,8 @@ public class WalletService implements CRUDInterface<Wallet> {
     @Override
     public Wallet read(String walletId) {
         String sql = "SELECT id, name, balance, color FROM Wallet WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, walletId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -52,7 +57,7 @@ public class WalletService implements CRUDInterface<Wallet> {
                     Wallet wallet = new Wallet();
                     wallet.setId(rs.getString("id"));
                     wallet.setName(rs.getString("name"));
-                    wallet.setBalance(rs.getDouble("balance"));
+                    wallet.setBalanceMinor(rs.getLong("balance"));
                     wallet.setColor(rs.getString("color"));
                     return wallet;
                 }
@@ -71,14 +76,15 @@ public class WalletService implements CRUDInterface<Wallet> {
         String sql = "SELECT id, name, balance, color FROM Wallet ORDER BY name";
         List<Wallet> wallets = new ArrayList<>();
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Wallet wallet = new Wallet();
                 wallet.setId(rs.getString("id"));
                 wallet.setName(rs.getString("name"));
-                wallet.setBalance(rs.getDouble("balance"));
+                wallet.setBalanceMinor(rs.getLong("balance"));
                 wallet.setColor(rs.getString("color"));
                 wallets.add(wallet);
             }
@@ -96,9 +102,10 @@ public class WalletService implements CRUDInterface<Wallet> {
     public void update(Wallet wallet) {
         String sql = "UPDATE Wallet SET name = ?, balance = ?, color = ? WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, wallet.getName());
-            pstmt.setDouble(2, wallet.getBalance());
+            pstmt.setLong(2, wallet.getBalanceMinor());
             pstmt.setString(3, wallet.getColor());
             pstmt.setString(4, wallet.getId());
             
@@ -115,7 +122,8 @@ public class WalletService implements CRUDInterface<Wallet> {
     public void delete(String walletId) {
         String sql = "DELETE FROM Wallet WHERE id = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, walletId);
             
             pstmt.executeUpdate();
@@ -130,11 +138,12 @@ public class WalletService implements CRUDInterface<Wallet> {
     public double getTotalBalance() {
         String sql = "SELECT SUM(balance) as total FROM Wallet";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             if (rs.next()) {
-                return rs.getDouble("total");
+                return Money.toMajor(rs.getLong("total"));
             }
         } catch (SQLException e) {
             System.err.println("Error calculating total balance: " + e.getMessage());
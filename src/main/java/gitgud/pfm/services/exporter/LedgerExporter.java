@@ -0,0 +1,282 @@
+package gitgud.pfm.services.exporter;
+
+import gitgud.pfm.Models.Category;
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.services.CategoryService;
+import gitgud.pfm.services.TransactionService;
+import gitgud.pfm.utils.Money;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * LedgerExporter - Writes the transaction ledger to CSV or JSON
+ *
+ * Rows are streamed from TransactionService.forEach() and encoded into a small
+ * buffer that is flushed to a FileChannel, so memory use does not depend on the
+ * number of transactions. Output goes to a temporary file in the target directory
+ * and is moved into place only when complete.
+ *
+ * The CSV columns (Date, Description, Amount, Category) match the importer's default
+ * column mapping, so an export can be imported again. Amount is signed: negative
+ * for expenses.
+ */
+public class LedgerExporter {
+    public enum Format {
+        CSV, JSON;
+
+        /**
+         * Pick the format from the file extension (.json, anything else is CSV)
+         */
+        public static Format forFile(Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private final TransactionService transactionService;
+    private final CategoryService categoryService;
+
+    public LedgerExporter() {
+        this.transactionService = new TransactionService();
+        this.categoryService = new CategoryService();
+    }
+
+    /**
+     * Export all transactions (or one wallet's) to the given file
+     *
+     * @param walletId Only this wallet, or null for the whole ledger
+     * @return Number of transactions written
+     */
+    public long export(Path target, Format format, String walletId) throws IOException {
+        Map<String, String> categoryNames = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+
+        Path absolute = target.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".part");
+        long started = System.nanoTime();
+        long count;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelWriter out = new ChannelWriter(channel);
+            RowWriter rows = format == Format.JSON ? new JsonRowWriter(out, categoryNames)
+                                                   : new CsvRowWriter(out, categoryNames);
+            rows.begin();
+            try {
+                count = transactionService.forEach(walletId, transaction -> {
+                    try {
+                        rows.write(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (SQLException e) {
+                throw new IOException("Could not read transactions: " + e.getMessage(), e);
+            }
+            rows.end();
+            out.flush();
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("Exported %d transactions to %s in %.2fs%n", count, absolute, seconds);
+        return count;
+    }
+
+    /**
+     * Text buffer that is encoded and written to the channel in large chunks
+     */
+    private static final class ChannelWriter {
+        private final FileChannel channel;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+        private ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private StringBuilder buffer() {
+            return buffer;
+        }
+
+        private void flushIfFull() throws IOException {
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            buffer.setLength(0);
+        }
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(Transaction transaction) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    private static String signedAmount(Transaction transaction) {
+        long signed = transaction.getIncome() == 1 ? transaction.getAmountMinor() : -transaction.getAmountMinor();
+        return Money.format(signed);
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final ChannelWriter out;
+        private final Map<String, String> categoryNames;
+
+        private CsvRowWriter(ChannelWriter out, Map<String, String> categoryNames) {
+            this.out = out;
+            this.categoryNames = categoryNames;
+        }
+
+        @Override
+        public void begin() {
+            out.buffer().append("Id,Date,Description,Amount,Category,CategoryId,WalletId\n");
+        }
+
+        @Override
+        public void write(Transaction transaction) throws IOException {
+            StringBuilder sb = out.buffer();
+            appendField(sb, transaction.getId()).append(',');
+            appendField(sb, transaction.getCreateTime()).append(',');
+            appendField(sb, transaction.getName()).append(',');
+            sb.append(signedAmount(transaction)).append(',');
+            appendField(sb, categoryNames.get(transaction.getCategoryId())).append(',');
+            appendField(sb, transaction.getCategoryId()).append(',');
+            appendField(sb, transaction.getWalletId()).append('\n');
+            out.flushIfFull();
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private static StringBuilder appendField(StringBuilder sb, String value) {
+            if (value == null) {
+                return sb;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                return sb.append(value);
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    sb.append('"');
+                }
+                sb.append(c);
+            }
+            return sb.append('"');
+        }
+    }
+
+    private static final class JsonRowWriter implements RowWriter {
+        private final ChannelWriter out;
+        private final Map<String, String> categoryNames;
+        private boolean first = true;
+
+        private JsonRowWriter(ChannelWriter out, Map<String, String> categoryNames) {
+            this.out = out;
+            this.categoryNames = categoryNames;
+        }
+
+        @Override
+        public void begin() {
+            out.buffer().append('[');
+        }
+
+        @Override
+        public void write(Transaction transaction) throws IOException {
+            StringBuilder sb = out.buffer();
+            sb.append(first ? "\n  {" : ",\n  {");
+            first = false;
+            sb.append("\"id\":");
+            appendString(sb, transaction.getId());
+            sb.append(",\"date\":");
+            appendString(sb, transaction.getCreateTime());
+            sb.append(",\"description\":");
+            appendString(sb, transaction.getName());
+            sb.append(",\"amount\":").append(signedAmount(transaction));
+            sb.append(",\"income\":").append(transaction.getIncome() == 1);
+            sb.append(",\"category\":");
+            appendString(sb, categoryNames.get(transaction.getCategoryId()));
+            sb.append(",\"categoryId\":");
+            appendString(sb, transaction.getCategoryId());
+            sb.append(",\"walletId\":");
+            appendString(sb, transaction.getWalletId());
+            sb.append('}');
+            out.flushIfFull();
+        }
+
+        @Override
+        public void end() {
+            out.buffer().append(first ? "]\n" : "\n]\n");
+        }
+
+        private static void appendString(StringBuilder sb, String value) {
+            if (value == null) {
+                sb.append("null");
+                return;
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        sb.append("\\\"");
+                        break;
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    case '\r':
+                        sb.append("\\r");
+                        break;
+                    case '\t':
+                        sb.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
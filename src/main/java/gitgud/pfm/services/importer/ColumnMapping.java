@@ -0,0 +1,213 @@
+package gitgud.pfm.services.importer;
+
+import gitgud.pfm.utils.Money;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * ColumnMapping - How CSV columns map to Transaction fields
+ *
+ * Columns are found by header name (case-insensitive, first matching alias wins) or
+ * by explicit zero-based index. The amount is either one signed column, or a pair of
+ * debit (money out) and credit (money in) columns.
+ */
+public class ColumnMapping {
+    public enum Field {
+        DATE, DESCRIPTION, AMOUNT, DEBIT, CREDIT, CATEGORY
+    }
+
+    private char delimiter = ',';
+    private boolean header = true;
+    private final List<List<String>> aliases = new ArrayList<>();
+    private final int[] indexes = new int[Field.values().length];
+    private final List<DateTimeFormatter> dateFormats = new ArrayList<>();
+    private final Set<DateTimeFormatter> dateTimeFormats = new HashSet<>();
+
+    public ColumnMapping() {
+        for (Field field : Field.values()) {
+            aliases.add(new ArrayList<>());
+        }
+        Arrays.fill(indexes, -1);
+    }
+
+    /**
+     * Mapping that recognises the headers most banks export
+     */
+    public static ColumnMapping defaults() {
+        ColumnMapping mapping = new ColumnMapping();
+        mapping.setAliases(Field.DATE, "date", "transaction date", "posted date", "posting date", "booking date");
+        mapping.setAliases(Field.DESCRIPTION, "description", "name", "payee", "details", "memo", "narrative");
+        mapping.setAliases(Field.AMOUNT, "amount", "value", "transaction amount");
+        mapping.setAliases(Field.DEBIT, "debit", "withdrawal", "withdrawals", "money out");
+        mapping.setAliases(Field.CREDIT, "credit", "deposit", "deposits", "money in");
+        mapping.setAliases(Field.CATEGORY, "category", "type");
+        mapping.addDateFormat("yyyy-MM-dd");
+        mapping.addDateFormat("yyyy-MM-dd HH:mm:ss");
+        mapping.addDateFormat("yyyy/MM/dd");
+        mapping.addDateFormat("dd/MM/yyyy");
+        mapping.addDateFormat("MM/dd/yyyy");
+        return mapping;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public boolean hasHeader() {
+        return header;
+    }
+
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    public void setAliases(Field field, String... names) {
+        List<String> list = aliases.get(field.ordinal());
+        list.clear();
+        for (String name : names) {
+            list.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Use a fixed column position instead of looking the field up by header name
+     */
+    public void setIndex(Field field, int index) {
+        indexes[field.ordinal()] = index;
+    }
+
+    /**
+     * Accepted date patterns, tried in order (the first one that matches is remembered).
+     * Put the bank's own pattern first when day/month order is ambiguous.
+     */
+    public void addDateFormat(String pattern) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+        dateFormats.add(format);
+        if (pattern.indexOf('H') >= 0 || pattern.indexOf('h') >= 0) {
+            dateTimeFormats.add(format);
+        }
+    }
+
+    /**
+     * Column index of every field for the given header row (-1 when absent)
+     */
+    int[] resolve(List<String> headerRow) {
+        int[] resolved = indexes.clone();
+        if (headerRow == null) {
+            return resolved;
+        }
+        List<String> normalized = new ArrayList<>(headerRow.size());
+        for (String name : headerRow) {
+            normalized.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+        for (Field field : Field.values()) {
+            if (resolved[field.ordinal()] >= 0) {
+                continue;
+            }
+            for (String alias : aliases.get(field.ordinal())) {
+                int index = normalized.indexOf(alias);
+                if (index >= 0) {
+                    resolved[field.ordinal()] = index;
+                    break;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Parse a date or date-time with the configured patterns
+     */
+    LocalDateTime parseDate(String value) {
+        String text = value.trim();
+        LocalDateTime iso = parseIso(text);
+        if (iso != null) {
+            return iso;
+        }
+        for (int i = 0; i < dateFormats.size(); i++) {
+            DateTimeFormatter format = dateFormats.get(i);
+            try {
+                // Parse with the exact type the pattern produces; parseBest() throws internally
+                // for every date-only value and is several times slower
+                LocalDateTime parsed = dateTimeFormats.contains(format)
+                    ? LocalDateTime.parse(text, format)
+                    : LocalDate.parse(text, format).atStartOfDay();
+                if (i > 0) {
+                    // Statements use one format throughout; try it first from now on
+                    dateFormats.remove(i);
+                    dateFormats.add(0, format);
+                }
+                return parsed;
+            } catch (DateTimeParseException e) {
+                // try the next pattern
+            }
+        }
+        throw new DateTimeParseException("Unrecognised date", text, 0);
+    }
+
+    /**
+     * Fast path for yyyy-MM-dd and yyyy-MM-dd HH:mm:ss (also with 'T'), the most common
+     * export format. Returns null if the text is not in that shape.
+     */
+    private static LocalDateTime parseIso(String text) {
+        int length = text.length();
+        if ((length != 10 && length != 19) || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        try {
+            int year = Integer.parseInt(text, 0, 4, 10);
+            int month = Integer.parseInt(text, 5, 7, 10);
+            int day = Integer.parseInt(text, 8, 10, 10);
+            if (length == 10) {
+                return LocalDate.of(year, month, day).atStartOfDay();
+            }
+            char separator = text.charAt(10);
+            if ((separator != ' ' && separator != 'T') || text.charAt(13) != ':' || text.charAt(16) != ':') {
+                return null;
+            }
+            return LocalDateTime.of(year, month, day, Integer.parseInt(text, 11, 13, 10),
+                Integer.parseInt(text, 14, 16, 10), Integer.parseInt(text, 17, 19, 10));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse an amount such as "1,234.56", "-12.00", "(12.00)" or "$ 5" into minor units
+     */
+    static long parseAmount(String value) {
+        String text = value.trim();
+        if (text.isEmpty()) {
+            return 0;
+        }
+        boolean negative = false;
+        if (text.startsWith("(") && text.endsWith(")")) {
+            negative = true;
+            text = text.substring(1, text.length() - 1);
+        }
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.') {
+                digits.append(c);
+            } else if (c == '-') {
+                negative = !negative;
+            }
+            // currency symbols, spaces and thousands separators are dropped
+        }
+        long amount = Money.parse(digits.toString());
+        return negative ? -amount : amount;
+    }
+}
@@ -0,0 +1,174 @@
+package gitgud.pfm.services.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * CsvStatementParser - Streaming RFC 4180 CSV statement reader
+ * Quoted fields may contain the delimiter, doubled quotes and line breaks.
+ */
+public class CsvStatementParser implements StatementParser {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader reader;
+    private final ColumnMapping mapping;
+    private final char delimiter;
+    private final int[] columns;
+    private final StringBuilder field = new StringBuilder();
+    private long lineNumber;
+    private long recordLine;
+    private List<String> pending;
+
+    public CsvStatementParser(Reader reader, ColumnMapping mapping) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+        this.mapping = mapping;
+        this.delimiter = mapping.getDelimiter();
+        this.columns = mapping.resolve(mapping.hasHeader() ? readRecord() : null);
+
+        if (column(ColumnMapping.Field.DATE) < 0) {
+            throw new IOException("CSV statement has no date column");
+        }
+        if (column(ColumnMapping.Field.AMOUNT) < 0
+                && column(ColumnMapping.Field.DEBIT) < 0 && column(ColumnMapping.Field.CREDIT) < 0) {
+            throw new IOException("CSV statement has no amount (or debit/credit) column");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            try {
+                pending = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pending != null;
+    }
+
+    @Override
+    public StatementRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = pending;
+        pending = null;
+
+        try {
+            String amountText = value(record, ColumnMapping.Field.AMOUNT);
+            long amount;
+            if (amountText != null && !amountText.isBlank()) {
+                amount = ColumnMapping.parseAmount(amountText);
+            } else {
+                // Debit/credit columns: money out is negative regardless of how the bank signs it
+                amount = Math.abs(parseOptional(value(record, ColumnMapping.Field.CREDIT)))
+                       - Math.abs(parseOptional(value(record, ColumnMapping.Field.DEBIT)));
+            }
+            String date = value(record, ColumnMapping.Field.DATE);
+            if (date == null || date.isBlank()) {
+                throw new StatementParseException(recordLine, "missing date");
+            }
+            String description = value(record, ColumnMapping.Field.DESCRIPTION);
+            return new StatementRow(recordLine, mapping.parseDate(date),
+                description == null ? "" : description.trim(), amount,
+                value(record, ColumnMapping.Field.CATEGORY));
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new StatementParseException(recordLine, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int column(ColumnMapping.Field field) {
+        return columns[field.ordinal()];
+    }
+
+    private String value(List<String> record, ColumnMapping.Field field) {
+        int index = column(field);
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    private static long parseOptional(String text) {
+        return text == null || text.isBlank() ? 0 : ColumnMapping.parseAmount(text);
+    }
+
+    /**
+     * Read one record (possibly spanning several physical lines). Blank lines are skipped.
+     * @return the fields, or null at end of input
+     */
+    private List<String> readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+
+        while (true) {
+            // Copy runs of plain characters in bulk; only quotes and delimiters are inspected
+            int start = 0;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        field.append(line, start, i);
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                        start = i + 1;
+                    }
+                } else if (c == '"') {
+                    field.append(line, start, i);
+                    quoted = true;
+                    start = i + 1;
+                } else if (c == delimiter) {
+                    fields.add(takeField(line, start, i));
+                    start = i + 1;
+                }
+            }
+            if (!quoted) {
+                fields.add(takeField(line, start, line.length()));
+                return fields;
+            }
+            // Line break inside a quoted field: keep reading the same record
+            field.append(line, start, line.length()).append('\n');
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted field starting at line " + recordLine);
+            }
+            lineNumber++;
+        }
+    }
+
+    /**
+     * Finish the current field; unquoted fields are a plain substring with no copying through the buffer
+     */
+    private String takeField(String line, int start, int end) {
+        if (field.length() == 0) {
+            return line.substring(start, end);
+        }
+        field.append(line, start, end);
+        String value = field.toString();
+        field.setLength(0);
+        return value;
+    }
+}
@@ -0,0 +1,90 @@
+package gitgud.pfm.services.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ImportResult - Counters and timing for one statement import
+ */
+public class ImportResult {
+    private static final int MAX_ERRORS = 20;
+
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsSkipped;
+    private long rowsUncategorized;
+    private long elapsedNanos;
+    private boolean committed;
+    private final List<String> errors = new ArrayList<>();
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void rowSkipped(String error) {
+        rowsSkipped++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    void rowUncategorized() {
+        rowsUncategorized++;
+    }
+
+    void finish(long rowsImported, long elapsedNanos, boolean committed) {
+        this.rowsImported = rowsImported;
+        this.elapsedNanos = elapsedNanos;
+        this.committed = committed;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    /**
+     * Rows whose category could not be matched and were given the fallback category
+     */
+    public long getRowsUncategorized() {
+        return rowsUncategorized;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    public double getRowsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? rowsImported / seconds : rowsImported;
+    }
+
+    /**
+     * False if the batch was rolled back (nothing was imported)
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * First few per-row errors, for display
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %,d of %,d rows (%,d skipped, %,d uncategorized) in %.2fs, %,.0f rows/sec%s",
+            rowsImported, rowsRead, rowsSkipped, rowsUncategorized, getElapsedSeconds(), getRowsPerSecond(),
+            committed ? "" : " - ROLLED BACK");
+    }
+}
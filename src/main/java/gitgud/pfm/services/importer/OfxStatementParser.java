@@ -0,0 +1,172 @@
+package gitgud.pfm.services.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * OfxStatementParser - Streaming reader for OFX 1.x (SGML) and 2.x (XML) statements
+ *
+ * Only the STMTTRN blocks are read: DTPOSTED, TRNAMT and NAME (or MEMO). Leaf
+ * elements may omit their closing tag as SGML OFX allows. OFX has no category, so
+ * rows are categorised by the importer's fallback.
+ */
+public class OfxStatementParser implements StatementParser {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader reader;
+    private final StringBuilder token = new StringBuilder();
+    private final Map<String, String> fields = new HashMap<>();
+    private long lineNumber = 1;
+    private long blockLine;
+    private boolean eof;
+    private boolean tagPending;
+    private StatementRow pending;
+
+    public OfxStatementParser(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null && !eof) {
+            try {
+                pending = readTransaction();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pending != null;
+    }
+
+    @Override
+    public StatementRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        StatementRow row = pending;
+        pending = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Scan forward to the end of the next STMTTRN block
+     */
+    private StatementRow readTransaction() throws IOException {
+        boolean inTransaction = false;
+        String tag;
+        while ((tag = readTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+                blockLine = lineNumber;
+                fields.clear();
+            } else if (tag.equals("/STMTTRN")) {
+                if (inTransaction) {
+                    return toRow();
+                }
+            } else if (inTransaction && !tag.startsWith("/")) {
+                // SGML leaf elements end at the next tag, with or without a closing tag
+                fields.put(tag, readText().trim());
+            }
+        }
+        eof = true;
+        return null;
+    }
+
+    /**
+     * Skip to the next tag and return its upper-cased name (e.g. "STMTTRN", "/STMTTRN"), or null at EOF
+     */
+    private String readTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // text outside the elements we care about
+        }
+        if (c == -1) {
+            return null;
+        }
+        token.setLength(0);
+        while ((c = read()) != -1 && c != '>') {
+            token.append((char) c);
+        }
+        return token.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Read element text up to (not including) the next '<'
+     */
+    private String readText() throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '<') {
+                tagPending = true;
+                break;
+            }
+            token.append((char) c);
+        }
+        return token.toString();
+    }
+
+    private int read() throws IOException {
+        if (tagPending) {
+            tagPending = false;
+            return '<';
+        }
+        int c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private StatementRow toRow() {
+        String amount = fields.get("TRNAMT");
+        String posted = fields.get("DTPOSTED");
+        if (amount == null || posted == null) {
+            throw new StatementParseException(blockLine, "STMTTRN without TRNAMT or DTPOSTED");
+        }
+        String name = fields.get("NAME");
+        if (name == null || name.isEmpty()) {
+            name = fields.getOrDefault("MEMO", "");
+        }
+        name = name.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+        try {
+            return new StatementRow(blockLine, parseOfxDate(posted), name, ColumnMapping.parseAmount(amount), null);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new StatementParseException(blockLine, e.getMessage());
+        }
+    }
+
+    /**
+     * OFX dates look like 20240115, 20240115093000 or 20240115093000.000[-5:EST]
+     */
+    static LocalDateTime parseOfxDate(String value) {
+        if (value.length() < 8) {
+            throw new DateTimeException("Invalid OFX date: " + value);
+        }
+        int year = Integer.parseInt(value.substring(0, 4));
+        int month = Integer.parseInt(value.substring(4, 6));
+        int day = Integer.parseInt(value.substring(6, 8));
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (value.length() >= 14 && Character.isDigit(value.charAt(13))) {
+            hour = Integer.parseInt(value.substring(8, 10));
+            minute = Integer.parseInt(value.substring(10, 12));
+            second = Integer.parseInt(value.substring(12, 14));
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+}
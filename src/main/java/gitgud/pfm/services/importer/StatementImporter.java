@@ -0,0 +1,192 @@
+package gitgud.pfm.services.importer;
+
+import gitgud.pfm.Models.Category;
+import gitgud.pfm.Models.Transaction;
+import gitgud.pfm.services.BalanceEngine;
+import gitgud.pfm.services.CategoryService;
+import gitgud.pfm.services.Database;
+import gitgud.pfm.services.TransactionService;
+import gitgud.pfm.services.WalletService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * StatementImporter - Streams a bank statement into transaction_records
+ *
+ * Rows are parsed one at a time and written through TransactionService's batched
+ * createAll(), so the whole import is a single database transaction and memory use
+ * does not grow with the file. The wallet's stored balance is then re-derived from the
+ * ledger once, inside the same transaction, so a failed import leaves both rows and
+ * balance untouched.
+ */
+public class StatementImporter {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final TransactionService transactionService;
+    private final WalletService walletService;
+    private final CategoryService categoryService;
+    private final BalanceEngine balanceEngine;
+    private int chunkSize;
+
+    public StatementImporter() {
+        this.transactionService = new TransactionService();
+        this.walletService = new WalletService();
+        this.categoryService = new CategoryService();
+        this.balanceEngine = new BalanceEngine();
+        this.chunkSize = Database.getInstance().getConfig().getBatchSize();
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Import a statement file into a wallet. .ofx/.qfx files are read as OFX,
+     * everything else as CSV with the default column mapping.
+     */
+    public ImportResult importFile(Path file, String walletId) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            try (StatementParser parser = new OfxStatementParser(
+                    Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                return importStatement(parser, walletId);
+            }
+        }
+        return importCsv(file, walletId, ColumnMapping.defaults());
+    }
+
+    public ImportResult importCsv(Path file, String walletId, ColumnMapping mapping) throws IOException {
+        try (StatementParser parser = new CsvStatementParser(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), mapping)) {
+            return importStatement(parser, walletId);
+        }
+    }
+
+    /**
+     * Import every row from the parser into the given wallet
+     */
+    public ImportResult importStatement(StatementParser parser, String walletId) {
+        if (walletService.read(walletId) == null) {
+            throw new IllegalArgumentException("Wallet not found: " + walletId);
+        }
+
+        ImportResult result = new ImportResult();
+        CategoryResolver categories = new CategoryResolver(categoryService.getAllCategories());
+        Iterator<Transaction> rows = new TransactionIterator(parser, walletId, categories, result);
+
+        long started = System.nanoTime();
+        long imported;
+        try {
+            // createAll joins this unit, so the rows and the re-derived balance commit together
+            imported = Database.getInstance().inTransaction(connection -> {
+                long count = transactionService.createAll(rows, chunkSize, null);
+                if (count > 0) {
+                    balanceEngine.syncStoredBalance(walletId);
+                }
+                return count;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error importing statement, rolled back: " + e.getMessage());
+            imported = 0;
+        }
+        boolean committed = imported > 0 || result.getRowsRead() == result.getRowsSkipped();
+        result.finish(imported, System.nanoTime() - started, committed);
+        return result;
+    }
+
+    /**
+     * Maps statement category names to Category ids, falling back to the first
+     * category of the matching type (income/expense) when there is no match
+     */
+    private static final class CategoryResolver {
+        private final Map<String, String> idsByName = new HashMap<>();
+        private String fallbackExpense;
+        private String fallbackIncome;
+
+        private CategoryResolver(List<Category> categories) {
+            for (Category category : categories) {
+                idsByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category.getId());
+                if (category.getType() == Category.Type.INCOME) {
+                    if (fallbackIncome == null) {
+                        fallbackIncome = category.getId();
+                    }
+                } else if (fallbackExpense == null) {
+                    fallbackExpense = category.getId();
+                }
+            }
+        }
+
+        private String resolve(String name) {
+            return name == null || name.isBlank() ? null : idsByName.get(name.trim().toLowerCase(Locale.ROOT));
+        }
+
+        private String fallback(boolean income) {
+            return income ? fallbackIncome : fallbackExpense;
+        }
+    }
+
+    /**
+     * Lazily turns statement rows into Transactions, skipping rows that fail to parse
+     */
+    private static final class TransactionIterator implements Iterator<Transaction> {
+        private final StatementParser parser;
+        private final String walletId;
+        private final CategoryResolver categories;
+        private final ImportResult result;
+        private Transaction pending;
+
+        private TransactionIterator(StatementParser parser, String walletId,
+                                    CategoryResolver categories, ImportResult result) {
+            this.parser = parser;
+            this.walletId = walletId;
+            this.categories = categories;
+            this.result = result;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null && parser.hasNext()) {
+                result.rowRead();
+                try {
+                    pending = toTransaction(parser.next());
+                } catch (StatementParseException e) {
+                    result.rowSkipped(e.getMessage());
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Transaction transaction = pending;
+            pending = null;
+            return transaction;
+        }
+
+        private Transaction toTransaction(StatementRow row) {
+            boolean income = row.getAmount() > 0;
+            String categoryId = categories.resolve(row.getCategory());
+            if (categoryId == null) {
+                categoryId = categories.fallback(income);
+                result.rowUncategorized();
+            }
+            Transaction transaction = new Transaction(categoryId, 0.0, row.getDescription(),
+                income ? 1 : 0, walletId, row.getDate().format(TIME_FORMAT));
+            transaction.setAmountMinor(Math.abs(row.getAmount()));
+            return transaction;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package gitgud.pfm.services.importer;
+
+/**
+ * StatementParseException - A single statement line could not be parsed
+ * The parser has already moved past the bad line, so importing can continue.
+ */
+public class StatementParseException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long lineNumber;
+
+    public StatementParseException(long lineNumber, String message) {
+        super("line " + lineNumber + ": " + message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
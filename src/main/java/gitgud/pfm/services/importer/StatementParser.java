@@ -0,0 +1,14 @@
+package gitgud.pfm.services.importer;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * StatementParser - Reads a bank statement incrementally, one row per next()
+ *
+ * Implementations hold only the current record in memory, so statements of any
+ * size can be imported. next() throws StatementParseException for a malformed
+ * row after consuming it; callers may skip it and keep iterating.
+ */
+public interface StatementParser extends Iterator<StatementRow>, Closeable {
+}
@@ -0,0 +1,46 @@
+package gitgud.pfm.services.importer;
+
+import java.time.LocalDateTime;
+
+/**
+ * StatementRow - One parsed bank statement line, before it becomes a Transaction
+ * Amount is signed minor units (see Money): negative for money out, positive for money in.
+ */
+public class StatementRow {
+    private final long lineNumber;
+    private final LocalDateTime date;
+    private final String description;
+    private final long amount;
+    private final String category;
+
+    public StatementRow(long lineNumber, LocalDateTime date, String description, long amount, String category) {
+        this.lineNumber = lineNumber;
+        this.date = date;
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Category name from the statement, or null if the format has none
+     */
+    public String getCategory() {
+        return category;
+    }
+}
@@ -0,0 +1,130 @@
+package gitgud.pfm.utils;
+
+import java.time.LocalDate;
+
+/**
+ * DateTimeUtils - Allocation-free conversion of stored timestamps to epoch values
+ *
+ * createTime strings ("yyyy-MM-dd HH:mm:ss" from the GUI, ISO "yyyy-MM-ddTHH:mm:ss.SSS" from
+ * the CLI, or a bare "yyyy-MM-dd") are wall-clock times without a zone. They are converted
+ * as if they were UTC, so epochSecond / 86400 is always the calendar day that was written,
+ * whatever the machine's time zone. Unparseable values map to UNKNOWN.
+ */
+public class DateTimeUtils {
+
+    /**
+     * Marker for a missing or unparseable timestamp; sorts before every real value
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    public static final long SECONDS_PER_DAY = 86_400L;
+
+    private DateTimeUtils() {
+    }
+
+    /**
+     * Parse "yyyy-MM-dd[( |T)HH:mm[:ss[.fraction]]]" into wall-clock epoch seconds.
+     * Anything after the seconds (fraction, zone suffix) is ignored.
+     *
+     * @return epoch seconds, or UNKNOWN if the text is not a valid date
+     */
+    public static long parseEpochSecond(CharSequence text) {
+        if (text == null || text.length() < 10
+                || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return UNKNOWN;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return UNKNOWN;
+        }
+        long seconds = epochDay(year, month, day) * SECONDS_PER_DAY;
+
+        int length = text.length();
+        if (length < 16) {
+            return seconds;
+        }
+        char separator = text.charAt(10);
+        if ((separator != ' ' && separator != 'T') || text.charAt(13) != ':') {
+            return seconds;
+        }
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return UNKNOWN;
+        }
+        int second = 0;
+        if (length >= 19 && text.charAt(16) == ':') {
+            second = digits(text, 17, 2);
+            if (second < 0 || second > 59) {
+                return UNKNOWN;
+            }
+        }
+        return seconds + hour * 3600L + minute * 60L + second;
+    }
+
+    /**
+     * Calendar day (days since 1970-01-01) of an epoch-second value, or UNKNOWN
+     */
+    public static long toEpochDay(long epochSecond) {
+        return epochSecond == UNKNOWN ? UNKNOWN : Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Epoch second at the start of the given date
+     */
+    public static long startOfDay(LocalDate date) {
+        return date.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    /**
+     * Epoch second at the start of the day after the one containing epochSecond, or UNKNOWN.
+     * Use as an exclusive upper bound for "up to and including this date".
+     */
+    public static long startOfNextDay(long epochSecond) {
+        return epochSecond == UNKNOWN ? UNKNOWN : (toEpochDay(epochSecond) + 1) * SECONDS_PER_DAY;
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date (same result as LocalDate.toEpochDay)
+     */
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Non-negative integer from count ASCII digits at offset, or -1 if any is not a digit
+     */
+    private static int digits(CharSequence text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,122 @@
+package gitgud.pfm.utils;
+
+/**
+ * Money - Amounts as a whole number of minor units (cents) in a primitive long
+ *
+ * Every stored amount (transaction amounts, wallet/budget/goal balances, limits and targets)
+ * is an INTEGER count of minor units, and services and aggregation loops add longs, so
+ * totals are exact however many rows they cover. The models still offer double getters and
+ * setters in major units for display and form input; they convert at the edge with
+ * toMajor/ofMajor.
+ *
+ * The app uses a single currency with SCALE decimal places.
+ */
+public final class Money {
+
+    /**
+     * Decimal places of the currency
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Minor units per major unit (10^SCALE)
+     */
+    public static final long UNIT = powerOfTen(SCALE);
+
+    private Money() {
+    }
+
+    private static long powerOfTen(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    /**
+     * Nearest whole number of minor units to a major-unit amount (12.345 -> 1235)
+     */
+    public static long ofMajor(double amount) {
+        return Math.round(amount * UNIT);
+    }
+
+    /**
+     * Minor units as a major-unit double, for display and charts only
+     */
+    public static double toMajor(long minor) {
+        return minor / (double) UNIT;
+    }
+
+    /**
+     * Nearest minor-unit value of a nullable major-unit amount, or null
+     */
+    public static Long ofMajor(Double amount) {
+        return amount == null ? null : ofMajor(amount.doubleValue());
+    }
+
+    /**
+     * Major-unit value of a nullable minor-unit amount, or null
+     */
+    public static Double toMajor(Long minor) {
+        return minor == null ? null : toMajor(minor.longValue());
+    }
+
+    /**
+     * Parse a decimal amount ("12", "-3.5", "1234.56") into minor units without going through
+     * double. Digits beyond SCALE are rounded half up.
+     *
+     * @throws NumberFormatException if the text is not a plain decimal number or overflows
+     */
+    public static long parse(String text) {
+        String value = text == null ? "" : text.trim();
+        int start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        long major = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9') {
+                digits = true;
+                if (!point) {
+                    major = Math.addExact(Math.multiplyExact(major, 10), c - '0');
+                } else if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    roundUp = c >= '5';
+                    fractionDigits++;
+                }
+            } else {
+                throw new NumberFormatException("Not an amount: \"" + text + "\"");
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Not an amount: \"" + text + "\"");
+        }
+        for (int i = Math.min(fractionDigits, SCALE); i < SCALE; i++) {
+            fraction *= 10;
+        }
+        long minor = Math.addExact(Math.multiplyExact(major, UNIT), fraction + (roundUp ? 1 : 0));
+        return value.startsWith("-") ? -minor : minor;
+    }
+
+    /**
+     * Plain decimal text with SCALE decimals and no grouping (123456 -> "1234.56")
+     */
+    public static String format(long minor) {
+        long abs = Math.abs(minor);
+        StringBuilder text = new StringBuilder(minor < 0 ? "-" : "");
+        text.append(abs / UNIT).append('.');
+        String fraction = Long.toString(abs % UNIT);
+        for (int i = fraction.length(); i < SCALE; i++) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+}